@@ -12,9 +12,11 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.udea.gpx.config.JwtProperties;
 import com.udea.gpx.model.User;
 import com.udea.gpx.service.TokenService;
 import com.udea.gpx.service.UserService;
+import com.udea.gpx.service.UserSnapshotCacheService;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -33,12 +35,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final UserService userService;
     private final TokenService tokenService;
+    private final UserSnapshotCacheService userSnapshotCacheService;
+    private final JwtProperties jwtProperties;
 
     @Autowired
-    public JwtRequestFilter(JwtUtil jwtUtil, UserService userService, TokenService tokenService) {
+    public JwtRequestFilter(JwtUtil jwtUtil, UserService userService, TokenService tokenService,
+            UserSnapshotCacheService userSnapshotCacheService, JwtProperties jwtProperties) {
         this.jwtUtil = jwtUtil;
         this.userService = userService;
         this.tokenService = tokenService;
+        this.userSnapshotCacheService = userSnapshotCacheService;
+        this.jwtProperties = jwtProperties;
     }
 
     @Override
@@ -135,6 +142,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             return false;
         }
 
+        if (jwtProperties.isClaimsAuthentication()) {
+            return authenticateWithClaims(userId, jwt, request, response);
+        }
+
         User user = userService.getUserById(userId).orElse(null);
         if (user == null) {
             return false;
@@ -143,6 +154,26 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         return processUserAuthentication(user, jwt, request, response);
     }
 
+    /**
+     * Autenticación sin consultas a la base de datos: el token se verifica y
+     * se revisa la blacklist antes de resolver el usuario, que se toma de la
+     * cache de copias (solo un fallo de cache consulta la base de datos)
+     */
+    private boolean authenticateWithClaims(Long userId, String jwt, HttpServletRequest request,
+            HttpServletResponse response) {
+        if (tokenService.isTokenBlacklisted(jwt)) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return true;
+        }
+        if (!jwtUtil.validateToken(jwt)) {
+            return false;
+        }
+
+        userSnapshotCacheService.getUser(userId)
+                .ifPresent(user -> setAuthenticationInContext(user, request));
+        return false;
+    }
+
     private boolean shouldAuthenticateUser() {
         Authentication currentAuth = SecurityContextHolder.getContext().getAuthentication();
         return currentAuth == null || !currentAuth.isAuthenticated();
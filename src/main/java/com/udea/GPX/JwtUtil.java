@@ -1,6 +1,11 @@
 package com.udea.gpx;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,10 +14,27 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Generación y verificación de tokens JWT.
+ * <p>
+ * La clave y el parser se construyen una sola vez (el parser de jjwt es
+ * inmutable y seguro entre hilos). Los claims ya verificados se guardan en una
+ * cache acotada, indexada por el SHA-256 del token y con expiración en el
+ * {@code exp} del propio token, de modo que cada token distinto se verifica
+ * una vez por nodo. Los tokens inválidos o expirados nunca se guardan.
+ */
 @Component
 public class JwtUtil {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
@@ -23,6 +45,11 @@ public class JwtUtil {
     @Value("${jwt.expiration-seconds:3600}")
     private long EXPIRATION_TIME;
 
+    @Value("${jwt.claims-cache-maximum-size:10000}")
+    private long claimsCacheMaximumSize = 10_000;
+
+    private volatile Verifier verifier;
+
     public String generateToken(Long userId, boolean isAdmin) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
@@ -33,22 +60,22 @@ public class JwtUtil {
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + (EXPIRATION_TIME * 1000))) // Convertir segundos a
                                                                                                 // milisegundos
-                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(verifier().key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Copia de los claims del token; lanza las excepciones de jjwt si el token
+     * no es válido
+     */
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return Jwts.claims(verifiedClaims(token));
     }
 
     public boolean validateToken(String token) {
         try {
             logger.debug("🔍 JwtUtil.validateToken - Iniciando validación de token");
-            Claims claims = extractAllClaims(token);
+            Claims claims = verifiedClaims(token);
             logger.debug("🔍 JwtUtil.validateToken - Claims extraídos exitosamente");
 
             Date expiration = claims.getExpiration();
@@ -76,10 +103,115 @@ public class JwtUtil {
     }
 
     public Long extractUserId(String token) {
-        return Long.parseLong(extractAllClaims(token).get("userId").toString());
+        return Long.parseLong(verifiedClaims(token).get("userId").toString());
     }
 
     public boolean extractIsAdmin(String token) {
-        return Boolean.parseBoolean(extractAllClaims(token).get("admin").toString());
+        return Boolean.parseBoolean(verifiedClaims(token).get("admin").toString());
+    }
+
+    /**
+     * Expiración del token, aunque ya haya pasado; vacío si el token no es
+     * válido
+     */
+    public Optional<Instant> extractExpiration(String token) {
+        try {
+            return Optional.ofNullable(verifiedClaims(token).getExpiration()).map(Date::toInstant);
+        } catch (io.jsonwebtoken.ExpiredJwtException e) {
+            return Optional.ofNullable(e.getClaims().getExpiration()).map(Date::toInstant);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Estadísticas de la cache de claims verificados
+     */
+    CacheStats claimsCacheStats() {
+        return verifier().claims.stats();
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    /**
+     * Claims del token, verificados una sola vez mientras el token no expire.
+     * Los claims devueltos se comparten entre peticiones y no deben modificarse.
+     */
+    private Claims verifiedClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("El token JWT no puede ser nulo ni vacío");
+        }
+        Verifier current = verifier();
+        String digest = digest(token);
+        Claims cached = current.claims.getIfPresent(digest);
+        if (cached != null && cached.getExpiration().after(new Date())) {
+            return cached;
+        }
+        Claims claims = current.parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            current.claims.put(digest, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Clave, parser y cache del secreto configurado; se reconstruyen si el
+     * secreto cambia, descartando los claims verificados con el anterior
+     */
+    private Verifier verifier() {
+        Verifier current = verifier;
+        if (current == null || !current.secret.equals(SECRET_KEY)) {
+            current = new Verifier(SECRET_KEY, claimsCacheMaximumSize);
+            verifier = current;
+        }
+        return current;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static final class Verifier {
+        private final String secret;
+        private final Key key;
+        private final JwtParser parser;
+        private final Cache<String, Claims> claims;
+
+        private Verifier(String secret, long maximumSize) {
+            this.secret = secret;
+            this.key = Keys.hmacShaKeyFor(secret.getBytes());
+            this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+            this.claims = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfter(new ExpireAtTokenExpiration())
+                    .recordStats()
+                    .build();
+        }
+    }
+
+    /**
+     * Cada entrada vive hasta el {@code exp} del token del que se extrajo
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
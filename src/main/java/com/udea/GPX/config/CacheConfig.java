@@ -1,28 +1,83 @@
 package com.udea.gpx.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
- * Configuración de cache para mejorar el rendimiento de consultas frecuentes
+ * Configuración de cache para mejorar el rendimiento de consultas frecuentes.
+ * <p>
+ * Cada cache tiene un tamaño máximo y un tiempo de vida propios, y registra
+ * estadísticas de aciertos/fallos que actuator publica como métricas
+ * {@code cache.gets}, {@code cache.puts} y {@code cache.evictions}. Las
+ * caches no declaradas aquí se crean con los límites por defecto.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+  static final long DEFAULT_MAXIMUM_SIZE = 500;
+  static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+  /**
+   * Límites por cache: tamaño máximo de entradas y tiempo de vida tras escritura
+   */
+  static final Map<String, CacheSpec> CACHE_SPECS = new LinkedHashMap<>();
+
+  static {
+    CACHE_SPECS.put("events", new CacheSpec(50, Duration.ofMinutes(10))); // Cache para eventos
+    CACHE_SPECS.put("categories", new CacheSpec(100, Duration.ofHours(1))); // Cache para categorías
+    CACHE_SPECS.put("classifications", new CacheSpec(1_000, Duration.ofMinutes(5))); // Cache para clasificaciones
+    CACHE_SPECS.put("currentEvents", new CacheSpec(10, Duration.ofMinutes(5))); // Cache para eventos actuales
+    CACHE_SPECS.put("pastEvents", new CacheSpec(10, Duration.ofMinutes(30))); // Cache para eventos pasados
+    CACHE_SPECS.put("stageResults", new CacheSpec(500, Duration.ofMinutes(5))); // Cache para resultados de etapas
+    CACHE_SPECS.put("eventCategories", new CacheSpec(500, Duration.ofMinutes(30))); // Categorías por evento
+    CACHE_SPECS.put("eventParticipants", new CacheSpec(200, Duration.ofMinutes(1))); // Participantes por evento
+    CACHE_SPECS.put("userSnapshots", new CacheSpec(10_000, Duration.ofMinutes(5))); // Usuarios autenticados por JWT
+    CACHE_SPECS.put("userIdsByEmail", new CacheSpec(10_000, Duration.ofMinutes(1))); // Usuarios OAuth2 por email
+  }
+
   @Bean
   public CacheManager cacheManager() {
-    return new ConcurrentMapCacheManager(
-        "events", // Cache para eventos
-        "categories", // Cache para categorías
-        "classifications", // Cache para clasificaciones
-        "currentEvents", // Cache para eventos actuales
-        "pastEvents", // Cache para eventos pasados
-        "stageResults", // Cache para resultados de etapas
-        "eventCategories" // Cache para categorías por evento
-    );
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setCaffeine(builder(new CacheSpec(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL)));
+    CACHE_SPECS.forEach((name, spec) -> cacheManager.registerCustomCache(name, builder(spec).build()));
+    return cacheManager;
+  }
+
+  private static Caffeine<Object, Object> builder(CacheSpec spec) {
+    return Caffeine.newBuilder()
+        .maximumSize(spec.maximumSize())
+        .expireAfterWrite(spec.ttl())
+        .recordStats();
+  }
+
+  /**
+   * Límites de una cache
+   */
+  static final class CacheSpec {
+    private final long maximumSize;
+    private final Duration ttl;
+
+    CacheSpec(long maximumSize, Duration ttl) {
+      this.maximumSize = maximumSize;
+      this.ttl = ttl;
+    }
+
+    long maximumSize() {
+      return maximumSize;
+    }
+
+    Duration ttl() {
+      return ttl;
+    }
   }
-}
\ No newline at end of file
+}
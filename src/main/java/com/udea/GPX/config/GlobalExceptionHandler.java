@@ -2,6 +2,7 @@ package com.udea.gpx.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,6 +11,8 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import com.udea.gpx.exception.PasswordHashingOverloadedException;
+
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
@@ -109,6 +112,28 @@ public class GlobalExceptionHandler {
     return ResponseEntity.badRequest().body(response);
   }
 
+  /**
+   * Maneja el rechazo por sobrecarga del pool de BCrypt
+   */
+  @ExceptionHandler(PasswordHashingOverloadedException.class)
+  public ResponseEntity<Map<String, Object>> handlePasswordHashingOverloadedException(
+      PasswordHashingOverloadedException ex, WebRequest request) {
+    Map<String, Object> response = new HashMap<>();
+    response.put(TIMESTAMP, LocalDateTime.now());
+    response.put(STATUS, HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.put(ERROR, "Servicio saturado");
+    response.put(MESSAGE, ex.getMessage());
+    response.put(PATH, request.getDescription(false).replace(URI_PREFIX, ""));
+
+    if (logger.isWarnEnabled()) {
+      logger.warn("Operación de contraseña rechazada por sobrecarga en {}", request.getDescription(false));
+    }
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(response);
+  }
+
   /**
    * Maneja excepciones de runtime genéricas
    */
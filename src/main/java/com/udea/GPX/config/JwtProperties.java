@@ -18,6 +18,11 @@ public class JwtProperties {
   private boolean enableBlacklist = true; // Habilitar blacklist de tokens
   private long sessionTimeoutSeconds = 7200; // 2 horas de inactividad por defecto
   private long maxSessionDurationSeconds = 28800; // 8 horas máximo por defecto
+  private boolean claimsAuthentication = true; // Autenticar con claims y usuarios en cache, sin consultar la BD
+  private long sweepIntervalSeconds = 30; // Intervalo del barrido de tokens y sesiones expirados
+  private int sweepBatchSize = 1000; // Elementos máximos por tanda del barrido
+  private String store = "memory"; // Almacenamiento de tokens y sesiones: memory (un nodo) o jdbc (varios nodos)
+  private long storeSyncIntervalMs = 1000; // Intervalo de réplica de revocaciones con jwt.store=jdbc
 
   public String getSecret() {
     return secret;
@@ -82,4 +87,47 @@ public class JwtProperties {
   public void setMaxSessionDurationSeconds(long maxSessionDurationSeconds) {
     this.maxSessionDurationSeconds = maxSessionDurationSeconds;
   }
-}
\ No newline at end of file
+
+  public boolean isClaimsAuthentication() {
+    return claimsAuthentication;
+  }
+
+  public void setClaimsAuthentication(boolean claimsAuthentication) {
+    this.claimsAuthentication = claimsAuthentication;
+  }
+
+  public long getSweepIntervalSeconds() {
+    return sweepIntervalSeconds;
+  }
+
+  public void setSweepIntervalSeconds(long sweepIntervalSeconds) {
+    this.sweepIntervalSeconds = sweepIntervalSeconds;
+  }
+
+  public int getSweepBatchSize() {
+    return sweepBatchSize;
+  }
+
+  public void setSweepBatchSize(int sweepBatchSize) {
+    if (sweepBatchSize < 1) {
+      throw new IllegalArgumentException("jwt.sweep-batch-size debe ser mayor o igual a 1");
+    }
+    this.sweepBatchSize = sweepBatchSize;
+  }
+
+  public String getStore() {
+    return store;
+  }
+
+  public void setStore(String store) {
+    this.store = store;
+  }
+
+  public long getStoreSyncIntervalMs() {
+    return storeSyncIntervalMs;
+  }
+
+  public void setStoreSyncIntervalMs(long storeSyncIntervalMs) {
+    this.storeSyncIntervalMs = storeSyncIntervalMs;
+  }
+}
@@ -0,0 +1,49 @@
+package com.udea.gpx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del hasheo de contraseñas con BCrypt y de su pool dedicado
+ */
+@Configuration
+@ConfigurationProperties(prefix = "password")
+public class PasswordProperties {
+
+  private int bcryptStrength = 12; // Costo de BCrypt; los hashes con menor costo se rehashean al iniciar sesión
+  private int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors()); // Hilos del pool de BCrypt
+  private int hashingQueueCapacity = 64; // Operaciones en espera antes de rechazar por sobrecarga
+  private long hashingTimeoutMs = 5000; // Espera máxima de una petición por su operación de BCrypt
+
+  public int getBcryptStrength() {
+    return bcryptStrength;
+  }
+
+  public void setBcryptStrength(int bcryptStrength) {
+    this.bcryptStrength = bcryptStrength;
+  }
+
+  public int getHashingThreads() {
+    return hashingThreads;
+  }
+
+  public void setHashingThreads(int hashingThreads) {
+    this.hashingThreads = hashingThreads;
+  }
+
+  public int getHashingQueueCapacity() {
+    return hashingQueueCapacity;
+  }
+
+  public void setHashingQueueCapacity(int hashingQueueCapacity) {
+    this.hashingQueueCapacity = hashingQueueCapacity;
+  }
+
+  public long getHashingTimeoutMs() {
+    return hashingTimeoutMs;
+  }
+
+  public void setHashingTimeoutMs(long hashingTimeoutMs) {
+    this.hashingTimeoutMs = hashingTimeoutMs;
+  }
+}
@@ -0,0 +1,167 @@
+package com.udea.gpx.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.udea.gpx.model.User;
+import com.udea.gpx.util.TokenBucket;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración del límite de peticiones por cliente en endpoints costosos
+ */
+@Configuration
+public class RateLimitConfig {
+
+  @Bean
+  public OncePerRequestFilter rateLimitFilter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+    return new RateLimitFilter(rateLimitProperties, meterRegistry, System::nanoTime);
+  }
+
+  /**
+   * Fuente de tiempo monotónica en nanosegundos
+   */
+  @FunctionalInterface
+  interface NanoClock {
+    long nanoTime();
+  }
+
+  /**
+   * Filtro que limita las peticiones de cada IP y de cada usuario autenticado
+   * por grupo de endpoints.
+   * <p>
+   * Cada cliente tiene un {@link TokenBucket} por grupo, sin bloqueos. Los
+   * buckets viven en una cache acotada a {@code rate-limit.max-keys} entradas
+   * que descarta los de clientes inactivos durante
+   * {@code rate-limit.idle-timeout-seconds}, de modo que la memoria no crece con
+   * la cantidad de clientes. La IP es la dirección remota de la petición (con
+   * {@code server.forward-headers-strategy} ya resuelta), no un header que el
+   * cliente pueda falsificar. Las peticiones rechazadas responden 429 con
+   * {@code Retry-After} y se publican en {@code gpx.ratelimit.rejected}, por
+   * grupo.
+   */
+  public static class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final List<GroupLimit> groups = new ArrayList<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final NanoClock clock;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, NanoClock clock) {
+      this.enabled = properties.isEnabled();
+      this.clock = clock;
+      this.buckets = Caffeine.newBuilder()
+          .maximumSize(properties.getMaxKeys())
+          .expireAfterAccess(Duration.ofSeconds(properties.getIdleTimeoutSeconds()))
+          .build();
+      for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+        RateLimitProperties.Group group = entry.getValue();
+        Counter rejected = Counter.builder("gpx.ratelimit.rejected")
+            .description("Peticiones rechazadas por límite de peticiones")
+            .tag("group", entry.getKey())
+            .register(meterRegistry);
+        groups.add(new GroupLimit(entry.getKey(), List.copyOf(group.getPaths()), group.getCapacity(),
+            TimeUnit.SECONDS.toNanos(group.getPeriodSeconds()), rejected));
+      }
+      Gauge.builder("gpx.ratelimit.buckets", buckets, Cache::estimatedSize)
+          .description("Buckets de clientes en memoria")
+          .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+      GroupLimit group = enabled ? findGroup(request) : null;
+      if (group != null) {
+        long now = clock.nanoTime();
+        long waitNanos = acquire(group, "ip:" + request.getRemoteAddr(), now);
+        Long userId = currentUserId();
+        if (waitNanos == 0 && userId != null) {
+          waitNanos = acquire(group, "user:" + userId, now);
+        }
+        if (waitNanos > 0) {
+          group.rejected().increment();
+          long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+          response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+          response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+          response.setContentType("text/plain;charset=UTF-8");
+          response.getWriter().write("Demasiadas peticiones, intente de nuevo en " + retryAfterSeconds + " s");
+          return;
+        }
+      }
+
+      filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Buckets de clientes en memoria
+     */
+    long bucketCount() {
+      buckets.cleanUp();
+      return buckets.estimatedSize();
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private GroupLimit findGroup(HttpServletRequest request) {
+      String path = request.getRequestURI();
+      if (path == null) {
+        return null;
+      }
+      String contextPath = request.getContextPath();
+      if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+        path = path.substring(contextPath.length());
+      }
+      for (GroupLimit group : groups) {
+        for (String pattern : group.paths()) {
+          if (pathMatcher.match(pattern, path)) {
+            return group;
+          }
+        }
+      }
+      return null;
+    }
+
+    private long acquire(GroupLimit group, String client, long now) {
+      TokenBucket bucket = buckets.get(group.name() + ":" + client,
+          key -> new TokenBucket(group.capacity(), group.periodNanos(), now));
+      return bucket.tryAcquire(now);
+    }
+
+    private static Long currentUserId() {
+      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+      if (authentication != null && authentication.getPrincipal() instanceof User user) {
+        return user.getId();
+      }
+      return null;
+    }
+
+    private record GroupLimit(String name, List<String> paths, int capacity, long periodNanos, Counter rejected) {
+    }
+  }
+}
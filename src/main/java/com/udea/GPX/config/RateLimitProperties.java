@@ -0,0 +1,106 @@
+package com.udea.gpx.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración del límite de peticiones por cliente en endpoints costosos
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+  private boolean enabled = true; // Habilitar el límite de peticiones
+  private long maxKeys = 100_000; // Buckets máximos en memoria (IP o usuario por grupo)
+  private long idleTimeoutSeconds = 600; // Inactividad tras la cual se descarta el bucket de un cliente
+  private Map<String, Group> groups = new LinkedHashMap<>(); // Grupos de endpoints con su propio límite
+
+  public RateLimitProperties() {
+    groups.put("login", new Group(List.of("/api/users/login"), 10, 60)); // BCrypt por intento
+    groups.put("check-email", new Group(List.of("/api/users/check-email"), 20, 60)); // Enumeración de emails
+    groups.put("classification", new Group(
+        List.of("/api/stageresults/clasificacion", "/api/stageresults/clasificacionbystage"), 30, 10));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getMaxKeys() {
+    return maxKeys;
+  }
+
+  public void setMaxKeys(long maxKeys) {
+    this.maxKeys = maxKeys;
+  }
+
+  public long getIdleTimeoutSeconds() {
+    return idleTimeoutSeconds;
+  }
+
+  public void setIdleTimeoutSeconds(long idleTimeoutSeconds) {
+    this.idleTimeoutSeconds = idleTimeoutSeconds;
+  }
+
+  public Map<String, Group> getGroups() {
+    return groups;
+  }
+
+  public void setGroups(Map<String, Group> groups) {
+    this.groups = groups;
+  }
+
+  /**
+   * Endpoints que comparten límite: cada IP y cada usuario autenticado puede
+   * hacer hasta {@code capacity} peticiones seguidas, recuperadas en
+   * {@code periodSeconds}
+   */
+  public static class Group {
+
+    private List<String> paths = new ArrayList<>(); // Patrones Ant de las rutas del grupo
+    private int capacity = 60; // Peticiones permitidas en ráfaga
+    private long periodSeconds = 60; // Tiempo para recuperar la capacidad completa
+
+    public Group() {
+    }
+
+    public Group(List<String> paths, int capacity, long periodSeconds) {
+      this.paths = new ArrayList<>(paths);
+      this.capacity = capacity;
+      this.periodSeconds = periodSeconds;
+    }
+
+    public List<String> getPaths() {
+      return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+      this.paths = paths;
+    }
+
+    public int getCapacity() {
+      return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+      this.capacity = capacity;
+    }
+
+    public long getPeriodSeconds() {
+      return periodSeconds;
+    }
+
+    public void setPeriodSeconds(long periodSeconds) {
+      this.periodSeconds = periodSeconds;
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.udea.gpx.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (barrido de tokens expirados)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,31 @@
+package com.udea.gpx.config;
+
+import com.udea.gpx.service.InMemoryStandingsVersionStore;
+import com.udea.gpx.service.JdbcStandingsVersionStore;
+import com.udea.gpx.service.StandingsVersionStore;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Versión compartida de la clasificación en memoria, seleccionada con el mismo
+ * {@code jwt.store} que el almacenamiento de tokens: con varias instancias
+ * ({@code jdbc}) cada nodo detecta los resultados escritos en los demás
+ */
+@Configuration
+public class StandingsVersionStoreConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "jwt.store", havingValue = "memory", matchIfMissing = true)
+  public StandingsVersionStore inMemoryStandingsVersionStore() {
+    return new InMemoryStandingsVersionStore();
+  }
+
+  @Bean(initMethod = "initialize")
+  @ConditionalOnProperty(name = "jwt.store", havingValue = "jdbc")
+  public StandingsVersionStore jdbcStandingsVersionStore(JdbcTemplate jdbcTemplate) {
+    return new JdbcStandingsVersionStore(jdbcTemplate);
+  }
+}
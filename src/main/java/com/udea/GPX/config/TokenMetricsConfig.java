@@ -0,0 +1,34 @@
+package com.udea.gpx.config;
+
+import com.udea.gpx.service.TokenService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas del almacenamiento de tokens, publicadas por actuator en
+ * {@code /actuator/metrics}
+ */
+@Configuration
+public class TokenMetricsConfig {
+
+  @Bean
+  public MeterBinder tokenBlacklistMetrics(TokenService tokenService) {
+    return registry -> {
+      Gauge.builder("gpx.tokens.blacklist.size", tokenService, TokenService::getBlacklistSize)
+          .description("Tokens revocados aún vigentes")
+          .register(registry);
+      Gauge.builder("gpx.tokens.blacklist.memory", tokenService, TokenService::getBlacklistMemoryBytes)
+          .description("Memoria estimada de la blacklist de tokens")
+          .baseUnit("bytes")
+          .register(registry);
+      Gauge.builder("gpx.tokens.blacklist.filter.fpp", tokenService,
+          TokenService::getBlacklistFilterFalsePositiveRate)
+          .description("Tasa de falsos positivos del filtro de Bloom de la blacklist")
+          .register(registry);
+    };
+  }
+}
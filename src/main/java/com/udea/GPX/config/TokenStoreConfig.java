@@ -0,0 +1,32 @@
+package com.udea.gpx.config;
+
+import com.udea.gpx.service.InMemoryTokenStore;
+import com.udea.gpx.service.JdbcTokenStore;
+import com.udea.gpx.service.TokenStore;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Selección del almacenamiento de tokens y sesiones con {@code jwt.store}:
+ * {@code memory} (por defecto) para una sola instancia, {@code jdbc} para
+ * compartir sesiones, refresh tokens y revocaciones entre varias instancias
+ * detrás de un balanceador
+ */
+@Configuration
+public class TokenStoreConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "jwt.store", havingValue = "memory", matchIfMissing = true)
+  public TokenStore inMemoryTokenStore() {
+    return new InMemoryTokenStore();
+  }
+
+  @Bean(initMethod = "initialize")
+  @ConditionalOnProperty(name = "jwt.store", havingValue = "jdbc")
+  public TokenStore jdbcTokenStore(JdbcTemplate jdbcTemplate) {
+    return new JdbcTokenStore(jdbcTemplate);
+  }
+}
@@ -8,6 +8,7 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
 import com.udea.gpx.dto.ParticipantDTO;
+import com.udea.gpx.exception.UserAlreadyRegisteredException;
 import com.udea.gpx.model.EventVehicle;
 import com.udea.gpx.model.User;
 import com.udea.gpx.model.Vehicle;
@@ -105,37 +106,7 @@ public class EventVehicleController {
     @GetMapping("/participants/{eventId}")
     public ResponseEntity<List<ParticipantDTO>> getEventParticipants(@PathVariable Long eventId) {
         try {
-            List<EventVehicle> eventVehicles = eventVehicleService.getVehiclesByEventId(eventId);
-            List<ParticipantDTO> participants = eventVehicles.stream()
-                    .filter(ev -> ev.getVehicleId() != null && ev.getVehicleId().getUser() != null)
-                    .map(ev -> {
-                        Vehicle vehicle = ev.getVehicleId();
-                        User user = vehicle.getUser();
-                        String categoryName = vehicle.getCategory() != null ? vehicle.getCategory().getName()
-                                : "Sin categoría";
-                        Long categoryId = vehicle.getCategory() != null ? vehicle.getCategory().getId() : null;
-
-                        String fullName = user.getFirstName() +
-                                (user.getLastName() != null ? " " + user.getLastName() : "");
-
-                        return new ParticipantDTO(
-                                ev.getId(),
-                                user.getId(),
-                                fullName,
-                                user.getPicture(),
-                                user.getTeamName(),
-                                vehicle.getId(),
-                                vehicle.getName(),
-                                vehicle.getPlates(),
-                                vehicle.getSoat(),
-                                categoryId,
-                                categoryName,
-                                null // Fecha de registro - se puede agregar después si el modelo EventVehicle tiene
-                                     // fecha
-                        );
-                    })
-                    .toList();
-
+            List<ParticipantDTO> participants = eventVehicleService.getParticipantsByEventId(eventId);
             return ResponseEntity.ok(participants);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
@@ -175,28 +146,17 @@ public class EventVehicleController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
             }
 
-            // Verificar si el usuario ya está inscrito en este evento
-            Long eventId = eventVehicle.getEvent().getId();
-            Long userId = authUser.getId();
-
-            List<EventVehicle> existingRegistrations = eventVehicleService.getVehiclesByEventId(eventId);
-            boolean userAlreadyRegistered = existingRegistrations.stream()
-                    .anyMatch(ev -> ev.getVehicleId() != null && ev.getVehicleId().getUser() != null
-                            && ev.getVehicleId().getUser().getId().equals(userId));
-
-            if (userAlreadyRegistered) {
-                Map<String, String> errorResponse = new HashMap<>();
-                errorResponse.put(KEY_ERROR, "Usuario ya inscrito");
-                errorResponse.put(KEY_MESSAGE,
-                        "Ya tienes un vehículo inscrito en este evento. Solo se permite una inscripción por persona.");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
-            }
-
-            // Establecer el vehículo completo en el EventVehicle
+            // Establecer el vehículo completo en el EventVehicle; el servicio
+            // verifica la inscripción única por persona bajo el bloqueo del evento
             eventVehicle.setVehicleId(vehicle);
             EventVehicle savedEventVehicle = eventVehicleService.createEventVehicle(eventVehicle);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(savedEventVehicle);
+        } catch (UserAlreadyRegisteredException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put(KEY_ERROR, "Usuario ya inscrito");
+            errorResponse.put(KEY_MESSAGE, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
         } catch (IllegalArgumentException e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put(KEY_ERROR, "Validación fallida");
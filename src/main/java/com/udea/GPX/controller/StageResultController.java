@@ -2,18 +2,34 @@ package com.udea.gpx.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.udea.gpx.dto.ClasificacionCompletaDTO;
+import com.udea.gpx.dto.ClasificacionUpdateDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
 import com.udea.gpx.dto.CreateStageResultDTO;
+import com.udea.gpx.dto.ElapsedTimeRecomputeDTO;
+import com.udea.gpx.dto.StageResultBatchResultDTO;
 import com.udea.gpx.dto.UpdateStageResultDTO;
 import com.udea.gpx.model.StageResult;
+import com.udea.gpx.service.ClassificationStreamService;
+import com.udea.gpx.service.StageResultBatchService;
+import com.udea.gpx.service.StageResultExportService;
 import com.udea.gpx.service.StageResultService;
 import com.udea.gpx.util.AuthUtils;
 
 import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.List;
 
@@ -24,10 +40,19 @@ public class StageResultController {
     private static final Logger logger = LoggerFactory.getLogger(StageResultController.class);
 
     private final StageResultService stageResultService;
+    private final StageResultBatchService stageResultBatchService;
+    private final StageResultExportService stageResultExportService;
+    private final ClassificationStreamService classificationStreamService;
     private final AuthUtils authUtils;
 
-    public StageResultController(StageResultService stageResultService, AuthUtils authUtils) {
+    public StageResultController(StageResultService stageResultService,
+            StageResultBatchService stageResultBatchService,
+            StageResultExportService stageResultExportService,
+            ClassificationStreamService classificationStreamService, AuthUtils authUtils) {
         this.stageResultService = stageResultService;
+        this.stageResultBatchService = stageResultBatchService;
+        this.stageResultExportService = stageResultExportService;
+        this.classificationStreamService = classificationStreamService;
         this.authUtils = authUtils;
     }
 
@@ -50,6 +75,48 @@ public class StageResultController {
         }
     }
 
+    /**
+     * Ingesta masiva de resultados (arreglo JSON). Devuelve el resultado de
+     * cada fila; las filas inválidas no impiden crear las demás.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StageResultBatchResultDTO> createResultsBatch(
+            @RequestBody List<CreateStageResultDTO> createDTOs) {
+        if (!authUtils.isCurrentUserAdmin()) {
+            logger.warn("Unauthorized attempt to create stage results in batch");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(stageResultBatchService.createResults(createDTOs));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid stage result batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().header("Error-Message", e.getMessage()).build();
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error creating stage results in batch: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Ingesta masiva de resultados en formato NDJSON (un resultado por línea)
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StageResultBatchResultDTO> createResultsBatchNdjson(InputStream body) {
+        if (!authUtils.isCurrentUserAdmin()) {
+            logger.warn("Unauthorized attempt to create stage results in batch");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(stageResultBatchService.createResultsFromNdjson(body));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid stage result batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().header("Error-Message", e.getMessage()).build();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Unexpected error creating stage results in batch: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StageResult> updateResult(@PathVariable Long id,
             @Valid @RequestBody UpdateStageResultDTO updateDTO) {
@@ -86,41 +153,48 @@ public class StageResultController {
         }
     }
 
+    /**
+     * Clasificación general, por categoría o por etapa. La respuesta lleva como
+     * ETag la versión de la clasificación; si coincide con
+     * {@code If-None-Match} se responde 304 sin cuerpo.
+     */
     @GetMapping("/clasificacion")
     public ResponseEntity<List<ClasificacionCompletaDTO>> getClasificacionCompleta(
             @RequestParam Long eventId,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) Integer stageNumber) {
-
-        stageResultService.updateElapsedTimesForEvent(eventId);
+            @RequestParam(required = false) Integer stageNumber,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return clasificacionResponse(eventId, categoryId, stageNumber, ifNoneMatch);
+    }
 
-        if (categoryId != null) {
-            return ResponseEntity.ok(stageResultService.getClasificacionPorCategoria(eventId, categoryId));
-        }
-        if (stageNumber != null) {
-            return ResponseEntity.ok(stageResultService.getClasificacionPorStage(eventId, stageNumber));
-        }
-        return ResponseEntity.ok(stageResultService.getClasificacionGeneral(eventId));
+    /**
+     * Clasificación general en vivo (Server-Sent Events): un snapshot inicial y
+     * luego solo los cambios de posición y celdas actualizadas
+     */
+    @GetMapping(value = "/clasificacion/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ClasificacionUpdateDTO>> streamClasificacion(@RequestParam Long eventId) {
+        return classificationStreamService.subscribe(eventId);
     }
 
     @GetMapping("/clasificacionbystage")
     public ResponseEntity<List<ClasificacionCompletaDTO>> getClasificacionByStage(
             @RequestParam Long eventId,
-            @RequestParam Integer stageNumber) {
-        stageResultService.updateElapsedTimesForEvent(eventId);
-        return ResponseEntity.ok(stageResultService.getClasificacionPorStage(eventId, stageNumber));
+            @RequestParam Integer stageNumber,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return clasificacionResponse(eventId, null, stageNumber, ifNoneMatch);
     }
 
     @PostMapping("/update-elapsed-times/{eventId}")
-    public ResponseEntity<Void> updateElapsedTimesForEvent(@PathVariable Long eventId) {
+    public ResponseEntity<ElapsedTimeRecomputeDTO> updateElapsedTimesForEvent(@PathVariable Long eventId) {
         if (!authUtils.isCurrentUserAdmin()) {
             logger.warn("Unauthorized attempt to update elapsed times for event ID: {}", eventId);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         try {
-            stageResultService.updateElapsedTimesForEvent(eventId);
-            logger.info("Elapsed times updated successfully for event ID: {}", eventId);
-            return ResponseEntity.ok().build();
+            ElapsedTimeRecomputeDTO report = stageResultService.recalcularTiemposTranscurridos(eventId);
+            logger.info("Elapsed times updated for event ID {}: {} rows changed in {} ms", eventId,
+                    report.getRowsUpdated(), report.getDurationMillis());
+            return ResponseEntity.ok(report);
         } catch (RuntimeException e) {
             logger.error("Error updating elapsed times for event ID {}: {}", eventId, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -162,6 +236,31 @@ public class StageResultController {
         return ResponseEntity.ok(stageResultService.getResultsByEvent(eventId));
     }
 
+    /**
+     * Exportación en streaming de los resultados del evento (csv o ndjson); las
+     * filas se escriben a medida que se leen de la base de datos
+     */
+    @GetMapping("/by-event/{eventId}/export")
+    public ResponseEntity<StreamingResponseBody> exportResultsByEvent(@PathVariable Long eventId,
+            @RequestParam(defaultValue = "csv") String format) {
+        StageResultExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = StageResultExportService.ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().header("Error-Message", e.getMessage()).build();
+        }
+
+        String filename = "event-" + eventId + "-results." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> {
+            long rows = stageResultExportService.export(eventId, exportFormat, out);
+            logger.info("Exported {} stage results for event ID {} as {}", rows, eventId, exportFormat);
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     private Duration parseDuration(String durationString) {
         if (durationString == null || durationString.trim().isEmpty() || "PT0S".equals(durationString)) {
             return Duration.ZERO;
@@ -175,4 +274,42 @@ public class StageResultController {
             return Duration.ZERO;
         }
     }
+
+    private ResponseEntity<List<ClasificacionCompletaDTO>> clasificacionResponse(Long eventId, Long categoryId,
+            Integer stageNumber, String ifNoneMatch) {
+        ClasificacionVersionadaDTO clasificacion = stageResultService.getClasificacionCacheada(eventId, categoryId,
+                stageNumber);
+        if (clasificacion == null) {
+            // Los tiempos solo pueden haber cambiado si el evento cambió desde la última respuesta
+            stageResultService.updateElapsedTimesForEvent(eventId);
+            clasificacion = stageResultService.getClasificacionVersionada(eventId, categoryId, stageNumber);
+        }
+
+        String eTag = clasificacion.getETag();
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(clasificacion.getRows());
+    }
+
+    /**
+     * Compara {@code If-None-Match} con el ETag actual (comparación débil,
+     * admite listas y {@code *})
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || eTag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.udea.gpx.controller;
 
 import com.udea.gpx.dto.AuthResponseDTO;
+import com.udea.gpx.dto.KeysetPageDTO;
+import com.udea.gpx.dto.UserSummaryDTO;
 import com.udea.gpx.exception.InternalServerException;
+import com.udea.gpx.exception.PasswordHashingOverloadedException;
 import com.udea.gpx.model.User;
 import com.udea.gpx.service.UserService;
 import com.udea.gpx.util.InputSanitizer;
@@ -48,6 +51,9 @@ public class UserController {
     private static final String HTTPS_PREFIX = "https://";
     private static final String HTTP_PREFIX = "http://";
 
+    // Tamaño máximo de página del listado por cursor
+    private static final int MAX_SUMMARY_PAGE_SIZE = 200;
+
     // Constants for field names to avoid duplication
     private static final String EMAIL_FIELD = "email";
     private static final String FIRSTNAME_FIELD = "firstname";
@@ -229,6 +235,10 @@ public class UserController {
         return errorResponse;
     }
 
+    /**
+     * Lista completa de usuarios; los listados de administración deben usar
+     * {@code /summaries}, que pagina por cursor y no carga la entidad completa
+     */
     @GetMapping
     public ResponseEntity<List<User>> getAllUsers() {
         if (!authUtils.isCurrentUserAdmin()) {
@@ -254,6 +264,21 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers(pageable));
     }
 
+    @GetMapping("/summaries")
+    @Operation(summary = "Listar usuarios por cursor", description = "Obtiene resúmenes de usuarios ordenados por id a partir del cursor recibido en la página anterior. Solo accesible por administradores")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponse(responseCode = "200", description = "Página de usuarios obtenida exitosamente")
+    @ApiResponse(responseCode = "403", description = "Acceso denegado")
+    public ResponseEntity<KeysetPageDTO<UserSummaryDTO>> getUserSummaries(
+            @Parameter(description = "Id del último usuario de la página anterior", example = "0") @RequestParam(required = false) Long after,
+            @Parameter(description = "Tamaño de página", example = "50") @RequestParam(defaultValue = "50") int size) {
+        if (!authUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_SUMMARY_PAGE_SIZE);
+        return ResponseEntity.ok(userService.getUserSummaries(after, pageSize));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener usuario por ID", description = "Obtiene los datos de un usuario específico. Solo accesible por el propio usuario o administradores")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -430,10 +455,19 @@ public class UserController {
         if (!authUtils.isCurrentUserAdmin()) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
         }
-        List<User> adminUsers = userService.getAllUsers().stream()
-                .filter(User::isAdmin)
-                .toList();
-        return ResponseEntity.ok(adminUsers);
+        return ResponseEntity.ok(userService.getAdminUsers());
+    }
+
+    @GetMapping("/admins/summaries")
+    @Operation(summary = "Listar administradores", description = "Obtiene los resúmenes de los usuarios administradores ordenados por id. Solo accesible por administradores")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponse(responseCode = "200", description = "Administradores obtenidos exitosamente")
+    @ApiResponse(responseCode = "403", description = "Acceso denegado")
+    public ResponseEntity<List<UserSummaryDTO>> getAdminSummaries() {
+        if (!authUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        }
+        return ResponseEntity.ok(userService.getAdminSummaries());
     }
 
     @PostMapping("/login")
@@ -442,6 +476,7 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "Login exitoso", content = @Content(schema = @Schema(implementation = AuthResponseDTO.class)))
     @ApiResponse(responseCode = "401", description = "Credenciales incorrectas")
     @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
+    @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado")
     public ResponseEntity<Object> login(
             @Parameter(description = "Credenciales de login", required = true, schema = @Schema(example = "{\"email\":\"usuario@email.com\",\"password\":\"password123\"}")) @RequestBody Map<String, String> loginData) {
         try {
@@ -481,6 +516,9 @@ public class UserController {
             // Error de sanitización - entrada maliciosa detectada
             logger.warn("🚨 Intento de login con datos maliciosos detectado: {}", e.getMessage());
             return ResponseEntity.badRequest().body(INVALID_INPUT_DATA_MSG + e.getMessage());
+        } catch (PasswordHashingOverloadedException e) {
+            // Pool de BCrypt saturado: GlobalExceptionHandler responde 503
+            throw e;
         } catch (Exception e) {
             logger.error("Error durante el login: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(INTERNAL_SERVER_ERROR_MSG);
@@ -639,6 +677,9 @@ public class UserController {
             response.put(MESSAGE_FIELD, "Usuario registrado exitosamente. Por favor completa tu perfil.");
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (PasswordHashingOverloadedException e) {
+            // Pool de BCrypt saturado: GlobalExceptionHandler responde 503
+            throw e;
         } catch (IllegalArgumentException e) {
             // Error de sanitización - entrada maliciosa detectada
             logger.warn("🚨 Intento de registro con datos maliciosos detectado: {}", e.getMessage());
@@ -808,6 +849,9 @@ public class UserController {
 
             return ResponseEntity.ok(response);
 
+        } catch (PasswordHashingOverloadedException e) {
+            // Pool de BCrypt saturado: GlobalExceptionHandler responde 503
+            throw e;
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage(), VALIDATION_ERROR));
         } catch (RuntimeException e) {
@@ -1,5 +1,9 @@
 package com.udea.gpx.controller;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -38,6 +42,7 @@ public class VehicleController {
     private static final String KEY_ERROR = "error";
     private static final String KEY_MESSAGE = "message";
     private static final String KEY_VEHICLE_NAME = "vehicleName";
+    private static final int MAX_PAGE_SIZE = 100;
 
     // Constructor injection - reemplaza todos los @Autowired
     public VehicleController(
@@ -187,10 +192,17 @@ public class VehicleController {
         if (!authUtils.isCurrentUserAdmin()) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        List<Vehicle> vehicles = vehicleService.getAllVehicles().stream()
-                .filter(v -> v.getCategory() != null && v.getCategory().getId().equals(categoryId))
-                .toList();
-        return ResponseEntity.ok(vehicles);
+        return ResponseEntity.ok(vehicleService.getVehiclesByCategoryId(categoryId));
+    }
+
+    @GetMapping("/bycategory/{categoryId}/paginated")
+    public ResponseEntity<Page<Vehicle>> getVehiclesByCategoryPaginated(@PathVariable Long categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        if (!authUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(vehicleService.getVehiclesByCategoryId(categoryId, pageRequest(page, size)));
     }
 
     @GetMapping("/byuser/{userId}")
@@ -198,10 +210,24 @@ public class VehicleController {
         if (!authUtils.isCurrentUserOrAdmin(userId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
         }
-        List<Vehicle> vehicles = vehicleService.getAllVehicles().stream()
-                .filter(v -> v.getUser() != null && v.getUser().getId().equals(userId))
-                .toList();
-        return ResponseEntity.ok(vehicles);
+        return ResponseEntity.ok(vehicleService.getVehiclesByUserId(userId));
+    }
+
+    @GetMapping("/byuser/{userId}/paginated")
+    public ResponseEntity<Page<Vehicle>> getVehiclesByUserPaginated(@PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        if (!authUtils.isCurrentUserOrAdmin(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        }
+        return ResponseEntity.ok(vehicleService.getVehiclesByUserId(userId, pageRequest(page, size)));
+    }
+
+    /**
+     * Página ordenada por id, con el tamaño acotado a {@link #MAX_PAGE_SIZE}
+     */
+    private static Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), Sort.by("id"));
     }
 
     @DeleteMapping("/{id}")
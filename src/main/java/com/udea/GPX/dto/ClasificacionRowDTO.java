@@ -0,0 +1,155 @@
+package com.udea.gpx.dto;
+
+import com.udea.gpx.model.StageResult;
+import com.udea.gpx.model.User;
+import com.udea.gpx.model.Vehicle;
+
+import java.time.Duration;
+
+/**
+ * Fila plana de clasificación: un resultado de etapa con los datos de
+ * vehículo, piloto y categoría que necesita la tabla.
+ * <p>
+ * Se construye directamente desde JPQL ({@code SELECT new ...}) para no
+ * cargar las entidades {@code StageResult}, {@code Stage}, {@code Event},
+ * {@code Vehicle}, {@code Category} y {@code User} en el contexto de
+ * persistencia.
+ */
+public class ClasificacionRowDTO {
+
+    private final Long resultId;
+    private final Long eventId;
+    private final int stageOrder;
+    private final Long vehicleId;
+    private final String vehicleName;
+    private final String driverName;
+    private final String userPicture;
+    private final String teamName;
+    private final Long categoryId;
+    private final String categoryName;
+    private final int elapsedTimeSeconds;
+    private final int penaltyWaypointSeconds;
+    private final int penaltySpeedSeconds;
+    private final int discountClaimSeconds;
+
+    /**
+     * Constructor usado por las consultas de proyección. {@code userId} solo
+     * distingue un vehículo sin piloto de un piloto sin apellido.
+     */
+    public ClasificacionRowDTO(Long resultId, Long eventId, Integer stageOrder, Long vehicleId, String vehicleName,
+            Long userId, String firstName, String lastName, String userPicture, String teamName, Long categoryId,
+            String categoryName, Integer elapsedTimeSeconds, Duration penaltyWaypoint, Duration penaltySpeed,
+            Duration discountClaim) {
+        this.resultId = resultId;
+        this.eventId = eventId;
+        this.stageOrder = stageOrder != null ? stageOrder : 0;
+        this.vehicleId = vehicleId;
+        this.vehicleName = vehicleName;
+        this.driverName = userId != null ? (firstName + " " + lastName) : "";
+        this.userPicture = userId != null ? userPicture : "";
+        this.teamName = userId != null ? teamName : "";
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.elapsedTimeSeconds = elapsedTimeSeconds != null ? elapsedTimeSeconds : 0;
+        this.penaltyWaypointSeconds = toSeconds(penaltyWaypoint);
+        this.penaltySpeedSeconds = toSeconds(penaltySpeed);
+        this.discountClaimSeconds = toSeconds(discountClaim);
+    }
+
+    /**
+     * Fila equivalente a partir de una entidad ya cargada (rutas de escritura)
+     */
+    public static ClasificacionRowDTO from(StageResult r) {
+        Vehicle vehicle = r.getVehicle();
+        User user = vehicle.getUser();
+        return new ClasificacionRowDTO(
+                r.getId(),
+                r.getStage().getEvent().getId(),
+                r.getStage().getOrderNumber(),
+                vehicle.getId(),
+                vehicle.getName(),
+                user != null ? user.getId() : null,
+                user != null ? user.getFirstName() : null,
+                user != null ? user.getLastName() : null,
+                user != null ? user.getPicture() : null,
+                user != null ? user.getTeamName() : null,
+                vehicle.getCategory() != null ? vehicle.getCategory().getId() : null,
+                vehicle.getCategory() != null ? vehicle.getCategory().getName() : null,
+                r.getElapsedTimeSeconds(),
+                r.getPenaltyWaypoint(),
+                r.getPenaltySpeed(),
+                r.getDiscountClaim());
+    }
+
+    private static int toSeconds(Duration duration) {
+        return duration != null ? (int) duration.getSeconds() : 0;
+    }
+
+    /**
+     * Tiempo de la etapa con penalizaciones y descuentos aplicados
+     */
+    public int getAdjustedTimeSeconds() {
+        return elapsedTimeSeconds + penaltyWaypointSeconds + penaltySpeedSeconds - discountClaimSeconds;
+    }
+
+    public ClasificacionCompletaDTO.StageTimeCellDTO toStageTimeCell() {
+        return new ClasificacionCompletaDTO.StageTimeCellDTO(stageOrder, elapsedTimeSeconds, resultId,
+                penaltyWaypointSeconds, penaltySpeedSeconds, discountClaimSeconds);
+    }
+
+    public Long getResultId() {
+        return resultId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int getStageOrder() {
+        return stageOrder;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public String getVehicleName() {
+        return vehicleName;
+    }
+
+    public String getDriverName() {
+        return driverName;
+    }
+
+    public String getUserPicture() {
+        return userPicture;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public int getElapsedTimeSeconds() {
+        return elapsedTimeSeconds;
+    }
+
+    public int getPenaltyWaypointSeconds() {
+        return penaltyWaypointSeconds;
+    }
+
+    public int getPenaltySpeedSeconds() {
+        return penaltySpeedSeconds;
+    }
+
+    public int getDiscountClaimSeconds() {
+        return discountClaimSeconds;
+    }
+}
@@ -0,0 +1,162 @@
+package com.udea.gpx.dto;
+
+import java.util.List;
+
+/**
+ * Mensaje de clasificación en vivo enviado por Server-Sent Events.
+ * <ul>
+ * <li>SNAPSHOT: clasificación general completa en {@code rows}</li>
+ * <li>DELTA: cambios de posición y celdas de etapa actualizadas</li>
+ * <li>RESET: la clasificación fue invalidada; llegará un nuevo SNAPSHOT</li>
+ * </ul>
+ * Un cliente aplica un DELTA solo si {@code previousVersion} coincide con la
+ * última versión recibida; de lo contrario debe esperar el siguiente SNAPSHOT
+ * o reconectarse.
+ */
+public class ClasificacionUpdateDTO {
+
+    public static final String TYPE_SNAPSHOT = "SNAPSHOT";
+    public static final String TYPE_DELTA = "DELTA";
+    public static final String TYPE_RESET = "RESET";
+
+    private String type;
+    private Long eventId;
+    private long version;
+    private long previousVersion;
+    private List<PositionChangeDTO> positionChanges;
+    private List<ClasificacionCompletaDTO.StageTimeCellDTO> updatedCells;
+    private List<Long> removedStageResultIds;
+    private List<ClasificacionCompletaDTO> rows;
+
+    public ClasificacionUpdateDTO(String type, Long eventId, long version, long previousVersion) {
+        this.type = type;
+        this.eventId = eventId;
+        this.version = version;
+        this.previousVersion = previousVersion;
+        this.positionChanges = List.of();
+        this.updatedCells = List.of();
+        this.removedStageResultIds = List.of();
+        this.rows = List.of();
+    }
+
+    public static ClasificacionUpdateDTO snapshot(Long eventId, long version, List<ClasificacionCompletaDTO> rows) {
+        ClasificacionUpdateDTO update = new ClasificacionUpdateDTO(TYPE_SNAPSHOT, eventId, version, version);
+        update.setRows(rows);
+        return update;
+    }
+
+    public static ClasificacionUpdateDTO reset(Long eventId, long version) {
+        return new ClasificacionUpdateDTO(TYPE_RESET, eventId, version, version);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getPreviousVersion() {
+        return previousVersion;
+    }
+
+    public void setPreviousVersion(long previousVersion) {
+        this.previousVersion = previousVersion;
+    }
+
+    public List<PositionChangeDTO> getPositionChanges() {
+        return positionChanges;
+    }
+
+    public void setPositionChanges(List<PositionChangeDTO> positionChanges) {
+        this.positionChanges = positionChanges;
+    }
+
+    public List<ClasificacionCompletaDTO.StageTimeCellDTO> getUpdatedCells() {
+        return updatedCells;
+    }
+
+    public void setUpdatedCells(List<ClasificacionCompletaDTO.StageTimeCellDTO> updatedCells) {
+        this.updatedCells = updatedCells;
+    }
+
+    public List<Long> getRemovedStageResultIds() {
+        return removedStageResultIds;
+    }
+
+    public void setRemovedStageResultIds(List<Long> removedStageResultIds) {
+        this.removedStageResultIds = removedStageResultIds;
+    }
+
+    public List<ClasificacionCompletaDTO> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<ClasificacionCompletaDTO> rows) {
+        this.rows = rows;
+    }
+
+    // DTO para el cambio de posición de un vehículo en la clasificación general
+    public static class PositionChangeDTO {
+        private Long vehicleId;
+        private Integer previousPosition; // null si el vehículo entra a la clasificación
+        private Integer newPosition; // null si el vehículo sale de la clasificación
+        private Integer totalTime;
+
+        public PositionChangeDTO(Long vehicleId, Integer previousPosition, Integer newPosition, Integer totalTime) {
+            this.vehicleId = vehicleId;
+            this.previousPosition = previousPosition;
+            this.newPosition = newPosition;
+            this.totalTime = totalTime;
+        }
+
+        public Long getVehicleId() {
+            return vehicleId;
+        }
+
+        public void setVehicleId(Long vehicleId) {
+            this.vehicleId = vehicleId;
+        }
+
+        public Integer getPreviousPosition() {
+            return previousPosition;
+        }
+
+        public void setPreviousPosition(Integer previousPosition) {
+            this.previousPosition = previousPosition;
+        }
+
+        public Integer getNewPosition() {
+            return newPosition;
+        }
+
+        public void setNewPosition(Integer newPosition) {
+            this.newPosition = newPosition;
+        }
+
+        public Integer getTotalTime() {
+            return totalTime;
+        }
+
+        public void setTotalTime(Integer totalTime) {
+            this.totalTime = totalTime;
+        }
+    }
+}
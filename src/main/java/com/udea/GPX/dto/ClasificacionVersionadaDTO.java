@@ -0,0 +1,51 @@
+package com.udea.gpx.dto;
+
+import java.util.List;
+
+/**
+ * Clasificación de un evento junto con la versión de la clasificación en
+ * memoria de la que se obtuvo. La versión cambia con cada escritura aplicada
+ * al evento y, junto con la instancia que la generó, sirve como ETag de la
+ * respuesta.
+ */
+public class ClasificacionVersionadaDTO {
+
+    private final Long eventId;
+    private final long version;
+    private final String instanceId;
+    private final List<ClasificacionCompletaDTO> rows;
+
+    public ClasificacionVersionadaDTO(Long eventId, long version, String instanceId,
+            List<ClasificacionCompletaDTO> rows) {
+        this.eventId = eventId;
+        this.version = version;
+        this.instanceId = instanceId;
+        this.rows = rows != null ? rows : List.of();
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public List<ClasificacionCompletaDTO> getRows() {
+        return rows;
+    }
+
+    /**
+     * ETag fuerte de la clasificación:
+     * {@code "<eventId>-<version>-<instanceId>"}. La instancia evita que una
+     * versión repetida tras un reinicio o en otro nodo coincida con un ETag
+     * que el cliente ya tiene.
+     */
+    public String getETag() {
+        return "\"" + eventId + "-" + version + "-" + instanceId + "\"";
+    }
+}
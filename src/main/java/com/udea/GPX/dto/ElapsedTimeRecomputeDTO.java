@@ -0,0 +1,51 @@
+package com.udea.gpx.dto;
+
+/**
+ * Resumen de un recálculo masivo de tiempos transcurridos
+ */
+public class ElapsedTimeRecomputeDTO {
+
+    private Long eventId;
+    private int rowsExamined;
+    private int rowsUpdated;
+    private long durationMillis;
+
+    public ElapsedTimeRecomputeDTO(Long eventId, int rowsExamined, int rowsUpdated, long durationMillis) {
+        this.eventId = eventId;
+        this.rowsExamined = rowsExamined;
+        this.rowsUpdated = rowsUpdated;
+        this.durationMillis = durationMillis;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getRowsExamined() {
+        return rowsExamined;
+    }
+
+    public void setRowsExamined(int rowsExamined) {
+        this.rowsExamined = rowsExamined;
+    }
+
+    public int getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public void setRowsUpdated(int rowsUpdated) {
+        this.rowsUpdated = rowsUpdated;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
@@ -0,0 +1,51 @@
+package com.udea.gpx.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos mínimos de un resultado para recalcular tiempos transcurridos sin
+ * cargar entidades
+ */
+public class ElapsedTimeRowDTO {
+
+    private final Long resultId;
+    private final Long vehicleId;
+    private final int stageOrder;
+    private final boolean neutralized;
+    private final LocalDateTime timestamp;
+    private final Integer elapsedTimeSeconds;
+
+    public ElapsedTimeRowDTO(Long resultId, Long vehicleId, Integer stageOrder, Boolean neutralized,
+            LocalDateTime timestamp, Integer elapsedTimeSeconds) {
+        this.resultId = resultId;
+        this.vehicleId = vehicleId;
+        this.stageOrder = stageOrder != null ? stageOrder : 0;
+        this.neutralized = Boolean.TRUE.equals(neutralized);
+        this.timestamp = timestamp;
+        this.elapsedTimeSeconds = elapsedTimeSeconds;
+    }
+
+    public Long getResultId() {
+        return resultId;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public int getStageOrder() {
+        return stageOrder;
+    }
+
+    public boolean isNeutralized() {
+        return neutralized;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Integer getElapsedTimeSeconds() {
+        return elapsedTimeSeconds;
+    }
+}
@@ -0,0 +1,30 @@
+package com.udea.gpx.dto;
+
+import java.util.List;
+
+/**
+ * Página de un listado recorrido por clave (keyset): el cliente pide la
+ * siguiente página con {@code nextCursor}, que es {@code null} en la última
+ */
+public class KeysetPageDTO<T> {
+
+    private final List<T> content;
+    private final Long nextCursor;
+
+    public KeysetPageDTO(List<T> content, Long nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
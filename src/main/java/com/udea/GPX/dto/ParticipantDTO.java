@@ -80,6 +80,15 @@ public class ParticipantDTO {
     this.registrationDate = registrationDate;
   }
 
+  // Constructor de proyección (IEventVehicleRepository.findParticipantsByEventId)
+  public ParticipantDTO(Long eventVehicleId, Long userId, String firstName, String lastName, String userPicture,
+      String teamName, Long vehicleId, String vehicleName, String vehiclePlates, String vehicleSoat,
+      Long categoryId, String categoryName) {
+    this(eventVehicleId, userId, firstName + (lastName != null ? " " + lastName : ""), userPicture, teamName,
+        vehicleId, vehicleName, vehiclePlates, vehicleSoat, categoryId,
+        categoryName != null ? categoryName : "Sin categoría", null);
+  }
+
   // Getters y Setters
   public Long getEventVehicleId() {
     return eventVehicleId;
@@ -0,0 +1,122 @@
+package com.udea.gpx.dto;
+
+import java.util.List;
+
+/**
+ * Respuesta de la ingesta masiva de resultados: totales y el resultado de
+ * cada fila en el mismo orden del lote recibido
+ */
+public class StageResultBatchResultDTO {
+
+    public static final String STATUS_CREATED = "CREATED";
+    public static final String STATUS_REJECTED = "REJECTED";
+
+    private int total;
+    private int created;
+    private int rejected;
+    private long durationMillis;
+    private List<RowOutcomeDTO> outcomes;
+
+    public StageResultBatchResultDTO(List<RowOutcomeDTO> outcomes, long durationMillis) {
+        this.outcomes = outcomes;
+        this.durationMillis = durationMillis;
+        this.total = outcomes.size();
+        this.created = (int) outcomes.stream().filter(o -> STATUS_CREATED.equals(o.getStatus())).count();
+        this.rejected = total - created;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<RowOutcomeDTO> getOutcomes() {
+        return outcomes;
+    }
+
+    public void setOutcomes(List<RowOutcomeDTO> outcomes) {
+        this.outcomes = outcomes;
+    }
+
+    // DTO para el resultado de una fila del lote (index empieza en 0)
+    public static class RowOutcomeDTO {
+        private int index;
+        private String status;
+        private Long stageResultId;
+        private String message;
+
+        public RowOutcomeDTO(int index, String status, Long stageResultId, String message) {
+            this.index = index;
+            this.status = status;
+            this.stageResultId = stageResultId;
+            this.message = message;
+        }
+
+        public static RowOutcomeDTO created(int index, Long stageResultId) {
+            return new RowOutcomeDTO(index, STATUS_CREATED, stageResultId, null);
+        }
+
+        public static RowOutcomeDTO rejected(int index, String message) {
+            return new RowOutcomeDTO(index, STATUS_REJECTED, null, message);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Long getStageResultId() {
+            return stageResultId;
+        }
+
+        public void setStageResultId(Long stageResultId) {
+            this.stageResultId = stageResultId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.udea.gpx.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de exportación de resultados de un evento (CSV / NDJSON).
+ * Se construye desde JPQL para recorrer eventos grandes sin cargar entidades.
+ */
+public class StageResultExportRowDTO {
+
+    private final Long id;
+    private final Long stageId;
+    private final int stageOrder;
+    private final String stageName;
+    private final boolean neutralized;
+    private final Long vehicleId;
+    private final String vehicleName;
+    private final Long categoryId;
+    private final String categoryName;
+    private final LocalDateTime timestamp;
+    private final double latitude;
+    private final double longitude;
+    private final Integer elapsedTimeSeconds;
+    private final int penaltyWaypointSeconds;
+    private final int penaltySpeedSeconds;
+    private final int discountClaimSeconds;
+
+    public StageResultExportRowDTO(Long id, Long stageId, Integer stageOrder, String stageName, Boolean neutralized,
+            Long vehicleId, String vehicleName, Long categoryId, String categoryName, LocalDateTime timestamp,
+            Double latitude, Double longitude, Integer elapsedTimeSeconds, Duration penaltyWaypoint,
+            Duration penaltySpeed, Duration discountClaim) {
+        this.id = id;
+        this.stageId = stageId;
+        this.stageOrder = stageOrder != null ? stageOrder : 0;
+        this.stageName = stageName;
+        this.neutralized = Boolean.TRUE.equals(neutralized);
+        this.vehicleId = vehicleId;
+        this.vehicleName = vehicleName;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.timestamp = timestamp;
+        this.latitude = latitude != null ? latitude : 0.0;
+        this.longitude = longitude != null ? longitude : 0.0;
+        this.elapsedTimeSeconds = elapsedTimeSeconds;
+        this.penaltyWaypointSeconds = penaltyWaypoint != null ? (int) penaltyWaypoint.getSeconds() : 0;
+        this.penaltySpeedSeconds = penaltySpeed != null ? (int) penaltySpeed.getSeconds() : 0;
+        this.discountClaimSeconds = discountClaim != null ? (int) discountClaim.getSeconds() : 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getStageId() {
+        return stageId;
+    }
+
+    public int getStageOrder() {
+        return stageOrder;
+    }
+
+    public String getStageName() {
+        return stageName;
+    }
+
+    public boolean isNeutralized() {
+        return neutralized;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public String getVehicleName() {
+        return vehicleName;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public Integer getElapsedTimeSeconds() {
+        return elapsedTimeSeconds;
+    }
+
+    public int getPenaltyWaypointSeconds() {
+        return penaltyWaypointSeconds;
+    }
+
+    public int getPenaltySpeedSeconds() {
+        return penaltySpeedSeconds;
+    }
+
+    public int getDiscountClaimSeconds() {
+        return discountClaimSeconds;
+    }
+}
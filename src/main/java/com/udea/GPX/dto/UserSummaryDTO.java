@@ -0,0 +1,55 @@
+package com.udea.gpx.dto;
+
+/**
+ * Datos de un usuario para los listados de administración, consultados como
+ * proyección sin cargar la entidad completa
+ */
+public class UserSummaryDTO {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String teamName;
+    private final String picture;
+    private final boolean admin;
+
+    public UserSummaryDTO(Long id, String firstName, String lastName, String email, String teamName,
+            String picture, Boolean admin) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.teamName = teamName;
+        this.picture = picture;
+        this.admin = Boolean.TRUE.equals(admin);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public String getPicture() {
+        return picture;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+}
@@ -0,0 +1,16 @@
+package com.udea.gpx.exception;
+
+/**
+ * Excepción lanzada cuando el pool de BCrypt está saturado y la operación se
+ * rechaza sin esperar
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
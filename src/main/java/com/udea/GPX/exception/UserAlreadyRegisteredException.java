@@ -0,0 +1,12 @@
+package com.udea.gpx.exception;
+
+/**
+ * Excepción lanzada cuando el dueño del vehículo ya tiene otra inscripción
+ * en el evento (una inscripción por persona)
+ */
+public class UserAlreadyRegisteredException extends RuntimeException {
+
+    public UserAlreadyRegisteredException(String message) {
+        super(message);
+    }
+}
@@ -3,7 +3,9 @@ package com.udea.gpx.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "event_category")
+@Table(name = "event_category", indexes = {
+        @Index(name = "idx_event_category_event_category", columnList = "fk_event_id, fk_category_id")
+})
 public class EventCategory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -3,7 +3,9 @@ package com.udea.gpx.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "event_vehicle")
+@Table(name = "event_vehicle", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_vehicle_event_vehicle", columnNames = { "fk_event_id", "fk_vehicle_id" })
+})
 public class EventVehicle {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
         @Index(name = "idx_stage_result_timestamp", columnList = "timestamp"),
         @Index(name = "idx_stage_result_stage_vehicle", columnList = "fk_stage_id, fk_vehicle_id"),
         @Index(name = "idx_stage_result_vehicle_stage_order", columnList = "fk_vehicle_id, fk_stage_id"),
-        @Index(name = "idx_stage_result_elapsed_time", columnList = "elapsed_time_seconds")
+        @Index(name = "idx_stage_result_elapsed_time", columnList = "elapsed_time_seconds"),
+        @Index(name = "idx_stage_result_event_order", columnList = "event_id, stage_order, timestamp"),
+        @Index(name = "idx_stage_result_event_vehicle_order", columnList = "event_id, fk_vehicle_id, stage_order")
 })
 public class StageResult {
     @Id
@@ -48,6 +50,14 @@ public class StageResult {
     @JoinColumn(name = "fk_vehicle_id", nullable = false)
     private Vehicle vehicle;
 
+    // Copias de stage.event.id y stage.orderNumber para filtrar y ordenar por
+    // evento sin unir stage ni event; siguen a la etapa asignada
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "stage_order")
+    private Integer stageOrder;
+
     public StageResult(Long id, LocalDateTime timestamp, double latitude, double longitude, Duration penaltyWaypoint,
             Duration penaltySpeed, Duration discountClaim, Integer elapsedTimeSeconds, Stage stage, Vehicle vehicle) {
         this.id = id;
@@ -60,6 +70,7 @@ public class StageResult {
         this.elapsedTimeSeconds = elapsedTimeSeconds;
         this.stage = stage;
         this.vehicle = vehicle;
+        syncStageColumns();
     }
 
     public StageResult() {
@@ -135,6 +146,7 @@ public class StageResult {
 
     public void setStage(Stage stage) {
         this.stage = stage;
+        syncStageColumns();
     }
 
     public Vehicle getVehicle() {
@@ -144,4 +156,25 @@ public class StageResult {
     public void setVehicle(Vehicle vehicle) {
         this.vehicle = vehicle;
     }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Integer getStageOrder() {
+        return stageOrder;
+    }
+
+    /**
+     * Copia el evento y el orden de la etapa asignada; se repite al guardar
+     * por si la etapa cambió después de asignarla
+     */
+    @PrePersist
+    @PreUpdate
+    void syncStageColumns() {
+        if (stage != null) {
+            eventId = stage.getEvent() != null ? stage.getEvent().getId() : null;
+            stageOrder = stage.getOrderNumber();
+        }
+    }
 }
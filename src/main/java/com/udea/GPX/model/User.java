@@ -5,7 +5,9 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "app_user")
+@Table(name = "app_user", indexes = {
+        @Index(name = "idx_app_user_admin", columnList = "admin, id")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
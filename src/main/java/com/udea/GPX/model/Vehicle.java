@@ -3,7 +3,10 @@ package com.udea.gpx.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "vehicle")
+@Table(name = "vehicle", indexes = {
+        @Index(name = "idx_vehicle_user_id", columnList = "fk_user_id"),
+        @Index(name = "idx_vehicle_category_id", columnList = "fk_category_id")
+})
 public class Vehicle {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,6 +1,8 @@
 package com.udea.gpx.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.udea.gpx.model.EventCategory;
 
@@ -8,4 +10,12 @@ import java.util.List;
 
 public interface IEventCategoryRepository extends JpaRepository<EventCategory, Long> {
     List<EventCategory> findByEventId(Long eventId);
+
+    /**
+     * Categorías de un evento con su evento y categoría en una sola consulta
+     * (idx_event_category_event_category)
+     */
+    @Query("SELECT ec FROM EventCategory ec JOIN FETCH ec.event e JOIN FETCH ec.category "
+            + "WHERE e.id = :eventId ORDER BY ec.id")
+    List<EventCategory> findAllWithEventAndCategoryByEventId(@Param("eventId") Long eventId);
 }
@@ -1,14 +1,28 @@
 package com.udea.gpx.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.udea.gpx.model.Event;
 
+import jakarta.persistence.LockModeType;
+
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface IEventRepository extends JpaRepository<Event, Long> {
     List<Event> findByEndDateAfterOrEndDateEquals(LocalDate date, LocalDate date2);
 
     List<Event> findByEndDateBefore(LocalDate date);
+
+    /**
+     * Evento con bloqueo de escritura hasta el fin de la transacción. Serializa
+     * las inscripciones de un mismo evento para reservar cupo sin sobrecupo.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
 }
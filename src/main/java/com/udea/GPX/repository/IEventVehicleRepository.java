@@ -1,11 +1,42 @@
 package com.udea.gpx.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.udea.gpx.dto.ParticipantDTO;
 import com.udea.gpx.model.EventVehicle;
 
 import java.util.List;
 
 public interface IEventVehicleRepository extends JpaRepository<EventVehicle, Long> {
     List<EventVehicle> findByEventId(Long eventId);
+
+    /**
+     * Inscripciones de un evento, contadas sobre uk_event_vehicle_event_vehicle
+     */
+    long countByEventId(Long eventId);
+
+    @Query("SELECT COUNT(ev) > 0 FROM EventVehicle ev " +
+            "WHERE ev.event.id = :eventId AND ev.vehicleId.id = :vehicleId")
+    boolean existsByEventIdAndVehicleId(@Param("eventId") Long eventId, @Param("vehicleId") Long vehicleId);
+
+    @Query("SELECT COUNT(ev) > 0 FROM EventVehicle ev " +
+            "WHERE ev.event.id = :eventId AND ev.vehicleId.user.id = :userId")
+    boolean existsByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    /**
+     * Participantes de un evento en una sola consulta, sin cargar entidades.
+     * Omite los vehículos sin usuario.
+     */
+    @Query("SELECT new com.udea.gpx.dto.ParticipantDTO(" +
+            "ev.id, u.id, u.firstName, u.lastName, u.picture, u.teamName, " +
+            "v.id, v.name, v.plates, v.soat, c.id, c.name) " +
+            "FROM EventVehicle ev " +
+            "JOIN ev.vehicleId v " +
+            "JOIN v.user u " +
+            "LEFT JOIN v.category c " +
+            "WHERE ev.event.id = :eventId " +
+            "ORDER BY ev.id")
+    List<ParticipantDTO> findParticipantsByEventId(@Param("eventId") Long eventId);
 }
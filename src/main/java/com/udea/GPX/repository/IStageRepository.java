@@ -1,10 +1,13 @@
 package com.udea.gpx.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.udea.gpx.model.Event;
 import com.udea.gpx.model.Stage;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +18,20 @@ public interface IStageRepository extends JpaRepository<Stage, Long> {
 
     List<Stage> findByEventId(Long eventId);
 
+    /**
+     * Etapas de un evento con su evento, ordenadas por número de orden. Usa
+     * idx_stage_event_order en lugar de recorrer todas las etapas.
+     */
+    @Query("SELECT s FROM Stage s JOIN FETCH s.event e WHERE e.id = :eventId ORDER BY s.orderNumber")
+    List<Stage> findAllWithEventByEventId(@Param("eventId") Long eventId);
+
     Optional<Stage> findByEventIdAndOrderNumber(Long eventId, Integer orderNumber);
 
     boolean existsByEventIdAndOrderNumber(Long eventId, Integer orderNumber);
+
+    /**
+     * Etapas con su evento en una sola consulta (ingesta masiva de resultados)
+     */
+    @Query("SELECT s FROM Stage s JOIN FETCH s.event WHERE s.id IN :ids")
+    List<Stage> findAllWithEventByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,18 +1,29 @@
 package com.udea.gpx.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
+import com.udea.gpx.dto.ClasificacionRowDTO;
+import com.udea.gpx.dto.ElapsedTimeRowDTO;
+import com.udea.gpx.dto.StageResultExportRowDTO;
 import com.udea.gpx.model.Event;
 import com.udea.gpx.model.Stage;
 import com.udea.gpx.model.StageResult;
 import com.udea.gpx.model.Vehicle;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface IStageResultRepository extends JpaRepository<StageResult, Long> {
+public interface IStageResultRepository extends JpaRepository<StageResult, Long>, StageResultBatchOperations {
 
         List<StageResult> findByVehicleAndStage_Event(Vehicle vehicle, Event event);
 
@@ -27,17 +38,17 @@ public interface IStageResultRepository extends JpaRepository<StageResult, Long>
          * Reemplaza: findAll().stream().filter(r ->
          * r.getStage().getEvent().getId().equals(eventId))
          */
-        @Query("SELECT sr FROM StageResult sr WHERE sr.stage.event.id = :eventId")
+        @Query("SELECT sr FROM StageResult sr WHERE sr.eventId = :eventId")
         List<StageResult> findByEventId(@Param("eventId") Long eventId);
 
         /**
          * Encuentra resultados por evento y rango de etapas
          * Reemplaza consulta ineficiente en getResultsByStageRange
          */
-        @Query("SELECT sr FROM StageResult sr " +
-                        "WHERE sr.stage.event.id = :eventId " +
-                        "AND sr.stage.orderNumber BETWEEN :stageStart AND :stageEnd " +
-                        "AND sr.stage.isNeutralized = false " +
+        @Query("SELECT sr FROM StageResult sr JOIN sr.stage st " +
+                        "WHERE sr.eventId = :eventId " +
+                        "AND sr.stageOrder BETWEEN :stageStart AND :stageEnd " +
+                        "AND st.isNeutralized = false " +
                         "ORDER BY sr.timestamp")
         List<StageResult> findByEventIdAndStageRange(@Param("eventId") Long eventId,
                         @Param("stageStart") Integer stageStart,
@@ -48,8 +59,8 @@ public interface IStageResultRepository extends JpaRepository<StageResult, Long>
          * Para clasificaciones por etapa
          */
         @Query("SELECT sr FROM StageResult sr " +
-                        "WHERE sr.stage.event.id = :eventId " +
-                        "AND sr.stage.orderNumber = :stageNumber")
+                        "WHERE sr.eventId = :eventId " +
+                        "AND sr.stageOrder = :stageNumber")
         List<StageResult> findByEventIdAndStageNumber(@Param("eventId") Long eventId,
                         @Param("stageNumber") Integer stageNumber);
 
@@ -58,7 +69,7 @@ public interface IStageResultRepository extends JpaRepository<StageResult, Long>
          * Para clasificaciones por categoría
          */
         @Query("SELECT sr FROM StageResult sr " +
-                        "WHERE sr.stage.event.id = :eventId " +
+                        "WHERE sr.eventId = :eventId " +
                         "AND sr.vehicle.category.id = :categoryId")
         List<StageResult> findByEventIdAndCategoryId(@Param("eventId") Long eventId,
                         @Param("categoryId") Long categoryId);
@@ -68,36 +79,137 @@ public interface IStageResultRepository extends JpaRepository<StageResult, Long>
          * Reemplaza consulta ineficiente en getClasificacionGeneral
          */
         @Query("SELECT sr FROM StageResult sr " +
-                        "WHERE sr.stage.event.id = :eventId " +
-                        "ORDER BY sr.stage.orderNumber, sr.timestamp")
+                        "WHERE sr.eventId = :eventId " +
+                        "ORDER BY sr.stageOrder, sr.timestamp")
         List<StageResult> findByEventIdOrderedForClassification(@Param("eventId") Long eventId);
 
+        // === PROYECCIONES PARA CLASIFICACIÓN ===
+
+        String CLASIFICACION_ROW_SELECT = "SELECT new com.udea.gpx.dto.ClasificacionRowDTO(" +
+                        "sr.id, sr.eventId, sr.stageOrder, v.id, v.name, " +
+                        "u.id, u.firstName, u.lastName, u.picture, u.teamName, c.id, c.name, " +
+                        "sr.elapsedTimeSeconds, sr.penaltyWaypoint, sr.penaltySpeed, sr.discountClaim) " +
+                        "FROM StageResult sr " +
+                        "JOIN sr.vehicle v " +
+                        "LEFT JOIN v.user u " +
+                        "LEFT JOIN v.category c ";
+
+        /**
+         * Filas planas de clasificación general de un evento, sin cargar
+         * entidades. El filtro y el orden salen del índice (event_id,
+         * stage_order, timestamp) sin unir stage ni event
+         */
+        @Query(CLASIFICACION_ROW_SELECT +
+                        "WHERE sr.eventId = :eventId " +
+                        "ORDER BY sr.stageOrder, sr.timestamp")
+        List<ClasificacionRowDTO> findClasificacionRowsByEventId(@Param("eventId") Long eventId);
+
+        /**
+         * Filas planas de clasificación de un evento para una categoría
+         */
+        @Query(CLASIFICACION_ROW_SELECT +
+                        "WHERE sr.eventId = :eventId " +
+                        "AND c.id = :categoryId " +
+                        "ORDER BY sr.stageOrder, sr.timestamp")
+        List<ClasificacionRowDTO> findClasificacionRowsByEventIdAndCategoryId(@Param("eventId") Long eventId,
+                        @Param("categoryId") Long categoryId);
+
+        /**
+         * Filas planas de clasificación de una etapa de un evento
+         */
+        @Query(CLASIFICACION_ROW_SELECT +
+                        "WHERE sr.eventId = :eventId " +
+                        "AND sr.stageOrder = :stageNumber")
+        List<ClasificacionRowDTO> findClasificacionRowsByEventIdAndStageNumber(@Param("eventId") Long eventId,
+                        @Param("stageNumber") Integer stageNumber);
+
         /**
          * Encuentra resultados agrupados por vehículo para un evento
          * Optimizado para updateElapsedTimesForEvent
          */
         @Query("SELECT sr FROM StageResult sr " +
-                        "WHERE sr.stage.event.id = :eventId " +
+                        "WHERE sr.eventId = :eventId " +
                         "AND sr.timestamp IS NOT NULL " +
-                        "ORDER BY sr.vehicle.id, sr.stage.orderNumber")
+                        "ORDER BY sr.vehicle.id, sr.stageOrder")
         List<StageResult> findByEventIdWithTimestampOrderedByVehicleAndStage(@Param("eventId") Long eventId);
 
+        /**
+         * Columnas mínimas para el recálculo masivo de tiempos transcurridos,
+         * ordenadas por vehículo y orden de etapa
+         */
+        @Query("SELECT new com.udea.gpx.dto.ElapsedTimeRowDTO(" +
+                        "sr.id, sr.vehicle.id, sr.stageOrder, st.isNeutralized, " +
+                        "sr.timestamp, sr.elapsedTimeSeconds) " +
+                        "FROM StageResult sr JOIN sr.stage st " +
+                        "WHERE sr.eventId = :eventId " +
+                        "AND sr.timestamp IS NOT NULL " +
+                        "ORDER BY sr.vehicle.id, sr.stageOrder")
+        List<ElapsedTimeRowDTO> findElapsedTimeRowsByEventId(@Param("eventId") Long eventId);
+
+        /**
+         * Resultados de un evento para exportación, leídos en bloques de
+         * {@code fetchSize} filas. Debe consumirse dentro de una transacción y
+         * cerrarse al terminar.
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+        @Query("SELECT new com.udea.gpx.dto.StageResultExportRowDTO(" +
+                        "sr.id, st.id, sr.stageOrder, st.name, st.isNeutralized, " +
+                        "v.id, v.name, c.id, c.name, sr.timestamp, sr.latitude, sr.longitude, " +
+                        "sr.elapsedTimeSeconds, sr.penaltyWaypoint, sr.penaltySpeed, sr.discountClaim) " +
+                        "FROM StageResult sr " +
+                        "JOIN sr.stage st " +
+                        "JOIN sr.vehicle v " +
+                        "LEFT JOIN v.category c " +
+                        "WHERE sr.eventId = :eventId " +
+                        "ORDER BY sr.stageOrder, sr.timestamp, sr.id")
+        Stream<StageResultExportRowDTO> streamExportRowsByEventId(@Param("eventId") Long eventId);
+
         /**
          * Cuenta resultados por evento para métricas
          */
-        @Query("SELECT COUNT(sr) FROM StageResult sr WHERE sr.stage.event.id = :eventId")
+        @Query("SELECT COUNT(sr) FROM StageResult sr WHERE sr.eventId = :eventId")
         Long countByEventId(@Param("eventId") Long eventId);
 
+        /**
+         * Evento de un resultado, sin cargar la entidad
+         */
+        @Query("SELECT sr.eventId FROM StageResult sr WHERE sr.id = :id")
+        Optional<Long> findEventIdById(@Param("id") Long id);
+
         /**
          * Encuentra resultados con penalizaciones para un evento
          */
         @Query("SELECT sr FROM StageResult sr " +
-                        "WHERE sr.stage.event.id = :eventId " +
+                        "WHERE sr.eventId = :eventId " +
                         "AND (sr.penaltyWaypoint IS NOT NULL " +
                         "     OR sr.penaltySpeed IS NOT NULL " +
                         "     OR sr.discountClaim IS NOT NULL)")
         List<StageResult> findByEventIdWithPenalties(@Param("eventId") Long eventId);
 
+        /**
+         * Resultado del vehículo en la etapa inmediatamente anterior (por
+         * orderNumber) dentro del mismo evento
+         */
+        Optional<StageResult> findFirstByVehicle_IdAndEventIdAndStageOrderLessThanOrderByStageOrderDesc(
+                        Long vehicleId, Long eventId, Integer orderNumber);
+
+        /**
+         * Resultado del vehículo en la etapa inmediatamente siguiente (por
+         * orderNumber) dentro del mismo evento
+         */
+        Optional<StageResult> findFirstByVehicle_IdAndEventIdAndStageOrderGreaterThanOrderByStageOrderAsc(
+                        Long vehicleId, Long eventId, Integer orderNumber);
+
+        default Optional<StageResult> findPreviousResultForVehicle(Long vehicleId, Long eventId, int orderNumber) {
+                return findFirstByVehicle_IdAndEventIdAndStageOrderLessThanOrderByStageOrderDesc(
+                                vehicleId, eventId, orderNumber);
+        }
+
+        default Optional<StageResult> findNextResultForVehicle(Long vehicleId, Long eventId, int orderNumber) {
+                return findFirstByVehicle_IdAndEventIdAndStageOrderGreaterThanOrderByStageOrderAsc(
+                                vehicleId, eventId, orderNumber);
+        }
+
         /**
          * Verifica si ya existe un resultado para el vehículo en la etapa específica
          */
@@ -107,6 +219,12 @@ public interface IStageResultRepository extends JpaRepository<StageResult, Long>
         boolean existsByVehicleIdAndStageId(@Param("vehicleId") Long vehicleId,
                         @Param("stageId") Long stageId);
 
+        /**
+         * Pares [vehicleId, stageId] ya registrados para las etapas indicadas
+         */
+        @Query("SELECT sr.vehicle.id, sr.stage.id FROM StageResult sr WHERE sr.stage.id IN :stageIds")
+        List<Object[]> findVehicleStagePairsByStageIdIn(@Param("stageIds") Collection<Long> stageIds);
+
         /**
          * Encuentra un resultado específico por vehículo y etapa (para edición)
          */
@@ -115,4 +233,28 @@ public interface IStageResultRepository extends JpaRepository<StageResult, Long>
                         "AND sr.stage.id = :stageId")
         Optional<StageResult> findByVehicleIdAndStageId(@Param("vehicleId") Long vehicleId,
                         @Param("stageId") Long stageId);
+
+        // === COPIAS DE EVENTO Y ORDEN DE ETAPA ===
+
+        /**
+         * Propaga a los resultados de una etapa su evento y orden actuales
+         */
+        @Transactional
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE StageResult sr SET sr.eventId = :eventId, sr.stageOrder = :stageOrder " +
+                        "WHERE sr.stage.id = :stageId")
+        int syncStageColumns(@Param("stageId") Long stageId, @Param("eventId") Long eventId,
+                        @Param("stageOrder") Integer stageOrder);
+
+        /**
+         * Completa el evento y el orden de etapa de los resultados que aún no
+         * los tienen (filas anteriores a las columnas)
+         */
+        @Transactional
+        @Modifying
+        @Query("UPDATE StageResult sr SET " +
+                        "sr.eventId = (SELECT st.event.id FROM Stage st WHERE st.id = sr.stage.id), " +
+                        "sr.stageOrder = (SELECT st.orderNumber FROM Stage st WHERE st.id = sr.stage.id) " +
+                        "WHERE sr.eventId IS NULL OR sr.stageOrder IS NULL")
+        int backfillStageColumns();
 }
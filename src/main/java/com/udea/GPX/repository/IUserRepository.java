@@ -1,13 +1,38 @@
 package com.udea.gpx.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.udea.gpx.dto.UserSummaryDTO;
 import com.udea.gpx.model.User;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface IUserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findByGoogleId(String googleId);
+
+    /**
+     * Resúmenes de usuarios con id mayor al indicado, en orden de id. Recorre
+     * la clave primaria desde el cursor, sin contar ni saltar filas previas
+     */
+    @Query("SELECT new com.udea.gpx.dto.UserSummaryDTO(u.id, u.firstName, u.lastName, u.email, u.teamName, "
+            + "u.picture, u.admin) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummaryDTO> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Administradores, resueltos por el índice de rol
+     */
+    List<User> findByAdminTrueOrderByIdAsc();
+
+    /**
+     * Resúmenes de los administradores, resueltos por el índice de rol
+     */
+    @Query("SELECT new com.udea.gpx.dto.UserSummaryDTO(u.id, u.firstName, u.lastName, u.email, u.teamName, "
+            + "u.picture, u.admin) FROM User u WHERE u.admin = true ORDER BY u.id")
+    List<UserSummaryDTO> findAdminSummaries();
 }
@@ -1,12 +1,41 @@
 package com.udea.gpx.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import com.udea.gpx.model.Category;
 import com.udea.gpx.model.Vehicle;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface IVehicleRepository extends JpaRepository<Vehicle, Long> {
-    List<Vehicle> findByCategory(Category category);
+
+    /**
+     * Vehículos de un usuario, con su categoría y usuario en la misma consulta
+     */
+    @EntityGraph(attributePaths = { "user", "category" })
+    List<Vehicle> findByUserIdOrderByIdAsc(Long userId);
+
+    @EntityGraph(attributePaths = { "user", "category" })
+    Page<Vehicle> findByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Vehículos de una categoría, con su categoría y usuario en la misma
+     * consulta
+     */
+    @EntityGraph(attributePaths = { "user", "category" })
+    List<Vehicle> findByCategoryIdOrderByIdAsc(Long categoryId);
+
+    @EntityGraph(attributePaths = { "user", "category" })
+    Page<Vehicle> findByCategoryId(Long categoryId, Pageable pageable);
+
+    /**
+     * Ids existentes entre los indicados, sin cargar vehículos ni sus relaciones
+     */
+    @Query("SELECT v.id FROM Vehicle v WHERE v.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,31 @@
+package com.udea.gpx.repository;
+
+import com.udea.gpx.model.StageResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operaciones masivas sobre stage_result ejecutadas con JDBC batch
+ */
+public interface StageResultBatchOperations {
+
+    /**
+     * Actualiza elapsed_time_seconds por id de resultado en lotes JDBC
+     *
+     * @param elapsedByResultId nuevo tiempo transcurrido por id de resultado
+     * @return número de filas actualizadas
+     */
+    int batchUpdateElapsedTimes(Map<Long, Integer> elapsedByResultId);
+
+    /**
+     * Inserta resultados nuevos en lotes JDBC. Las penalizaciones se
+     * inicializan en cero, como en la creación individual, y el tiempo
+     * transcurrido se calcula después.
+     *
+     * @param results resultados sin id, con etapa (y su evento) y vehículo
+     *                asignados
+     * @return ids generados, en el mismo orden de {@code results}
+     */
+    List<Long> batchInsertResults(List<StageResult> results);
+}
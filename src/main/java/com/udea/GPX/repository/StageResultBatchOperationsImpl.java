@@ -0,0 +1,89 @@
+package com.udea.gpx.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.udea.gpx.model.StageResult;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación JDBC de {@link StageResultBatchOperations}; Spring Data la
+ * incorpora a {@link IStageResultRepository} como fragmento
+ */
+public class StageResultBatchOperationsImpl implements StageResultBatchOperations {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String UPDATE_ELAPSED_SQL = "UPDATE stage_result SET elapsed_time_seconds = ? WHERE id = ?";
+    // Penalizaciones en cero, igual que StageResultService#createResult
+    private static final String INSERT_RESULT_SQL = "INSERT INTO stage_result "
+            + "(timestamp, latitude, longitude, fk_stage_id, fk_vehicle_id, event_id, stage_order, "
+            + "penalty_waypoint, penalty_speed, discount_claim) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, INTERVAL '0' SECOND, INTERVAL '0' SECOND, INTERVAL '0' SECOND)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StageResultBatchOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int batchUpdateElapsedTimes(Map<Long, Integer> elapsedByResultId) {
+        if (elapsedByResultId.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<Long, Integer>> updates = new ArrayList<>(elapsedByResultId.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_ELAPSED_SQL, updates, BATCH_SIZE, (ps, update) -> {
+            ps.setInt(1, update.getValue());
+            ps.setLong(2, update.getKey());
+        });
+
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Algunos drivers no informan el conteo por sentencia en modo batch
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Long> batchInsertResults(List<StageResult> results) {
+        if (results.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(results.size());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_RESULT_SQL, new String[] { "id" })) {
+                for (int start = 0; start < results.size(); start += BATCH_SIZE) {
+                    int end = Math.min(start + BATCH_SIZE, results.size());
+                    for (StageResult result : results.subList(start, end)) {
+                        ps.setObject(1, result.getTimestamp());
+                        ps.setDouble(2, result.getLatitude());
+                        ps.setDouble(3, result.getLongitude());
+                        ps.setLong(4, result.getStage().getId());
+                        ps.setLong(5, result.getVehicle().getId());
+                        ps.setObject(6, result.getEventId());
+                        ps.setObject(7, result.getStageOrder());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+}
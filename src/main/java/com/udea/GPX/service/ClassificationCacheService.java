@@ -0,0 +1,92 @@
+package com.udea.gpx.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import com.udea.gpx.dto.ClasificacionUpdateDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de clasificaciones calculadas, sobre la cache {@code classifications}.
+ * <p>
+ * Cada evento ocupa una sola entrada con sus vistas (general, por categoría y
+ * por etapa), de modo que cualquier cambio en la clasificación en memoria del
+ * evento invalida únicamente esa entrada. Las vistas guardan la versión de la
+ * que se calcularon y solo se sirven mientras coincida con la versión actual
+ * de {@link StandingsEngine}, lo que descarta también las vistas calculadas
+ * en paralelo con una escritura.
+ */
+@Service
+public class ClassificationCacheService {
+
+    static final String CACHE_NAME = "classifications";
+
+    private final Cache cache;
+    private final StandingsEngine standingsEngine;
+
+    public ClassificationCacheService(CacheManager cacheManager, StandingsEngine standingsEngine) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.standingsEngine = standingsEngine;
+        standingsEngine.addListener(this::onStandingsChanged);
+    }
+
+    /**
+     * Vista vigente de la clasificación, o {@code null} si no está en cache o
+     * quedó desactualizada
+     */
+    public ClasificacionVersionadaDTO get(Long eventId, Long categoryId, Integer stageNumber) {
+        Map<String, ClasificacionVersionadaDTO> views = views(eventId, false);
+        if (views == null) {
+            return null;
+        }
+        ClasificacionVersionadaDTO cached = views.get(scope(categoryId, stageNumber));
+        if (cached == null || cached.getVersion() != standingsEngine.getVersion(eventId)) {
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Guarda una vista calculada de la clasificación
+     */
+    public void put(Long categoryId, Integer stageNumber, ClasificacionVersionadaDTO clasificacion) {
+        views(clasificacion.getEventId(), true).put(scope(categoryId, stageNumber), clasificacion);
+    }
+
+    /**
+     * Descarta todas las vistas de un evento
+     */
+    public void evictEvent(Long eventId) {
+        if (eventId != null) {
+            cache.evict(eventId);
+        }
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private void onStandingsChanged(ClasificacionUpdateDTO update) {
+        evictEvent(update.getEventId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ClasificacionVersionadaDTO> views(Long eventId, boolean create) {
+        if (create) {
+            return cache.get(eventId, ConcurrentHashMap::new);
+        }
+        return cache.get(eventId, Map.class);
+    }
+
+    private static String scope(Long categoryId, Integer stageNumber) {
+        if (categoryId != null) {
+            return "category:" + categoryId;
+        }
+        if (stageNumber != null) {
+            return "stage:" + stageNumber;
+        }
+        return "general";
+    }
+}
@@ -0,0 +1,139 @@
+package com.udea.gpx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+
+import com.udea.gpx.dto.ClasificacionUpdateDTO;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Difusión de la clasificación en vivo por Server-Sent Events.
+ * <p>
+ * Cada escritura se convierte en un único DELTA en {@link StandingsEngine} y
+ * se reenvía a todos los suscriptores del evento mediante un sink multicast,
+ * por lo que el número de pantallas conectadas no multiplica las consultas a
+ * la base de datos. Cada suscriptor retiene a lo sumo
+ * {@value #PENDING_UPDATES_LIMIT} cambios sin enviar, descartando los más
+ * antiguos: los suscriptores lentos pierden mensajes en lugar de acumularlos
+ * o frenar a los demás, y detectan el salto por {@code previousVersion}.
+ */
+@Service
+public class ClassificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassificationStreamService.class);
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    private static final int PENDING_UPDATES_LIMIT = 256; // Cambios sin enviar retenidos por suscriptor
+
+    private final StageResultService stageResultService;
+    private final Map<Long, Sinks.Many<ClasificacionUpdateDTO>> sinksByEvent = new ConcurrentHashMap<>();
+
+    public ClassificationStreamService(StageResultService stageResultService, StandingsEngine standingsEngine) {
+        this.stageResultService = stageResultService;
+        standingsEngine.addListener(this::onStandingsChanged);
+    }
+
+    /**
+     * Flujo de clasificación de un evento: un SNAPSHOT inicial seguido de los
+     * DELTA posteriores, con comentarios periódicos para mantener viva la
+     * conexión a través de proxies.
+     */
+    public Flux<ServerSentEvent<ClasificacionUpdateDTO>> subscribe(Long eventId) {
+        Flux<ServerSentEvent<ClasificacionUpdateDTO>> updates = Flux.defer(() -> {
+            Sinks.Many<ClasificacionUpdateDTO> sink = sinksByEvent.computeIfAbsent(eventId,
+                    id -> Sinks.many().multicast().directBestEffort());
+
+            // Suscribirse antes de tomar el snapshot para no perder cambios intermedios; el
+            // buffer acotado cubre tanto la espera del snapshot como a un cliente lento después
+            ConnectableFlux<ClasificacionUpdateDTO> pending = sink.asFlux()
+                    .onBackpressureBuffer(PENDING_UPDATES_LIMIT,
+                            dropped -> logger.debug("Cambio {} de clasificación descartado para un suscriptor lento",
+                                    dropped.getVersion()),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .publish(1);
+            Disposable connection = pending.connect();
+
+            return Mono.fromCallable(() -> stageResultService.getClasificacionSnapshot(eventId))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(snapshot -> Flux.just(snapshot)
+                            .concatWith(pending.filter(update -> update.getVersion() > snapshot.getVersion())))
+                    .map(this::toServerSentEvent)
+                    .doFinally(signal -> {
+                        connection.dispose();
+                        releaseSinkIfUnused(eventId);
+                    });
+        });
+
+        Flux<ServerSentEvent<ClasificacionUpdateDTO>> heartbeat = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<ClasificacionUpdateDTO>builder().comment("keep-alive").build());
+
+        return Flux.merge(updates, heartbeat);
+    }
+
+    /**
+     * Número de conexiones activas para un evento
+     */
+    public int getSubscriberCount(Long eventId) {
+        Sinks.Many<ClasificacionUpdateDTO> sink = sinksByEvent.get(eventId);
+        return sink != null ? sink.currentSubscriberCount() : 0;
+    }
+
+    /**
+     * Indica si el evento conserva un sink de difusión (visible para pruebas)
+     */
+    boolean hasSink(Long eventId) {
+        return sinksByEvent.containsKey(eventId);
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private void onStandingsChanged(ClasificacionUpdateDTO update) {
+        Sinks.Many<ClasificacionUpdateDTO> sink = sinksByEvent.get(update.getEventId());
+        if (sink == null || sink.currentSubscriberCount() == 0) {
+            return;
+        }
+
+        synchronized (sink) {
+            sink.tryEmitNext(update);
+        }
+
+        if (ClasificacionUpdateDTO.TYPE_RESET.equals(update.getType())) {
+            // Un solo recálculo para todos los suscriptores, fuera del hilo que escribió
+            Long eventId = update.getEventId();
+            Schedulers.boundedElastic().schedule(() -> {
+                try {
+                    stageResultService.publicarSnapshotClasificacion(eventId);
+                } catch (RuntimeException e) {
+                    logger.warn("Error publicando snapshot de clasificación del evento {}: {}", eventId,
+                            e.getMessage());
+                }
+            });
+        }
+    }
+
+    private ServerSentEvent<ClasificacionUpdateDTO> toServerSentEvent(ClasificacionUpdateDTO update) {
+        return ServerSentEvent.<ClasificacionUpdateDTO>builder()
+                .id(String.valueOf(update.getVersion()))
+                .event(update.getType().toLowerCase(Locale.ROOT))
+                .data(update)
+                .build();
+    }
+
+    private void releaseSinkIfUnused(Long eventId) {
+        sinksByEvent.computeIfPresent(eventId, (id, sink) -> sink.currentSubscriberCount() == 0 ? null : sink);
+    }
+}
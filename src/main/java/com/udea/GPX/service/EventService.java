@@ -60,15 +60,18 @@ public class EventService {
     private final IEventRepository eventRepository;
     private final IEventCategoryRepository eventCategoryRepository;
     private final BusinessRuleValidator businessRuleValidator;
+    private final StandingsEngine standingsEngine;
 
     // Constructor injection (no @Autowired needed)
     public EventService(
             IEventRepository eventRepository,
             IEventCategoryRepository eventCategoryRepository,
-            BusinessRuleValidator businessRuleValidator) {
+            BusinessRuleValidator businessRuleValidator,
+            StandingsEngine standingsEngine) {
         this.eventRepository = eventRepository;
         this.eventCategoryRepository = eventCategoryRepository;
         this.businessRuleValidator = businessRuleValidator;
+        this.standingsEngine = standingsEngine;
     }
 
     @Cacheable("events")
@@ -87,7 +90,8 @@ public class EventService {
         return eventRepository.findById(id);
     }
 
-    @Cacheable("currentEvents")
+    // La fecha forma parte de la clave para no servir la respuesta del día anterior
+    @Cacheable(value = "currentEvents", key = "T(java.time.LocalDate).now()")
     public List<Event> getCurrentEvents() {
         LocalDate today = LocalDate.now();
         return eventRepository.findByEndDateAfterOrEndDateEquals(today, today)
@@ -96,7 +100,7 @@ public class EventService {
                 .toList();
     }
 
-    @Cacheable("pastEvents")
+    @Cacheable(value = "pastEvents", key = "T(java.time.LocalDate).now()")
     public List<Event> getPastEvents() {
         LocalDate today = LocalDate.now();
         return eventRepository.findByEndDateBefore(today)
@@ -136,14 +140,12 @@ public class EventService {
     @CacheEvict(value = { "events", "currentEvents", "pastEvents", "eventCategories" }, allEntries = true)
     public void deleteEvent(Long id) {
         eventRepository.deleteById(id);
+        standingsEngine.evictEvent(id);
     }
 
     @Cacheable(value = "eventCategories", key = "#eventId")
     public List<EventCategory> getCategoriesByEventId(Long eventId) {
-        return eventCategoryRepository.findAll()
-                .stream()
-                .filter(ec -> ec.getEvent().getId().equals(eventId))
-                .toList();
+        return eventCategoryRepository.findAllWithEventAndCategoryByEventId(eventId);
     }
 
     // ========== MÉTODOS PARA GESTIÓN DE URLs DE IMÁGENES ==========
@@ -1,10 +1,16 @@
 package com.udea.gpx.service;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.udea.gpx.dto.ParticipantDTO;
+import com.udea.gpx.exception.UserAlreadyRegisteredException;
 import com.udea.gpx.model.Event;
 import com.udea.gpx.model.EventVehicle;
+import com.udea.gpx.model.User;
 import com.udea.gpx.repository.IEventRepository;
 import com.udea.gpx.repository.IEventVehicleRepository;
 import com.udea.gpx.util.BusinessRuleValidator;
@@ -19,6 +25,9 @@ import java.util.Optional;
 public class EventVehicleService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventVehicleService.class);
+    private static final String VEHICLE_ALREADY_REGISTERED = "El vehículo ya está registrado en este evento";
+    private static final String USER_ALREADY_REGISTERED = "Ya tienes un vehículo inscrito en este evento. "
+            + "Solo se permite una inscripción por persona.";
 
     private final IEventVehicleRepository eventVehicleRepository;
     private final IEventRepository eventRepository;
@@ -46,37 +55,61 @@ public class EventVehicleService {
         return eventVehicleRepository.findByEventId(eventId);
     }
 
+    /**
+     * Participantes de un evento, de una sola consulta. Se guardan en cache
+     * por evento hasta la siguiente inscripción o baja; los cambios de perfil
+     * o de vehículo se reflejan al vencer el TTL de la cache.
+     */
+    @Cacheable(value = "eventParticipants", key = "#eventId")
+    public List<ParticipantDTO> getParticipantsByEventId(Long eventId) {
+        return eventVehicleRepository.findParticipantsByEventId(eventId);
+    }
+
     @Transactional
+    @CacheEvict(value = "eventParticipants", key = "#eventVehicle.event.id")
     public EventVehicle createEventVehicle(EventVehicle eventVehicle) {
         logger.debug("🔍 EventVehicleService.createEventVehicle - Registrando vehículo {} en evento {}",
                 eventVehicle.getVehicleId().getId(), eventVehicle.getEvent().getId());
 
-        // Obtener el evento para validaciones
-        Event event = eventRepository.findById(eventVehicle.getEvent().getId())
+        Long vehicleId = eventVehicle.getVehicleId().getId();
+
+        // Reservar cupo: el bloqueo del evento serializa las inscripciones
+        // concurrentes hasta el commit, de modo que el conteo no queda viejo
+        Event event = eventRepository.findByIdForUpdate(eventVehicle.getEvent().getId())
                 .orElseThrow(() -> new IllegalArgumentException("El evento especificado no existe"));
 
         // Validar reglas de negocio para el registro
-        businessRuleValidator.validateVehicleRegistration(event, eventVehicle.getVehicleId().getId());
+        businessRuleValidator.validateVehicleRegistration(event, vehicleId);
 
-        // Obtener registros actuales para validar capacidad
-        List<EventVehicle> currentRegistrations = eventVehicleRepository.findByEventId(event.getId());
-        businessRuleValidator.validateEventCapacity(event, currentRegistrations);
+        // Validar capacidad con un conteo indexado, sin cargar los registros
+        businessRuleValidator.validateEventCapacity(event, eventVehicleRepository.countByEventId(event.getId()));
 
         // Verificar que el vehículo no esté ya registrado en este evento
-        boolean alreadyRegistered = currentRegistrations.stream()
-                .anyMatch(ev -> ev.getVehicleId().getId().equals(eventVehicle.getVehicleId().getId()));
+        if (eventVehicleRepository.existsByEventIdAndVehicleId(event.getId(), vehicleId)) {
+            throw new IllegalArgumentException(VEHICLE_ALREADY_REGISTERED);
+        }
 
-        if (alreadyRegistered) {
-            throw new IllegalArgumentException("El vehículo ya está registrado en este evento");
+        // Una inscripción por persona; se verifica bajo el bloqueo del evento
+        // para que dos inscripciones simultáneas del mismo dueño no pasen ambas
+        User owner = eventVehicle.getVehicleId().getUser();
+        if (owner != null && eventVehicleRepository.existsByEventIdAndUserId(event.getId(), owner.getId())) {
+            throw new UserAlreadyRegisteredException(USER_ALREADY_REGISTERED);
         }
 
-        EventVehicle savedEventVehicle = eventVehicleRepository.save(eventVehicle);
+        EventVehicle savedEventVehicle;
+        try {
+            savedEventVehicle = eventVehicleRepository.save(eventVehicle);
+        } catch (DataIntegrityViolationException e) {
+            // uk_event_vehicle_event_vehicle: inscripción duplicada en paralelo
+            throw new IllegalArgumentException(VEHICLE_ALREADY_REGISTERED, e);
+        }
         logger.info("✅ EventVehicleService.createEventVehicle - Vehículo {} registrado exitosamente en evento {}",
                 eventVehicle.getVehicleId().getId(), event.getId());
 
         return savedEventVehicle;
     }
 
+    @CacheEvict(value = "eventParticipants", allEntries = true)
     public void deleteEventVehicle(Long id) {
         eventVehicleRepository.deleteById(id);
     }
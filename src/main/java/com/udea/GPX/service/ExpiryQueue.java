@@ -0,0 +1,60 @@
+package com.udea.gpx.service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Cola de elementos ordenada por instante de expiración, para barrer solo lo
+ * que ya expiró en tandas acotadas en lugar de recorrer todo el almacén.
+ * <p>
+ * Los elementos retirados antes de expirar (logout, refresh) siguen en la cola
+ * hasta su expiración; al barrerlos, la acción de eliminación simplemente no
+ * encuentra nada que quitar.
+ */
+public class ExpiryQueue<T> {
+
+  private final PriorityBlockingQueue<Entry<T>> queue = new PriorityBlockingQueue<>(64,
+      Comparator.comparing(Entry::expiresAt));
+
+  public void add(T element, Instant expiresAt) {
+    queue.add(new Entry<>(element, expiresAt));
+  }
+
+  /**
+   * Retira hasta {@code maxEntries} elementos expirados, en orden de
+   * expiración, y aplica la acción de eliminación a cada uno
+   *
+   * @return número de elementos retirados de la cola
+   */
+  public int pollExpired(Instant now, int maxEntries, Consumer<T> remover) {
+    int polled = 0;
+    while (polled < maxEntries) {
+      Entry<T> head = queue.peek();
+      if (head == null || head.expiresAt().isAfter(now)) {
+        break;
+      }
+      // Otro hilo pudo retirar la cabeza entre peek y poll: lo que se retire
+      // ahora también está expirado o es posterior, y se procesa igual
+      Entry<T> entry = queue.poll();
+      if (entry == null) {
+        break;
+      }
+      if (entry.expiresAt().isAfter(now)) {
+        queue.add(entry);
+        break;
+      }
+      remover.accept(entry.element());
+      polled++;
+    }
+    return polled;
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  private record Entry<T>(T element, Instant expiresAt) {
+  }
+}
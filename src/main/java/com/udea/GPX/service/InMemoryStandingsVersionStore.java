@@ -0,0 +1,23 @@
+package com.udea.gpx.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link StandingsVersionStore} en memoria local, para despliegues de una sola
+ * instancia ({@code jwt.store=memory}, por defecto)
+ */
+public class InMemoryStandingsVersionStore implements StandingsVersionStore {
+
+  private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+  @Override
+  public long increment(Long eventId) {
+    return versions.merge(eventId, 1L, Long::sum);
+  }
+
+  @Override
+  public long current(Long eventId) {
+    return versions.getOrDefault(eventId, 0L);
+  }
+}
@@ -0,0 +1,190 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.service.TokenService.RefreshTokenInfo;
+import com.udea.gpx.service.TokenService.SessionInfo;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link TokenStore} en memoria local, para despliegues de una sola instancia
+ * ({@code jwt.store=memory}, por defecto)
+ */
+public class InMemoryTokenStore implements TokenStore {
+
+  // Almacenamiento en memoria para tokens - thread-safe
+  private final Map<String, RefreshTokenInfo> refreshTokens = new ConcurrentHashMap<>();
+  private final RevokedTokenStore revokedTokens = new RevokedTokenStore();
+
+  // Gestión de sesiones activas, indexadas por sesión, tokens y usuario -
+  // thread-safe
+  private final SessionRegistry sessionRegistry = new SessionRegistry();
+
+  // Gestión de access tokens por usuario (para tokens sin sesión) - thread-safe
+  private final Map<Long, Set<String>> userAccessTokens = new ConcurrentHashMap<>();
+
+  // Expiraciones pendientes, ordenadas, para el barrido incremental
+  private final ExpiryQueue<String> refreshTokenExpiries = new ExpiryQueue<>();
+  private final ExpiryQueue<SessionInfo> sessionExpiries = new ExpiryQueue<>();
+  private final ExpiryQueue<UserAccessToken> accessTokenExpiries = new ExpiryQueue<>();
+
+  // --- Refresh tokens ---
+
+  @Override
+  public void saveRefreshToken(String refreshToken, RefreshTokenInfo info) {
+    refreshTokens.put(refreshToken, info);
+    refreshTokenExpiries.add(refreshToken, info.getExpiresAt());
+  }
+
+  @Override
+  public RefreshTokenInfo findRefreshToken(String refreshToken) {
+    return refreshTokens.get(refreshToken);
+  }
+
+  @Override
+  public boolean removeRefreshToken(String refreshToken) {
+    return refreshTokens.remove(refreshToken) != null;
+  }
+
+  @Override
+  public void removeUserRefreshTokens(Long userId) {
+    refreshTokens.entrySet().removeIf(entry -> entry.getValue().getUserId().equals(userId));
+  }
+
+  @Override
+  public SweepBatch<String> removeExpiredRefreshTokens(Instant now, int maxEntries) {
+    List<String> removed = new ArrayList<>();
+    int polled = refreshTokenExpiries.pollExpired(now, maxEntries, refreshToken -> {
+      RefreshTokenInfo info = refreshTokens.get(refreshToken);
+      if (info != null && !info.getExpiresAt().isAfter(now) && refreshTokens.remove(refreshToken, info)) {
+        removed.add(refreshToken);
+      }
+    });
+    return new SweepBatch<>(removed, polled < maxEntries);
+  }
+
+  // --- Access tokens emitidos sin sesión ---
+
+  @Override
+  public void saveUserAccessToken(Long userId, String accessToken, Instant expiresAt) {
+    userAccessTokens.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(accessToken);
+    accessTokenExpiries.add(new UserAccessToken(userId, accessToken), expiresAt);
+  }
+
+  @Override
+  public List<String> removeUserAccessTokens(Long userId) {
+    Set<String> tokens = userAccessTokens.remove(userId);
+    return tokens == null ? new ArrayList<>() : new ArrayList<>(tokens);
+  }
+
+  @Override
+  public SweepBatch<String> removeExpiredAccessTokens(Instant now, int maxEntries) {
+    List<String> removed = new ArrayList<>();
+    int polled = accessTokenExpiries.pollExpired(now, maxEntries,
+        entry -> userAccessTokens.computeIfPresent(entry.userId(), (userId, tokens) -> {
+          if (tokens.remove(entry.token())) {
+            removed.add(entry.token());
+          }
+          return tokens.isEmpty() ? null : tokens;
+        }));
+    return new SweepBatch<>(removed, polled < maxEntries);
+  }
+
+  // --- Sesiones ---
+
+  @Override
+  public void saveSession(SessionInfo session, Instant expiresAt) {
+    sessionRegistry.register(session);
+    if (expiresAt != null) {
+      sessionExpiries.add(session, expiresAt);
+    }
+  }
+
+  @Override
+  public SessionInfo findSessionByAccessToken(String accessToken) {
+    return sessionRegistry.getByAccessToken(accessToken);
+  }
+
+  @Override
+  public SessionInfo findSessionByRefreshToken(String refreshToken) {
+    return sessionRegistry.getByRefreshToken(refreshToken);
+  }
+
+  @Override
+  public List<SessionInfo> findUserSessions(Long userId) {
+    return sessionRegistry.getUserSessions(userId);
+  }
+
+  @Override
+  public SessionInfo removeSession(String sessionId) {
+    return sessionRegistry.remove(sessionId);
+  }
+
+  @Override
+  public List<SessionInfo> removeUserSessions(Long userId) {
+    return sessionRegistry.removeUser(userId);
+  }
+
+  @Override
+  public SweepBatch<SessionInfo> removeExpiredSessions(Instant now, int maxEntries) {
+    List<SessionInfo> removed = new ArrayList<>();
+    int polled = sessionExpiries.pollExpired(now, maxEntries, session -> {
+      if (sessionRegistry.remove(session.getSessionId()) != null) {
+        removed.add(session);
+      }
+    });
+    return new SweepBatch<>(removed, polled < maxEntries);
+  }
+
+  // --- Revocaciones ---
+
+  @Override
+  public void revoke(String token, Instant expiresAt) {
+    revokedTokens.revoke(token, expiresAt);
+  }
+
+  @Override
+  public boolean isRevoked(String token) {
+    return revokedTokens.isRevoked(token);
+  }
+
+  @Override
+  public long revokedCount() {
+    return revokedTokens.size();
+  }
+
+  @Override
+  public long revokedMemoryBytes() {
+    return revokedTokens.estimatedMemoryBytes();
+  }
+
+  @Override
+  public void rebuildRevocationFilterIfStale() {
+    revokedTokens.rebuildFilterIfStale();
+  }
+
+  @Override
+  public double revocationFilterFalsePositiveRate() {
+    return revokedTokens.filterFalsePositiveRate();
+  }
+
+  // --- Invalidación de usuarios ---
+
+  @Override
+  public void publishUserInvalidation(Long userId) {
+    // Una sola instancia: la copia local ya se descartó al modificar el usuario
+  }
+
+  @Override
+  public void setUserInvalidationListener(Consumer<Long> listener) {
+    // Sin otros nodos que puedan invalidar copias de usuarios
+  }
+
+  private record UserAccessToken(Long userId, String token) {
+  }
+}
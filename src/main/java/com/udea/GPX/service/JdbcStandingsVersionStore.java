@@ -0,0 +1,52 @@
+package com.udea.gpx.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * {@link StandingsVersionStore} compartido entre nodos a través de la base de
+ * datos ({@code jwt.store=jdbc}).
+ * <p>
+ * Cada evento tiene una fila con un contador que se incrementa en la misma
+ * transacción que escribe los resultados: el bloqueo de la fila ordena las
+ * escrituras concurrentes de distintos nodos y los demás solo ven la nueva
+ * versión tras el commit. Leer la versión es una consulta por clave primaria.
+ * La tabla se crea al iniciar si no existe.
+ */
+public class JdbcStandingsVersionStore implements StandingsVersionStore {
+
+  private static final String INCREMENT_SQL = "UPDATE standings_version SET version = version + 1 WHERE event_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcStandingsVersionStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Crea la tabla si no existe
+   */
+  public void initialize() {
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS standings_version (event_id BIGINT PRIMARY KEY, "
+        + "version BIGINT NOT NULL)");
+  }
+
+  @Override
+  public long increment(Long eventId) {
+    if (jdbcTemplate.update(INCREMENT_SQL, eventId) == 0) {
+      // Primera escritura del evento; si otro nodo crea la fila en paralelo no se inserta
+      jdbcTemplate.update("INSERT INTO standings_version (event_id, version) VALUES (?, 0) ON CONFLICT DO NOTHING",
+          eventId);
+      jdbcTemplate.update(INCREMENT_SQL, eventId);
+    }
+    return current(eventId);
+  }
+
+  @Override
+  public long current(Long eventId) {
+    List<Long> found = jdbcTemplate.queryForList("SELECT version FROM standings_version WHERE event_id = ?",
+        Long.class, eventId);
+    return found.isEmpty() ? 0L : found.get(0);
+  }
+}
@@ -0,0 +1,380 @@
+package com.udea.gpx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.udea.gpx.service.RevokedTokenStore.TokenDigest;
+import com.udea.gpx.service.TokenService.RefreshTokenInfo;
+import com.udea.gpx.service.TokenService.SessionInfo;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * {@link TokenStore} compartido entre nodos a través de la base de datos
+ * ({@code jwt.store=jdbc}).
+ * <p>
+ * Refresh tokens, sesiones y access tokens por usuario se leen y escriben
+ * directamente en la base de datos: son operaciones de login, refresh y
+ * logout, poco frecuentes. Las eliminaciones se deciden por el conteo de filas
+ * borradas, de modo que si dos nodos compiten por el mismo refresh token o la
+ * misma sesión solo uno de ellos la consume.
+ * <p>
+ * Las revocaciones, que se consultan en cada petición, se resuelven contra una
+ * réplica local ({@link RevokedTokenStore}) sin acceder a la base de datos:
+ * las revocaciones hechas en este nodo se aplican al instante y las de otros
+ * nodos se incorporan cada {@code jwt.store-sync-interval-ms} (1 s por
+ * defecto), leyendo solo las filas nuevas. Las invalidaciones de copias de
+ * usuarios ({@link UserSnapshotCacheService}) viajan igual: cada cambio de rol
+ * o perfil deja una fila que todos los nodos aplican en la siguiente
+ * sincronización, en lugar de esperar al TTL de la cache. Las tablas se crean
+ * al iniciar si no existen; los instantes se guardan como milisegundos epoch.
+ */
+public class JdbcTokenStore implements TokenStore {
+  private static final Logger logger = LoggerFactory.getLogger(JdbcTokenStore.class);
+
+  /**
+   * Ids anteriores al último leído que se vuelven a consultar en cada
+   * sincronización, para no perder revocaciones cuyo id se asignó antes pero
+   * cuya transacción terminó después
+   */
+  static final long SYNC_LOOKBACK_IDS = 100;
+
+  /**
+   * Cada cuántas sincronizaciones se borran las revocaciones ya expiradas
+   */
+  static final int PURGE_EVERY_SYNCS = 60;
+
+  /**
+   * Antigüedad tras la cual se borran las invalidaciones de usuarios, muy
+   * por encima del retraso de sincronización entre nodos
+   */
+  static final long USER_INVALIDATION_RETENTION_MS = 10 * 60 * 1000L;
+
+  private static final String[] SCHEMA = {
+      "CREATE TABLE IF NOT EXISTS auth_refresh_token (token VARCHAR(255) PRIMARY KEY, "
+          + "user_id BIGINT NOT NULL, is_admin BOOLEAN NOT NULL, expires_at BIGINT NOT NULL)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_refresh_token_user ON auth_refresh_token (user_id)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_refresh_token_expires ON auth_refresh_token (expires_at)",
+      "CREATE TABLE IF NOT EXISTS auth_session (session_id VARCHAR(64) PRIMARY KEY, user_id BIGINT NOT NULL, "
+          + "access_token VARCHAR(2048) NOT NULL, refresh_token VARCHAR(255) NOT NULL, user_agent VARCHAR(512), "
+          + "ip_address VARCHAR(64), created_at BIGINT NOT NULL, last_activity BIGINT NOT NULL, expires_at BIGINT)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_session_user ON auth_session (user_id)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_session_access_token ON auth_session (access_token)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_session_refresh_token ON auth_session (refresh_token)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_session_expires ON auth_session (expires_at)",
+      "CREATE TABLE IF NOT EXISTS auth_user_access_token (access_token VARCHAR(2048) NOT NULL, "
+          + "user_id BIGINT NOT NULL, expires_at BIGINT NOT NULL)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_user_access_token_user ON auth_user_access_token (user_id)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_user_access_token_expires ON auth_user_access_token (expires_at)",
+      "CREATE TABLE IF NOT EXISTS auth_revoked_token (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+          + "token_digest CHAR(32) NOT NULL, expires_at BIGINT NOT NULL)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_revoked_token_expires ON auth_revoked_token (expires_at)",
+      "CREATE TABLE IF NOT EXISTS auth_user_invalidation (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+          + "user_id BIGINT NOT NULL, created_at BIGINT NOT NULL)",
+      "CREATE INDEX IF NOT EXISTS idx_auth_user_invalidation_created ON auth_user_invalidation (created_at)"
+  };
+
+  private static final String SESSION_COLUMNS = "session_id, user_id, access_token, refresh_token, user_agent, "
+      + "ip_address, created_at, last_activity";
+
+  private static final RowMapper<SessionInfo> SESSION_MAPPER = (rs, rowNum) -> new SessionInfo(
+      rs.getString("session_id"), rs.getLong("user_id"), rs.getString("access_token"),
+      rs.getString("refresh_token"), rs.getString("user_agent"), rs.getString("ip_address"),
+      Instant.ofEpochMilli(rs.getLong("created_at")), Instant.ofEpochMilli(rs.getLong("last_activity")));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final RevokedTokenStore revokedTokens = new RevokedTokenStore();
+  private long lastSyncedId;
+  private int syncsSincePurge;
+  private long lastInvalidationId;
+  // Invalidaciones ya aplicadas dentro de la ventana que se vuelve a consultar
+  private final NavigableSet<Long> appliedInvalidationIds = new TreeSet<>();
+  private volatile Consumer<Long> userInvalidationListener = userId -> {
+  };
+
+  public JdbcTokenStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Crea las tablas si no existen y carga las revocaciones vigentes
+   */
+  public void initialize() {
+    for (String statement : SCHEMA) {
+      jdbcTemplate.execute(statement);
+    }
+    syncRevocations();
+  }
+
+  // --- Refresh tokens ---
+
+  @Override
+  public void saveRefreshToken(String refreshToken, RefreshTokenInfo info) {
+    jdbcTemplate.update("INSERT INTO auth_refresh_token (token, user_id, is_admin, expires_at) VALUES (?, ?, ?, ?)",
+        refreshToken, info.getUserId(), info.isAdmin(), info.getExpiresAt().toEpochMilli());
+  }
+
+  @Override
+  public RefreshTokenInfo findRefreshToken(String refreshToken) {
+    List<RefreshTokenInfo> found = jdbcTemplate.query(
+        "SELECT user_id, is_admin, expires_at FROM auth_refresh_token WHERE token = ?",
+        (rs, rowNum) -> new RefreshTokenInfo(rs.getLong("user_id"), rs.getBoolean("is_admin"),
+            Instant.ofEpochMilli(rs.getLong("expires_at"))),
+        refreshToken);
+    return found.isEmpty() ? null : found.get(0);
+  }
+
+  @Override
+  public boolean removeRefreshToken(String refreshToken) {
+    return jdbcTemplate.update("DELETE FROM auth_refresh_token WHERE token = ?", refreshToken) == 1;
+  }
+
+  @Override
+  public void removeUserRefreshTokens(Long userId) {
+    jdbcTemplate.update("DELETE FROM auth_refresh_token WHERE user_id = ?", userId);
+  }
+
+  @Override
+  public SweepBatch<String> removeExpiredRefreshTokens(Instant now, int maxEntries) {
+    List<String> expired = jdbcTemplate.queryForList(
+        "SELECT token FROM auth_refresh_token WHERE expires_at <= ? ORDER BY expires_at LIMIT ?",
+        String.class, now.toEpochMilli(), maxEntries);
+    List<String> removed = new ArrayList<>();
+    for (String refreshToken : expired) {
+      if (jdbcTemplate.update("DELETE FROM auth_refresh_token WHERE token = ? AND expires_at <= ?",
+          refreshToken, now.toEpochMilli()) == 1) {
+        removed.add(refreshToken);
+      }
+    }
+    return new SweepBatch<>(removed, expired.size() < maxEntries);
+  }
+
+  // --- Access tokens emitidos sin sesión ---
+
+  @Override
+  public void saveUserAccessToken(Long userId, String accessToken, Instant expiresAt) {
+    jdbcTemplate.update("INSERT INTO auth_user_access_token (access_token, user_id, expires_at) VALUES (?, ?, ?)",
+        accessToken, userId, expiresAt.toEpochMilli());
+  }
+
+  @Override
+  public List<String> removeUserAccessTokens(Long userId) {
+    List<String> tokens = jdbcTemplate.queryForList(
+        "SELECT DISTINCT access_token FROM auth_user_access_token WHERE user_id = ?", String.class, userId);
+    // Solo se borran los leídos: un token emitido entre ambas sentencias sigue
+    // registrado para una próxima invalidación
+    List<String> removed = new ArrayList<>();
+    for (String accessToken : tokens) {
+      if (jdbcTemplate.update("DELETE FROM auth_user_access_token WHERE user_id = ? AND access_token = ?",
+          userId, accessToken) > 0) {
+        removed.add(accessToken);
+      }
+    }
+    return removed;
+  }
+
+  @Override
+  public SweepBatch<String> removeExpiredAccessTokens(Instant now, int maxEntries) {
+    List<String> expired = jdbcTemplate.queryForList(
+        "SELECT access_token FROM auth_user_access_token WHERE expires_at <= ? ORDER BY expires_at LIMIT ?",
+        String.class, now.toEpochMilli(), maxEntries);
+    List<String> removed = new ArrayList<>();
+    for (String accessToken : expired) {
+      if (jdbcTemplate.update("DELETE FROM auth_user_access_token WHERE access_token = ? AND expires_at <= ?",
+          accessToken, now.toEpochMilli()) > 0) {
+        removed.add(accessToken);
+      }
+    }
+    return new SweepBatch<>(removed, expired.size() < maxEntries);
+  }
+
+  // --- Sesiones ---
+
+  @Override
+  public void saveSession(SessionInfo session, Instant expiresAt) {
+    jdbcTemplate.update("INSERT INTO auth_session (" + SESSION_COLUMNS + ", expires_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", ps -> {
+          ps.setString(1, session.getSessionId());
+          ps.setLong(2, session.getUserId());
+          ps.setString(3, session.getAccessToken());
+          ps.setString(4, session.getRefreshToken());
+          ps.setString(5, session.getUserAgent());
+          ps.setString(6, session.getIpAddress());
+          ps.setLong(7, session.getCreatedAt().toEpochMilli());
+          ps.setLong(8, session.getLastActivity().toEpochMilli());
+          if (expiresAt != null) {
+            ps.setLong(9, expiresAt.toEpochMilli());
+          } else {
+            ps.setNull(9, Types.BIGINT);
+          }
+        });
+  }
+
+  @Override
+  public SessionInfo findSessionByAccessToken(String accessToken) {
+    return findSession("access_token", accessToken);
+  }
+
+  @Override
+  public SessionInfo findSessionByRefreshToken(String refreshToken) {
+    return findSession("refresh_token", refreshToken);
+  }
+
+  @Override
+  public List<SessionInfo> findUserSessions(Long userId) {
+    return jdbcTemplate.query("SELECT " + SESSION_COLUMNS + " FROM auth_session WHERE user_id = ?",
+        SESSION_MAPPER, userId);
+  }
+
+  @Override
+  public SessionInfo removeSession(String sessionId) {
+    SessionInfo session = findSession("session_id", sessionId);
+    if (session == null || !deleteSession(sessionId)) {
+      return null;
+    }
+    return session;
+  }
+
+  @Override
+  public List<SessionInfo> removeUserSessions(Long userId) {
+    List<SessionInfo> removed = new ArrayList<>();
+    for (SessionInfo session : findUserSessions(userId)) {
+      if (deleteSession(session.getSessionId())) {
+        removed.add(session);
+      }
+    }
+    return removed;
+  }
+
+  @Override
+  public SweepBatch<SessionInfo> removeExpiredSessions(Instant now, int maxEntries) {
+    List<SessionInfo> expired = jdbcTemplate.query("SELECT " + SESSION_COLUMNS + " FROM auth_session "
+        + "WHERE expires_at <= ? ORDER BY expires_at LIMIT ?", SESSION_MAPPER, now.toEpochMilli(), maxEntries);
+    List<SessionInfo> removed = new ArrayList<>();
+    for (SessionInfo session : expired) {
+      if (deleteSession(session.getSessionId())) {
+        removed.add(session);
+      }
+    }
+    return new SweepBatch<>(removed, expired.size() < maxEntries);
+  }
+
+  // --- Revocaciones ---
+
+  @Override
+  public void revoke(String token, Instant expiresAt) {
+    if (!expiresAt.isAfter(Instant.now())) {
+      return;
+    }
+    TokenDigest digest = TokenDigest.of(token);
+    jdbcTemplate.update("INSERT INTO auth_revoked_token (token_digest, expires_at) VALUES (?, ?)",
+        digest.toHex(), expiresAt.toEpochMilli());
+    revokedTokens.revoke(digest, expiresAt);
+  }
+
+  @Override
+  public boolean isRevoked(String token) {
+    return revokedTokens.isRevoked(token);
+  }
+
+  @Override
+  public long revokedCount() {
+    return revokedTokens.size();
+  }
+
+  @Override
+  public long revokedMemoryBytes() {
+    return revokedTokens.estimatedMemoryBytes();
+  }
+
+  @Override
+  public void rebuildRevocationFilterIfStale() {
+    revokedTokens.rebuildFilterIfStale();
+  }
+
+  @Override
+  public double revocationFilterFalsePositiveRate() {
+    return revokedTokens.filterFalsePositiveRate();
+  }
+
+  // --- Invalidación de usuarios ---
+
+  @Override
+  public void publishUserInvalidation(Long userId) {
+    jdbcTemplate.update("INSERT INTO auth_user_invalidation (user_id, created_at) VALUES (?, ?)",
+        userId, System.currentTimeMillis());
+  }
+
+  @Override
+  public void setUserInvalidationListener(Consumer<Long> listener) {
+    this.userInvalidationListener = listener;
+  }
+
+  /**
+   * Incorpora a la réplica local las revocaciones nuevas de cualquier nodo,
+   * aplica las invalidaciones de usuarios pendientes y, periódicamente, borra
+   * de las tablas las filas ya expiradas
+   */
+  @Scheduled(fixedDelayString = "${jwt.store-sync-interval-ms:1000}")
+  public synchronized void syncRevocations() {
+    long now = System.currentTimeMillis();
+    long[] maxId = { lastSyncedId };
+    jdbcTemplate.query("SELECT id, token_digest, expires_at FROM auth_revoked_token "
+        + "WHERE id > ? AND expires_at > ? ORDER BY id", rs -> {
+          maxId[0] = Math.max(maxId[0], rs.getLong("id"));
+          revokedTokens.revoke(TokenDigest.fromHex(rs.getString("token_digest")),
+              Instant.ofEpochMilli(rs.getLong("expires_at")));
+        }, Math.max(0, lastSyncedId - SYNC_LOOKBACK_IDS), now);
+    lastSyncedId = maxId[0];
+    syncUserInvalidations();
+
+    if (++syncsSincePurge >= PURGE_EVERY_SYNCS) {
+      syncsSincePurge = 0;
+      int purged = jdbcTemplate.update("DELETE FROM auth_revoked_token WHERE expires_at <= ?", now);
+      purged += jdbcTemplate.update("DELETE FROM auth_user_invalidation WHERE created_at <= ?",
+          now - USER_INVALIDATION_RETENTION_MS);
+      logger.debug("JdbcTokenStore.syncRevocations - {} filas expiradas eliminadas", purged);
+    }
+  }
+
+  /**
+   * Descarta las copias de usuarios invalidadas desde la última
+   * sincronización. La ventana repetida evita que una invalidación se
+   * aplique dos veces y fuerce recargas innecesarias
+   */
+  private void syncUserInvalidations() {
+    long from = Math.max(0, lastInvalidationId - SYNC_LOOKBACK_IDS);
+    Consumer<Long> listener = userInvalidationListener;
+    long[] maxId = { lastInvalidationId };
+    jdbcTemplate.query("SELECT id, user_id FROM auth_user_invalidation WHERE id > ? ORDER BY id", rs -> {
+      long id = rs.getLong("id");
+      maxId[0] = Math.max(maxId[0], id);
+      if (appliedInvalidationIds.add(id)) {
+        listener.accept(rs.getLong("user_id"));
+      }
+    }, from);
+    lastInvalidationId = maxId[0];
+    appliedInvalidationIds.headSet(Math.max(0, lastInvalidationId - SYNC_LOOKBACK_IDS), true).clear();
+  }
+
+  // --- MÉTODOS AUXILIARES ---
+
+  private SessionInfo findSession(String column, String value) {
+    List<SessionInfo> found = jdbcTemplate.query(
+        "SELECT " + SESSION_COLUMNS + " FROM auth_session WHERE " + column + " = ?", SESSION_MAPPER, value);
+    return found.isEmpty() ? null : found.get(0);
+  }
+
+  private boolean deleteSession(String sessionId) {
+    return jdbcTemplate.update("DELETE FROM auth_session WHERE session_id = ?", sessionId) == 1;
+  }
+}
@@ -12,10 +12,12 @@ import java.util.Optional;
 public class OAuth2Service {
 
     private final IUserRepository userRepository;
+    private final UserSnapshotCacheService userSnapshotCacheService;
 
     // Constructor injection (no @Autowired needed)
-    public OAuth2Service(IUserRepository userRepository) {
+    public OAuth2Service(IUserRepository userRepository, UserSnapshotCacheService userSnapshotCacheService) {
         this.userRepository = userRepository;
+        this.userSnapshotCacheService = userSnapshotCacheService;
     }
 
     public User processOAuth2User(OAuth2User oauth2User) {
@@ -47,7 +49,9 @@ public class OAuth2Service {
             if (user.getPicture() == null || user.getPicture().isEmpty()) {
                 user.setPicture(picture);
             }
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userSnapshotCacheService.evict(user.getId());
+            return saved;
         }
         return user;
     }
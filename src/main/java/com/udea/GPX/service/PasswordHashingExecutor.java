@@ -0,0 +1,121 @@
+package com.udea.gpx.service;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.udea.gpx.config.PasswordProperties;
+import com.udea.gpx.exception.PasswordHashingOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado para las operaciones de BCrypt, fuera de los hilos de Tomcat.
+ * <p>
+ * Usa {@code password.hashing-threads} hilos y una cola de
+ * {@code password.hashing-queue-capacity} operaciones; con la cola llena la
+ * operación se rechaza de inmediato con
+ * {@link PasswordHashingOverloadedException}, de modo que una ráfaga de logins
+ * no ocupa todos los hilos de peticiones. La petición espera su resultado como
+ * máximo {@code password.hashing-timeout-ms}. Publica la cola
+ * ({@code gpx.password.hashing.queue}), los hilos ocupados
+ * ({@code gpx.password.hashing.active}), la duración de cada operación
+ * ({@code gpx.password.hashing.duration}, por operación) y los rechazos
+ * ({@code gpx.password.hashing.rejected}).
+ */
+@Component
+public class PasswordHashingExecutor {
+
+  static final String OVERLOADED_MESSAGE = "El servicio de autenticación está saturado, intente de nuevo en unos segundos";
+
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMs;
+  private final Timer hashDuration;
+  private final Timer verifyDuration;
+  private final Counter rejected;
+
+  public PasswordHashingExecutor(PasswordProperties passwordProperties, MeterRegistry meterRegistry) {
+    int threads = Math.max(1, passwordProperties.getHashingThreads());
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, passwordProperties.getHashingQueueCapacity())),
+        new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+    this.timeoutMs = passwordProperties.getHashingTimeoutMs();
+    this.hashDuration = durationTimer(meterRegistry, "hash");
+    this.verifyDuration = durationTimer(meterRegistry, "verify");
+    this.rejected = Counter.builder("gpx.password.hashing.rejected")
+        .description("Operaciones de BCrypt rechazadas por sobrecarga")
+        .register(meterRegistry);
+    Gauge.builder("gpx.password.hashing.queue", executor, pool -> pool.getQueue().size())
+        .description("Operaciones de BCrypt en espera")
+        .register(meterRegistry);
+    Gauge.builder("gpx.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Hilos ejecutando BCrypt")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Calcula un hash en el pool y espera el resultado
+   */
+  public String hash(Supplier<String> task) {
+    return execute(hashDuration, task);
+  }
+
+  /**
+   * Verifica una contraseña en el pool y espera el resultado
+   */
+  public boolean verify(Supplier<Boolean> task) {
+    return execute(verifyDuration, task);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  // --- MÉTODOS AUXILIARES ---
+
+  private <T> T execute(Timer timer, Supplier<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timer.record(task));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE, e);
+    }
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE, e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingOverloadedException(OVERLOADED_MESSAGE, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static Timer durationTimer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder("gpx.password.hashing.duration")
+        .description("Duración de las operaciones de BCrypt")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+}
@@ -3,17 +3,24 @@ package com.udea.gpx.service;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.udea.gpx.config.PasswordProperties;
+
 /**
  * Servicio para el manejo seguro de contraseñas
+ * <p>
+ * El hasheo y la verificación con BCrypt se ejecutan en
+ * {@link PasswordHashingExecutor}, con el costo de
+ * {@code password.bcrypt-strength}.
  */
 @Service
 public class PasswordService {
 
   private final BCryptPasswordEncoder passwordEncoder;
+  private final PasswordHashingExecutor hashingExecutor;
 
-  public PasswordService() {
-    // BCrypt con strength 12 para mayor seguridad
-    this.passwordEncoder = new BCryptPasswordEncoder(12);
+  public PasswordService(PasswordProperties passwordProperties, PasswordHashingExecutor hashingExecutor) {
+    this.passwordEncoder = new BCryptPasswordEncoder(passwordProperties.getBcryptStrength());
+    this.hashingExecutor = hashingExecutor;
   }
 
   /**
@@ -23,7 +30,8 @@ public class PasswordService {
     if (rawPassword == null || rawPassword.trim().isEmpty()) {
       throw new IllegalArgumentException("La contraseña no puede estar vacía");
     }
-    return passwordEncoder.encode(rawPassword.trim());
+    String trimmedPassword = rawPassword.trim();
+    return hashingExecutor.hash(() -> passwordEncoder.encode(trimmedPassword));
   }
 
   /**
@@ -33,7 +41,16 @@ public class PasswordService {
     if (rawPassword == null || hashedPassword == null) {
       return false;
     }
-    return passwordEncoder.matches(rawPassword.trim(), hashedPassword);
+    String trimmedPassword = rawPassword.trim();
+    return hashingExecutor.verify(() -> passwordEncoder.matches(trimmedPassword, hashedPassword));
+  }
+
+  /**
+   * Indica si un hash BCrypt usa un costo menor al configurado y debe
+   * recalcularse tras un login exitoso
+   */
+  public boolean needsRehash(String hashedPassword) {
+    return isBCryptHash(hashedPassword) && passwordEncoder.upgradeEncoding(hashedPassword);
   }
 
   /**
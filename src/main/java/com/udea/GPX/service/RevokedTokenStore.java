@@ -0,0 +1,237 @@
+package com.udea.gpx.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tokens revocados hasta su expiración.
+ * <p>
+ * Cada token se guarda como los primeros 128 bits de su SHA-256 (dos
+ * {@code long}) junto con su instante de expiración, en lugar del JWT
+ * completo. Las entradas se eliminan solas al expirar el token: la cache usa
+ * una rueda de temporizadores y un planificador para desalojarlas sin
+ * barridos manuales. No se acota por tamaño, porque descartar una revocación
+ * antes de tiempo volvería a habilitar el token.
+ * <p>
+ * Delante de la cache hay un filtro de Bloom con todas las revocaciones: casi
+ * todos los tokens consultados no están revocados y el filtro lo confirma sin
+ * tocar la cache. Como el filtro no admite borrados, las revocaciones
+ * expiradas siguen ocupando bits hasta que {@link #rebuildFilterIfStale()} lo
+ * reconstruye con las vigentes. Las revocaciones y la reconstrucción se
+ * serializan entre sí, de modo que ninguna revocación queda fuera del filtro
+ * nuevo; las consultas no se bloquean.
+ */
+public class RevokedTokenStore {
+
+  /**
+   * Estimación de bytes por entrada: clave (24), valor {@code Long} (16) y
+   * nodo de la cache con expiración variable y referencias de la tabla (~80)
+   */
+  static final long ESTIMATED_BYTES_PER_ENTRY = 120;
+
+  /**
+   * Probabilidad de falso positivo objetivo del filtro
+   */
+  static final double FILTER_FPP = 0.01;
+
+  /**
+   * Capacidad mínima del filtro; al reconstruirlo se dimensiona para el doble
+   * de las revocaciones vigentes
+   */
+  static final int MIN_FILTER_CAPACITY = 1_024;
+
+  private static final Funnel<TokenDigest> DIGEST_FUNNEL = (digest, sink) -> sink
+      .putLong(digest.high())
+      .putLong(digest.low());
+
+  private final Cache<TokenDigest, Long> revoked;
+  private final Object filterLock = new Object();
+  private volatile BloomFilter<TokenDigest> filter;
+  private volatile int filterCapacity;
+  private long filterInsertions;
+
+  // Resultados del filtro desde la última reconstrucción
+  private final LongAdder filterNegatives = new LongAdder();
+  private final LongAdder filterFalsePositives = new LongAdder();
+
+  public RevokedTokenStore() {
+    this(Ticker.systemTicker(), Scheduler.systemScheduler());
+  }
+
+  RevokedTokenStore(Ticker ticker, Scheduler scheduler) {
+    this.revoked = Caffeine.newBuilder()
+        .ticker(ticker)
+        .scheduler(scheduler)
+        .expireAfter(new ExpireAtTokenExpiration())
+        .build();
+    rebuildFilter();
+  }
+
+  /**
+   * Revoca un token hasta el instante indicado
+   */
+  public void revoke(String token, Instant expiresAt) {
+    revoke(TokenDigest.of(token), expiresAt);
+  }
+
+  /**
+   * Revoca un token conocido solo por su digest (revocaciones replicadas
+   * desde otro nodo)
+   */
+  void revoke(TokenDigest digest, Instant expiresAt) {
+    if (expiresAt.isAfter(Instant.now())) {
+      synchronized (filterLock) {
+        filter.put(digest);
+        filterInsertions++;
+        revoked.put(digest, expiresAt.toEpochMilli());
+      }
+    }
+  }
+
+  public boolean isRevoked(String token) {
+    return isRevoked(TokenDigest.of(token));
+  }
+
+  boolean isRevoked(TokenDigest digest) {
+    if (!filter.mightContain(digest)) {
+      filterNegatives.increment();
+      return false;
+    }
+    boolean isRevoked = revoked.getIfPresent(digest) != null;
+    if (!isRevoked) {
+      filterFalsePositives.increment();
+    }
+    return isRevoked;
+  }
+
+  /**
+   * Reconstruye el filtro si tiene más revocaciones que su capacidad o si la
+   * mitad de las que contiene ya expiraron
+   *
+   * @return {@code true} si se reconstruyó
+   */
+  public boolean rebuildFilterIfStale() {
+    synchronized (filterLock) {
+      revoked.cleanUp();
+      boolean overCapacity = filterInsertions > filterCapacity;
+      boolean mostlyExpired = filterInsertions > MIN_FILTER_CAPACITY / 2 && size() < filterInsertions / 2;
+      if (!overCapacity && !mostlyExpired) {
+        return false;
+      }
+      rebuildFilter();
+      return true;
+    }
+  }
+
+  /**
+   * Proporción de tokens no revocados que el filtro no pudo descartar, desde
+   * la última reconstrucción
+   */
+  public double filterFalsePositiveRate() {
+    long falsePositives = filterFalsePositives.sum();
+    long notRevoked = falsePositives + filterNegatives.sum();
+    return notRevoked == 0 ? 0.0 : (double) falsePositives / notRevoked;
+  }
+
+  /**
+   * Número de tokens revocados aún vigentes
+   */
+  public long size() {
+    return revoked.estimatedSize();
+  }
+
+  /**
+   * Memoria estimada ocupada por las revocaciones, en bytes
+   */
+  public long estimatedMemoryBytes() {
+    return size() * ESTIMATED_BYTES_PER_ENTRY + filterBits(filterCapacity) / Byte.SIZE;
+  }
+
+  /**
+   * Aplica de inmediato los desalojos pendientes
+   */
+  public void cleanUp() {
+    revoked.cleanUp();
+  }
+
+  private void rebuildFilter() {
+    synchronized (filterLock) {
+      revoked.cleanUp();
+      int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_FILTER_CAPACITY, 2 * size()));
+      BloomFilter<TokenDigest> rebuilt = BloomFilter.create(DIGEST_FUNNEL, capacity, FILTER_FPP);
+      revoked.asMap().keySet().forEach(rebuilt::put);
+      filter = rebuilt;
+      filterCapacity = capacity;
+      filterInsertions = size();
+      filterNegatives.reset();
+      filterFalsePositives.reset();
+    }
+  }
+
+  /**
+   * Bits de un filtro de Bloom óptimo para la capacidad y {@link #FILTER_FPP}
+   */
+  private static long filterBits(int capacity) {
+    return (long) (-capacity * Math.log(FILTER_FPP) / (Math.log(2) * Math.log(2)));
+  }
+
+  /**
+   * Primeros 128 bits del SHA-256 de un token: tamaño fijo e independiente
+   * de la longitud del JWT
+   */
+  record TokenDigest(long high, long low) {
+
+    static TokenDigest of(String token) {
+      try {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong());
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 no disponible", e);
+      }
+    }
+
+    static TokenDigest fromHex(String hex) {
+      return new TokenDigest(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+          Long.parseUnsignedLong(hex.substring(16, 32), 16));
+    }
+
+    /**
+     * Representación de 32 caracteres hexadecimales, para persistirlo
+     */
+    String toHex() {
+      return String.format("%016x%016x", high, low);
+    }
+  }
+
+  private static final class ExpireAtTokenExpiration implements Expiry<TokenDigest, Long> {
+    @Override
+    public long expireAfterCreate(TokenDigest key, Long expiresAtMillis, long currentTime) {
+      long remainingMillis = expiresAtMillis - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+    }
+
+    @Override
+    public long expireAfterUpdate(TokenDigest key, Long expiresAtMillis, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, expiresAtMillis, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(TokenDigest key, Long expiresAtMillis, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.service.TokenService.SessionInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Sesiones activas con índices directos por sessionId, access token, refresh
+ * token y usuario.
+ * <p>
+ * Todas las operaciones son de costo constante (o proporcional a las sesiones
+ * de un usuario), sin recorrer las sesiones de otros usuarios. Las altas y
+ * bajas se hacen dentro de {@code compute} sobre la entrada del usuario, de
+ * modo que los cuatro índices cambian juntos y una sesión solo puede ser
+ * eliminada por un hilo aunque se invalide en paralelo desde varios sitios.
+ */
+public class SessionRegistry {
+
+  private final Map<String, SessionInfo> bySessionId = new ConcurrentHashMap<>();
+  private final Map<String, SessionInfo> byAccessToken = new ConcurrentHashMap<>();
+  private final Map<String, SessionInfo> byRefreshToken = new ConcurrentHashMap<>();
+  private final Map<Long, Set<SessionInfo>> byUser = new ConcurrentHashMap<>();
+
+  public void register(SessionInfo session) {
+    byUser.compute(session.getUserId(), (userId, sessions) -> {
+      Set<SessionInfo> userSessions = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+      userSessions.add(session);
+      bySessionId.put(session.getSessionId(), session);
+      byAccessToken.put(session.getAccessToken(), session);
+      byRefreshToken.put(session.getRefreshToken(), session);
+      return userSessions;
+    });
+  }
+
+  public SessionInfo getBySessionId(String sessionId) {
+    return bySessionId.get(sessionId);
+  }
+
+  public SessionInfo getByAccessToken(String accessToken) {
+    return byAccessToken.get(accessToken);
+  }
+
+  public SessionInfo getByRefreshToken(String refreshToken) {
+    return byRefreshToken.get(refreshToken);
+  }
+
+  /**
+   * Sesiones de un usuario (copia)
+   */
+  public List<SessionInfo> getUserSessions(Long userId) {
+    Set<SessionInfo> sessions = byUser.get(userId);
+    return sessions == null ? new ArrayList<>() : new ArrayList<>(sessions);
+  }
+
+  /**
+   * Elimina una sesión de todos los índices
+   *
+   * @return la sesión eliminada, o {@code null} si no existía o ya la
+   *         eliminó otro hilo
+   */
+  public SessionInfo remove(String sessionId) {
+    SessionInfo session = bySessionId.get(sessionId);
+    if (session == null) {
+      return null;
+    }
+    SessionInfo[] removed = new SessionInfo[1];
+    byUser.computeIfPresent(session.getUserId(), (userId, sessions) -> {
+      if (bySessionId.remove(sessionId, session)) {
+        byAccessToken.remove(session.getAccessToken(), session);
+        byRefreshToken.remove(session.getRefreshToken(), session);
+        sessions.remove(session);
+        removed[0] = session;
+      }
+      return sessions.isEmpty() ? null : sessions;
+    });
+    return removed[0];
+  }
+
+  /**
+   * Elimina todas las sesiones de un usuario
+   *
+   * @return las sesiones eliminadas
+   */
+  public List<SessionInfo> removeUser(Long userId) {
+    List<SessionInfo> removed = new ArrayList<>();
+    byUser.computeIfPresent(userId, (id, sessions) -> {
+      for (SessionInfo session : sessions) {
+        bySessionId.remove(session.getSessionId(), session);
+        byAccessToken.remove(session.getAccessToken(), session);
+        byRefreshToken.remove(session.getRefreshToken(), session);
+        removed.add(session);
+      }
+      return null;
+    });
+    return removed;
+  }
+
+  /**
+   * Elimina las sesiones que cumplan la condición
+   *
+   * @return las sesiones eliminadas
+   */
+  public List<SessionInfo> removeIf(Predicate<SessionInfo> condition) {
+    List<SessionInfo> removed = new ArrayList<>();
+    for (SessionInfo session : bySessionId.values()) {
+      if (condition.test(session) && remove(session.getSessionId()) != null) {
+        removed.add(session);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Número de sesiones activas
+   */
+  public int size() {
+    return bySessionId.size();
+  }
+}
@@ -0,0 +1,232 @@
+package com.udea.gpx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udea.gpx.dto.CreateStageResultDTO;
+import com.udea.gpx.dto.StageResultBatchResultDTO;
+import com.udea.gpx.dto.StageResultBatchResultDTO.RowOutcomeDTO;
+import com.udea.gpx.model.Stage;
+import com.udea.gpx.model.StageResult;
+import com.udea.gpx.model.Vehicle;
+import com.udea.gpx.repository.IStageRepository;
+import com.udea.gpx.repository.IStageResultRepository;
+import com.udea.gpx.repository.IVehicleRepository;
+import com.udea.gpx.util.BusinessRuleValidator;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ingesta masiva de resultados de etapa exportados por el cronometraje.
+ * <p>
+ * Etapas, vehículos y resultados existentes se consultan una sola vez por lote
+ * en lugar de tres consultas por fila; cada fila se valida con las mismas
+ * reglas que {@link StageResultService#createResult} y las válidas se insertan
+ * con JDBC batch. Las filas inválidas no detienen el lote: se informan en la
+ * respuesta con su índice y motivo.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StageResultBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StageResultBatchService.class);
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private final IStageResultRepository stageResultRepository;
+    private final IStageRepository stageRepository;
+    private final IVehicleRepository vehicleRepository;
+    private final BusinessRuleValidator businessRuleValidator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final StageResultService stageResultService;
+    private final StandingsEngine standingsEngine;
+
+    public StageResultBatchService(
+            IStageResultRepository stageResultRepository,
+            IStageRepository stageRepository,
+            IVehicleRepository vehicleRepository,
+            BusinessRuleValidator businessRuleValidator,
+            Validator validator,
+            ObjectMapper objectMapper,
+            StageResultService stageResultService,
+            StandingsEngine standingsEngine) {
+        this.stageResultRepository = stageResultRepository;
+        this.stageRepository = stageRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.businessRuleValidator = businessRuleValidator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.stageResultService = stageResultService;
+        this.standingsEngine = standingsEngine;
+    }
+
+    /**
+     * Ingesta de un lote recibido como arreglo JSON
+     */
+    @Transactional
+    public StageResultBatchResultDTO createResults(List<CreateStageResultDTO> rows) {
+        List<RowOutcomeDTO> outcomes = new ArrayList<>(Collections.nCopies(rows.size(), null));
+        return ingest(rows, outcomes);
+    }
+
+    /**
+     * Ingesta de un lote recibido como NDJSON (un resultado por línea). Las
+     * líneas vacías se ignoran; las que no son JSON válido se rechazan.
+     */
+    @Transactional
+    public StageResultBatchResultDTO createResultsFromNdjson(InputStream body) throws IOException {
+        List<CreateStageResultDTO> rows = new ArrayList<>();
+        List<RowOutcomeDTO> outcomes = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                checkBatchSize(rows.size() + 1);
+                try {
+                    rows.add(objectMapper.readValue(line, CreateStageResultDTO.class));
+                    outcomes.add(null);
+                } catch (JsonProcessingException e) {
+                    rows.add(null);
+                    outcomes.add(RowOutcomeDTO.rejected(rows.size() - 1, "JSON inválido: " + e.getOriginalMessage()));
+                }
+            }
+        }
+        return ingest(rows, outcomes);
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private StageResultBatchResultDTO ingest(List<CreateStageResultDTO> rows, List<RowOutcomeDTO> outcomes) {
+        checkBatchSize(rows.size());
+        long start = System.nanoTime();
+
+        List<CreateStageResultDTO> parsed = rows.stream().filter(Objects::nonNull).toList();
+        Set<Long> stageIds = parsed.stream().map(CreateStageResultDTO::getStageId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> vehicleIds = parsed.stream().map(CreateStageResultDTO::getVehicleId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        // Consultas previas: una por tipo de dato en lugar de tres por fila
+        Map<Long, Stage> stagesById = stageIds.isEmpty() ? Map.of()
+                : stageRepository.findAllWithEventByIdIn(stageIds).stream()
+                        .collect(Collectors.toMap(Stage::getId, Function.identity()));
+        Set<Long> existingVehicleIds = vehicleIds.isEmpty() ? Set.of()
+                : new HashSet<>(vehicleRepository.findExistingIds(vehicleIds));
+        Set<String> takenPairs = new HashSet<>();
+        if (!stageIds.isEmpty()) {
+            for (Object[] pair : stageResultRepository.findVehicleStagePairsByStageIdIn(stageIds)) {
+                takenPairs.add(pairKey((Long) pair[0], (Long) pair[1]));
+            }
+        }
+
+        List<StageResult> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            CreateStageResultDTO row = rows.get(i);
+            if (outcomes.get(i) != null) {
+                continue; // Ya rechazada al leer
+            }
+            try {
+                StageResult result = buildValidatedResult(row, stagesById, existingVehicleIds, takenPairs);
+                accepted.add(result);
+                acceptedIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                outcomes.set(i, RowOutcomeDTO.rejected(i, e.getMessage()));
+            }
+        }
+
+        List<Long> ids = stageResultRepository.batchInsertResults(accepted);
+        for (int i = 0; i < acceptedIndexes.size(); i++) {
+            Long id = i < ids.size() ? ids.get(i) : null;
+            outcomes.set(acceptedIndexes.get(i), RowOutcomeDTO.created(acceptedIndexes.get(i), id));
+        }
+
+        // Tiempos transcurridos y clasificación de los eventos afectados
+        Set<Long> eventIds = accepted.stream().map(r -> r.getStage().getEvent().getId())
+                .collect(Collectors.toCollection(TreeSet::new));
+        for (Long eventId : eventIds) {
+            stageResultService.recalcularTiemposTranscurridos(eventId);
+            standingsEngine.evictEvent(eventId);
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        StageResultBatchResultDTO response = new StageResultBatchResultDTO(outcomes, durationMillis);
+        logger.info("Ingesta masiva de resultados: {} recibidos, {} creados, {} rechazados en {} ms",
+                response.getTotal(), response.getCreated(), response.getRejected(), durationMillis);
+        return response;
+    }
+
+    /**
+     * Aplica a una fila las mismas validaciones que la creación individual
+     */
+    private StageResult buildValidatedResult(CreateStageResultDTO row, Map<Long, Stage> stagesById,
+            Set<Long> existingVehicleIds, Set<String> takenPairs) {
+        Set<ConstraintViolation<CreateStageResultDTO>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (row.getLatitude() == null || row.getLongitude() == null) {
+            throw new IllegalArgumentException("La latitud y la longitud son obligatorias");
+        }
+
+        Stage stage = stagesById.get(row.getStageId());
+        if (stage == null) {
+            throw new IllegalArgumentException("Etapa no encontrada con ID: " + row.getStageId());
+        }
+        if (!existingVehicleIds.contains(row.getVehicleId())) {
+            throw new IllegalArgumentException("Vehículo no encontrado con ID: " + row.getVehicleId());
+        }
+
+        businessRuleValidator.validateStageResultTimestamp(row.getTimestamp(), stage.getEvent());
+        businessRuleValidator.validateGpsCoordinates(row.getLatitude(), row.getLongitude());
+
+        // Registrar el par también cubre duplicados dentro del mismo lote
+        if (!takenPairs.add(pairKey(row.getVehicleId(), row.getStageId()))) {
+            throw new IllegalArgumentException(
+                    "Ya existe un resultado registrado para este participante en esta etapa.");
+        }
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(row.getVehicleId());
+
+        StageResult result = new StageResult();
+        result.setStage(stage);
+        result.setVehicle(vehicle);
+        result.setTimestamp(row.getTimestamp());
+        result.setLatitude(row.getLatitude());
+        result.setLongitude(row.getLongitude());
+        return result;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "El lote excede el máximo de " + MAX_BATCH_SIZE + " resultados por solicitud");
+        }
+    }
+
+    private static String pairKey(Long vehicleId, Long stageId) {
+        return vehicleId + ":" + stageId;
+    }
+}
@@ -0,0 +1,37 @@
+package com.udea.gpx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.udea.gpx.repository.IStageResultRepository;
+
+/**
+ * Completa al arrancar el evento y el orden de etapa copiados en
+ * stage_result para las filas creadas antes de existir esas columnas.
+ * <p>
+ * Las consultas de clasificación filtran por {@code stage_result.event_id},
+ * de modo que una fila sin copiar quedaría fuera de ellas. La actualización
+ * solo toca filas con alguna de las columnas en NULL, por lo que después de
+ * la primera ejecución no modifica nada.
+ */
+@Component
+public class StageResultColumnsBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(StageResultColumnsBackfill.class);
+
+    private final IStageResultRepository stageResultRepository;
+
+    public StageResultColumnsBackfill(IStageResultRepository stageResultRepository) {
+        this.stageResultRepository = stageResultRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = stageResultRepository.backfillStageColumns();
+        if (updated > 0) {
+            logger.info("Evento y orden de etapa completados en {} resultados", updated);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.udea.gpx.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udea.gpx.dto.StageResultExportRowDTO;
+import com.udea.gpx.repository.IStageResultRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Exportación en streaming de los resultados de un evento.
+ * <p>
+ * Las filas se leen con un cursor de la base de datos y se escriben en la
+ * respuesta a medida que llegan, por lo que la memoria usada no depende del
+ * tamaño del evento.
+ */
+@Service
+public class StageResultExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final String CSV_HEADER = "id,stageId,stageOrder,stageName,neutralized,vehicleId,vehicleName,"
+            + "categoryId,categoryName,timestamp,latitude,longitude,elapsedTimeSeconds,"
+            + "penaltyWaypointSeconds,penaltySpeedSeconds,discountClaimSeconds";
+
+    /**
+     * Formatos de exportación soportados
+     */
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        ExportFormat(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return MediaType.parseMediaType(mediaType);
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat from(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportación no soportado: " + value);
+            }
+        }
+    }
+
+    private final IStageResultRepository stageResultRepository;
+    private final ObjectMapper objectMapper;
+
+    public StageResultExportService(IStageResultRepository stageResultRepository, ObjectMapper objectMapper) {
+        this.stageResultRepository = stageResultRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe los resultados del evento en {@code out}. Abre su propia
+     * transacción de solo lectura porque se ejecuta en el hilo asíncrono de la
+     * respuesta.
+     *
+     * @return número de filas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long export(Long eventId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<StageResultExportRowDTO> rows = stageResultRepository.streamExportRowsByEventId(eventId)) {
+            Iterator<StageResultExportRowDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                StageResultExportRowDTO row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private void writeCsvRow(Writer writer, StageResultExportRowDTO row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getStageId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getStageOrder()));
+        writer.write(',');
+        writer.write(csvText(row.getStageName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.isNeutralized()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getVehicleId()));
+        writer.write(',');
+        writer.write(csvText(row.getVehicleName()));
+        writer.write(',');
+        writer.write(row.getCategoryId() != null ? String.valueOf(row.getCategoryId()) : "");
+        writer.write(',');
+        writer.write(csvText(row.getCategoryName()));
+        writer.write(',');
+        writer.write(row.getTimestamp() != null ? row.getTimestamp().toString() : "");
+        writer.write(',');
+        writer.write(String.valueOf(row.getLatitude()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getLongitude()));
+        writer.write(',');
+        writer.write(row.getElapsedTimeSeconds() != null ? String.valueOf(row.getElapsedTimeSeconds()) : "");
+        writer.write(',');
+        writer.write(String.valueOf(row.getPenaltyWaypointSeconds()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getPenaltySpeedSeconds()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getDiscountClaimSeconds()));
+    }
+
+    /**
+     * Escapa un texto según RFC 4180 y neutraliza fórmulas al abrir en hojas de
+     * cálculo
+     */
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String text = value;
+        if ("=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -1,10 +1,17 @@
 package com.udea.gpx.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.udea.gpx.dto.ClasificacionCompletaDTO;
+import com.udea.gpx.dto.ClasificacionRowDTO;
+import com.udea.gpx.dto.ClasificacionUpdateDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
 import com.udea.gpx.dto.CreateStageResultDTO;
+import com.udea.gpx.dto.ElapsedTimeRecomputeDTO;
+import com.udea.gpx.dto.ElapsedTimeRowDTO;
 import com.udea.gpx.dto.UpdateStageResultDTO;
 import com.udea.gpx.model.*;
 import com.udea.gpx.repository.*;
@@ -19,6 +26,8 @@ import java.util.ArrayList;
 @Transactional(readOnly = true)
 public class StageResultService {
 
+    private static final Logger logger = LoggerFactory.getLogger(StageResultService.class);
+
     // Constants
     private static final String RESULT_NOT_FOUND_MSG = "Resultado no encontrado";
 
@@ -26,17 +35,23 @@ public class StageResultService {
     private final IStageRepository stageRepository;
     private final IVehicleRepository vehicleRepository;
     private final BusinessRuleValidator businessRuleValidator;
+    private final StandingsEngine standingsEngine;
+    private final ClassificationCacheService classificationCacheService;
 
     // Constructor injection (no @Autowired needed)
     public StageResultService(
             IStageResultRepository stageResultRepository,
             IStageRepository stageRepository,
             IVehicleRepository vehicleRepository,
-            BusinessRuleValidator businessRuleValidator) {
+            BusinessRuleValidator businessRuleValidator,
+            StandingsEngine standingsEngine,
+            ClassificationCacheService classificationCacheService) {
         this.stageResultRepository = stageResultRepository;
         this.stageRepository = stageRepository;
         this.vehicleRepository = vehicleRepository;
         this.businessRuleValidator = businessRuleValidator;
+        this.standingsEngine = standingsEngine;
+        this.classificationCacheService = classificationCacheService;
     }
 
     // Configuración de memoria optimizada
@@ -44,7 +59,9 @@ public class StageResultService {
 
     @Transactional
     public StageResult saveResult(StageResult result) {
-        return stageResultRepository.save(result);
+        StageResult saved = stageResultRepository.save(result);
+        standingsEngine.onResultSaved(saved);
+        return saved;
     }
 
     @Transactional
@@ -81,7 +98,14 @@ public class StageResultService {
         result.setPenaltySpeed(Duration.ZERO);
         result.setDiscountClaim(Duration.ZERO);
 
-        return stageResultRepository.save(result);
+        // Mantener tiempos transcurridos del resultado y su anterior sin recalcular el evento
+        List<StageResult> neighbours = recalcularTiemposVecinos(result);
+
+        StageResult saved = stageResultRepository.save(result);
+        List<StageResult> changed = new ArrayList<>(List.of(saved));
+        neighbours.forEach(neighbour -> changed.add(stageResultRepository.save(neighbour)));
+        standingsEngine.onResultsSaved(changed);
+        return saved;
     }
 
     @Transactional
@@ -92,7 +116,9 @@ public class StageResultService {
                     result.setLatitude(updatedResult.getLatitude());
                     result.setLongitude(updatedResult.getLongitude());
                     result.setElapsedTimeSeconds(updatedResult.getElapsedTimeSeconds());
-                    return stageResultRepository.save(result);
+                    StageResult saved = stageResultRepository.save(result);
+                    standingsEngine.onResultSaved(saved);
+                    return saved;
                 }).orElseThrow(() -> new RuntimeException(RESULT_NOT_FOUND_MSG));
     }
 
@@ -119,14 +145,81 @@ public class StageResultService {
                 }
             }
 
+            Long oldVehicleId = result.getVehicle().getId();
+            Long oldEventId = result.getStage().getEvent().getId();
+            int oldOrder = result.getStage().getOrderNumber();
+
             updateStageIfDifferent(result, updateDTO);
             updateVehicleIfDifferent(result, updateDTO);
             validateBusinessRules(result, updateDTO);
             updateBasicFields(result, updateDTO);
-            return stageResultRepository.save(result);
+
+            // Mantener tiempos transcurridos solo de los resultados vecinos del vehículo
+            List<StageResult> neighbours = new ArrayList<>(recalcularTiemposVecinos(result));
+            boolean moved = !oldVehicleId.equals(result.getVehicle().getId())
+                    || !oldEventId.equals(result.getStage().getEvent().getId())
+                    || oldOrder != result.getStage().getOrderNumber();
+            if (moved) {
+                recalcularPosicionAnterior(oldVehicleId, oldEventId, oldOrder)
+                        .filter(previous -> previous != result && !neighbours.contains(previous))
+                        .ifPresent(neighbours::add);
+            }
+
+            StageResult saved = stageResultRepository.save(result);
+            List<StageResult> changed = new ArrayList<>(List.of(saved));
+            neighbours.forEach(neighbour -> changed.add(stageResultRepository.save(neighbour)));
+            standingsEngine.onResultsSaved(changed);
+            return saved;
         }).orElseThrow(() -> new RuntimeException(RESULT_NOT_FOUND_MSG));
     }
 
+    /**
+     * Recalcula el tiempo transcurrido del resultado (hasta la siguiente etapa
+     * del vehículo) y el del resultado anterior (hasta este). Devuelve el
+     * resultado anterior si cambió, para guardarlo junto con el actual.
+     */
+    private List<StageResult> recalcularTiemposVecinos(StageResult result) {
+        Long vehicleId = result.getVehicle().getId();
+        Long eventId = result.getStage().getEvent().getId();
+        int order = result.getStage().getOrderNumber();
+
+        stageResultRepository.findNextResultForVehicle(vehicleId, eventId, order)
+                .ifPresent(next -> aplicarTiempoTranscurrido(result, next));
+
+        return stageResultRepository.findPreviousResultForVehicle(vehicleId, eventId, order)
+                .filter(previous -> !previous.equals(result) && aplicarTiempoTranscurrido(previous, result))
+                .map(List::of)
+                .orElse(List.of());
+    }
+
+    /**
+     * Tras mover un resultado a otra etapa o vehículo, el resultado anterior de
+     * la posición original pasa a medirse hasta el siguiente de esa posición
+     */
+    private Optional<StageResult> recalcularPosicionAnterior(Long vehicleId, Long eventId, int order) {
+        return stageResultRepository.findPreviousResultForVehicle(vehicleId, eventId, order)
+                .filter(previous -> stageResultRepository
+                        .findNextResultForVehicle(vehicleId, eventId, previous.getStage().getOrderNumber())
+                        .map(next -> aplicarTiempoTranscurrido(previous, next))
+                        .orElse(false));
+    }
+
+    /**
+     * Aplica la misma regla que el recálculo masivo: las etapas neutralizadas
+     * conservan su tiempo. Devuelve true si el valor cambió.
+     */
+    private boolean aplicarTiempoTranscurrido(StageResult current, StageResult next) {
+        if (current.getStage().isNeutralized() || current.getTimestamp() == null || next.getTimestamp() == null) {
+            return false;
+        }
+        int elapsedSeconds = (int) Duration.between(current.getTimestamp(), next.getTimestamp()).getSeconds();
+        if (Integer.valueOf(elapsedSeconds).equals(current.getElapsedTimeSeconds())) {
+            return false;
+        }
+        current.setElapsedTimeSeconds(elapsedSeconds);
+        return true;
+    }
+
     /**
      * Actualiza la etapa del resultado si es diferente
      */
@@ -180,88 +273,158 @@ public class StageResultService {
 
     @Transactional
     public void deleteResult(Long id) {
+        Long eventId = stageResultRepository.findEventIdById(id).orElse(null);
         stageResultRepository.deleteById(id);
+        standingsEngine.onResultDeleted(id, eventId);
     }
 
     /**
-     * Método optimizado para actualizar tiempos transcurridos por chunks
+     * Recalcula los tiempos transcurridos de un evento (modo masivo)
      */
     @Transactional
     public void updateElapsedTimesForEvent(Long eventId) {
-        // OPTIMIZADO: Usar consulta específica en lugar de findAll().stream().filter()
-        List<StageResult> allResults = stageResultRepository
-                .findByEventIdWithTimestampOrderedByVehicleAndStage(eventId);
-
-        // Procesar por chunks para optimizar memoria
-        processResultsInChunks(allResults, CHUNK_SIZE);
+        recalcularTiemposTranscurridos(eventId);
     }
 
     /**
-     * Procesa resultados en chunks para evitar problemas de memoria
+     * Recálculo masivo de tiempos transcurridos: lee solo las columnas
+     * necesarias, calcula los pares consecutivos por vehículo y escribe en lotes
+     * JDBC únicamente las filas cuyo valor cambia. Las etapas neutralizadas
+     * conservan su tiempo.
      */
-    private void processResultsInChunks(List<StageResult> allResults, int chunkSize) {
-        Map<Long, List<StageResult>> resultsByVehicle = allResults.stream()
-                .collect(Collectors.groupingBy(r -> r.getVehicle().getId()));
-
-        // Dividir vehículos en chunks
-        List<List<Long>> vehicleChunks = partitionList(new ArrayList<>(resultsByVehicle.keySet()), chunkSize);
+    @Transactional
+    public ElapsedTimeRecomputeDTO recalcularTiemposTranscurridos(Long eventId) {
+        long start = System.nanoTime();
 
-        for (List<Long> vehicleChunk : vehicleChunks) {
-            processVehicleChunk(vehicleChunk, resultsByVehicle);
+        List<ElapsedTimeRowDTO> rows = stageResultRepository.findElapsedTimeRowsByEventId(eventId);
+        Map<Long, Integer> changes = calcularCambiosTiempoTranscurrido(rows);
+        int updated = stageResultRepository.batchUpdateElapsedTimes(changes);
 
-            // Forzar liberación de memoria después de cada chunk
-            // System.gc() removed as it's not recommended to force garbage collection
+        if (updated > 0) {
+            // Las filas se escribieron sin entidades; la clasificación se recarga completa
+            standingsEngine.evictEvent(eventId);
         }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.debug("Tiempos transcurridos del evento {} recalculados: {} filas revisadas, {} actualizadas en {} ms",
+                eventId, rows.size(), updated, durationMillis);
+        return new ElapsedTimeRecomputeDTO(eventId, rows.size(), updated, durationMillis);
     }
 
     /**
-     * Procesa un chunk de vehículos
+     * Calcula los nuevos tiempos transcurridos que difieren del valor guardado
      */
-    private void processVehicleChunk(List<Long> vehicleIds, Map<Long, List<StageResult>> resultsByVehicle) {
-        for (Long vehicleId : vehicleIds) {
-            List<StageResult> vehicleResults = resultsByVehicle.get(vehicleId);
+    private Map<Long, Integer> calcularCambiosTiempoTranscurrido(List<ElapsedTimeRowDTO> rows) {
+        Map<Long, Integer> changes = new LinkedHashMap<>();
 
-            // Los resultados ya vienen ordenados por vehicle.id y stage.orderNumber
-            for (int i = 0; i < vehicleResults.size() - 1; i++) {
-                StageResult currentResult = vehicleResults.get(i);
-                StageResult nextResult = vehicleResults.get(i + 1);
+        // Las filas ya vienen ordenadas por vehículo y orden de etapa
+        for (int i = 0; i < rows.size() - 1; i++) {
+            ElapsedTimeRowDTO current = rows.get(i);
+            ElapsedTimeRowDTO next = rows.get(i + 1);
 
-                if (!currentResult.getStage().isNeutralized() &&
-                        currentResult.getTimestamp() != null &&
-                        nextResult.getTimestamp() != null) {
-
-                    int elapsedSeconds = (int) Duration.between(
-                            currentResult.getTimestamp(),
-                            nextResult.getTimestamp()).getSeconds();
+            if (!current.getVehicleId().equals(next.getVehicleId()) || current.isNeutralized()) {
+                continue;
+            }
 
-                    currentResult.setElapsedTimeSeconds(elapsedSeconds);
-                    stageResultRepository.save(currentResult);
-                }
+            int elapsedSeconds = (int) Duration.between(current.getTimestamp(), next.getTimestamp()).getSeconds();
+            if (!Integer.valueOf(elapsedSeconds).equals(current.getElapsedTimeSeconds())) {
+                changes.put(current.getResultId(), elapsedSeconds);
             }
         }
+        return changes;
     }
 
     /**
-     * Clasificación optimizada por categoría con procesamiento paralelo
+     * Clasificación por categoría servida desde la clasificación en memoria del
+     * evento
      */
     public List<ClasificacionCompletaDTO> getClasificacionPorCategoria(Long eventId, Long categoryId) {
-        List<StageResult> allResults = stageResultRepository.findByEventIdAndCategoryId(eventId, categoryId);
-        return buildClasificacionOptimizada(allResults);
+        return getClasificacionVersionada(eventId, categoryId, null).getRows();
     }
 
     /**
-     * Clasificación optimizada por etapa con chunks
+     * Clasificación por etapa servida desde la clasificación en memoria del evento
      */
     public List<ClasificacionCompletaDTO> getClasificacionPorStage(Long eventId, Integer stageNumber) {
-        List<StageResult> allResults = stageResultRepository.findByEventIdAndStageNumber(eventId, stageNumber);
-        return buildClasificacionOptimizadaForStage(allResults);
+        return getClasificacionVersionada(eventId, null, stageNumber).getRows();
     }
 
     /**
-     * Clasificación general optimizada con procesamiento paralelo
+     * Clasificación general servida desde la clasificación en memoria del evento
      */
     public List<ClasificacionCompletaDTO> getClasificacionGeneral(Long eventId) {
-        List<StageResult> allResults = stageResultRepository.findByEventIdOrderedForClassification(eventId);
+        return getClasificacionVersionada(eventId, null, null).getRows();
+    }
+
+    /**
+     * Clasificación (general, por categoría o por etapa) con su versión. Se
+     * sirve desde la cache mientras el evento no cambie.
+     */
+    public ClasificacionVersionadaDTO getClasificacionVersionada(Long eventId, Long categoryId,
+            Integer stageNumber) {
+        ClasificacionVersionadaDTO cached = classificationCacheService.get(eventId, categoryId, stageNumber);
+        if (cached != null) {
+            return cached;
+        }
+        ClasificacionVersionadaDTO clasificacion = standingsEngine.getVersioned(eventId, categoryId, stageNumber,
+                () -> loadEventResults(eventId));
+        classificationCacheService.put(categoryId, stageNumber, clasificacion);
+        return clasificacion;
+    }
+
+    /**
+     * Clasificación en cache si sigue vigente, o {@code null} si el evento
+     * cambió desde que se calculó
+     */
+    public ClasificacionVersionadaDTO getClasificacionCacheada(Long eventId, Long categoryId,
+            Integer stageNumber) {
+        return classificationCacheService.get(eventId, categoryId, stageNumber);
+    }
+
+    /**
+     * Clasificación general con su versión, punto de partida del flujo en vivo
+     */
+    public ClasificacionUpdateDTO getClasificacionSnapshot(Long eventId) {
+        return standingsEngine.getGeneralSnapshot(eventId, () -> loadEventResults(eventId));
+    }
+
+    /**
+     * Difunde la clasificación general completa a los suscriptores en vivo
+     */
+    public void publicarSnapshotClasificacion(Long eventId) {
+        standingsEngine.publishSnapshot(eventId, () -> loadEventResults(eventId));
+    }
+
+    /**
+     * Carga inicial de la clasificación en memoria de un evento
+     */
+    private List<ClasificacionRowDTO> loadEventResults(Long eventId) {
+        return stageResultRepository.findClasificacionRowsByEventId(eventId);
+    }
+
+    /**
+     * Clasificación por categoría recalculada directamente desde la base de datos
+     */
+    public List<ClasificacionCompletaDTO> calcularClasificacionPorCategoria(Long eventId, Long categoryId) {
+        List<ClasificacionRowDTO> allResults = stageResultRepository
+                .findClasificacionRowsByEventIdAndCategoryId(eventId, categoryId);
+        return buildClasificacionOptimizada(allResults);
+    }
+
+    /**
+     * Clasificación por etapa recalculada directamente desde la base de datos
+     */
+    public List<ClasificacionCompletaDTO> calcularClasificacionPorStage(Long eventId, Integer stageNumber) {
+        List<ClasificacionRowDTO> allResults = stageResultRepository
+                .findClasificacionRowsByEventIdAndStageNumber(eventId, stageNumber);
+        return buildClasificacionOptimizadaForStage(allResults);
+    }
+
+    /**
+     * Clasificación general recalculada directamente desde la base de datos
+     */
+    public List<ClasificacionCompletaDTO> calcularClasificacionGeneral(Long eventId) {
+        List<ClasificacionRowDTO> allResults = stageResultRepository.findClasificacionRowsByEventId(eventId);
         return buildClasificacionOptimizada(allResults);
     }
 
@@ -275,7 +438,9 @@ public class StageResultService {
                     result.setPenaltyWaypoint(penaltyWaypoint);
                     result.setPenaltySpeed(penaltySpeed);
                     result.setDiscountClaim(discountClaim);
-                    return stageResultRepository.save(result);
+                    StageResult saved = stageResultRepository.save(result);
+                    standingsEngine.onResultSaved(saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException(RESULT_NOT_FOUND_MSG));
     }
@@ -285,7 +450,7 @@ public class StageResultService {
     /**
      * Construcción optimizada de clasificación con procesamiento paralelo
      */
-    private List<ClasificacionCompletaDTO> buildClasificacionOptimizada(List<StageResult> results) {
+    private List<ClasificacionCompletaDTO> buildClasificacionOptimizada(List<ClasificacionRowDTO> results) {
         // Procesar en chunks si hay muchos resultados
         if (results.size() > CHUNK_SIZE * 2) {
             return buildClasificacionWithChunks(results);
@@ -298,7 +463,7 @@ public class StageResultService {
     /**
      * Construcción optimizada de clasificación para etapa específica
      */
-    private List<ClasificacionCompletaDTO> buildClasificacionOptimizadaForStage(List<StageResult> results) {
+    private List<ClasificacionCompletaDTO> buildClasificacionOptimizadaForStage(List<ClasificacionRowDTO> results) {
         // Para etapas específicas, cada resultado representa un vehículo diferente
         if (results.size() > CHUNK_SIZE) {
             return results.parallelStream()
@@ -316,9 +481,9 @@ public class StageResultService {
     /**
      * Procesamiento por chunks para conjuntos grandes de datos
      */
-    private List<ClasificacionCompletaDTO> buildClasificacionWithChunks(List<StageResult> results) {
-        Map<Long, List<StageResult>> resultsByVehicle = results.stream()
-                .collect(Collectors.groupingBy(r -> r.getVehicle().getId()));
+    private List<ClasificacionCompletaDTO> buildClasificacionWithChunks(List<ClasificacionRowDTO> results) {
+        Map<Long, List<ClasificacionRowDTO>> resultsByVehicle = results.stream()
+                .collect(Collectors.groupingBy(ClasificacionRowDTO::getVehicleId));
 
         List<List<Long>> vehicleChunks = partitionList(new ArrayList<>(resultsByVehicle.keySet()), CHUNK_SIZE);
         List<ClasificacionCompletaDTO> allClasificaciones = new ArrayList<>();
@@ -343,22 +508,17 @@ public class StageResultService {
     /**
      * Construye clasificación para un vehículo específico (optimizado para memoria)
      */
-    private ClasificacionCompletaDTO buildClasificacionForVehicle(List<StageResult> vehicleResults) {
-        Vehicle vehicle = vehicleResults.get(0).getVehicle();
-        String driverName = vehicle.getUser() != null
-                ? (vehicle.getUser().getFirstName() + " " + vehicle.getUser().getLastName())
-                : "";
-        String userPicture = vehicle.getUser() != null ? vehicle.getUser().getPicture() : "";
-        String teamName = vehicle.getUser() != null ? vehicle.getUser().getTeamName() : "";
+    private ClasificacionCompletaDTO buildClasificacionForVehicle(List<ClasificacionRowDTO> vehicleResults) {
+        ClasificacionRowDTO vehicle = vehicleResults.get(0);
 
         // Stream optimizado para stage times
         List<ClasificacionCompletaDTO.StageTimeCellDTO> stageTimes = vehicleResults.stream()
                 .collect(Collectors.toMap(
-                        r -> r.getStage().getOrderNumber(),
+                        ClasificacionRowDTO::getStageOrder,
                         r -> r,
                         (existing, replacement) -> replacement))
                 .values().stream()
-                .map(this::createStageTimeCell)
+                .map(ClasificacionRowDTO::toStageTimeCell)
                 .sorted(Comparator.comparing(ClasificacionCompletaDTO.StageTimeCellDTO::getStageOrder))
                 .toList();
 
@@ -368,62 +528,42 @@ public class StageResultService {
                 .sum();
 
         return new ClasificacionCompletaDTO(
-                vehicle.getId(),
-                vehicle.getName(),
-                driverName,
-                vehicle.getCategory().getId(),
-                vehicle.getCategory().getName(),
+                vehicle.getVehicleId(),
+                vehicle.getVehicleName(),
+                vehicle.getDriverName(),
+                vehicle.getCategoryId(),
+                vehicle.getCategoryName(),
                 stageTimes,
                 totalTime,
-                userPicture,
-                teamName);
-    }
-
-    /**
-     * Crea un StageTimeCell optimizado
-     */
-    private ClasificacionCompletaDTO.StageTimeCellDTO createStageTimeCell(StageResult r) {
-        return new ClasificacionCompletaDTO.StageTimeCellDTO(
-                r.getStage().getOrderNumber(),
-                r.getElapsedTimeSeconds() != null ? r.getElapsedTimeSeconds() : 0,
-                r.getId(),
-                r.getPenaltyWaypoint() != null ? (int) r.getPenaltyWaypoint().getSeconds() : 0,
-                r.getPenaltySpeed() != null ? (int) r.getPenaltySpeed().getSeconds() : 0,
-                r.getDiscountClaim() != null ? (int) r.getDiscountClaim().getSeconds() : 0);
+                vehicle.getUserPicture(),
+                vehicle.getTeamName());
     }
 
     /**
      * Construye clasificación para una sola etapa (optimizado)
      */
-    private ClasificacionCompletaDTO buildClasificacionForSingleStage(StageResult r) {
-        Vehicle vehicle = r.getVehicle();
-        String driverName = vehicle.getUser() != null
-                ? (vehicle.getUser().getFirstName() + " " + vehicle.getUser().getLastName())
-                : "";
-        String userPicture = vehicle.getUser() != null ? vehicle.getUser().getPicture() : "";
-        String teamName = vehicle.getUser() != null ? vehicle.getUser().getTeamName() : "";
-
-        ClasificacionCompletaDTO.StageTimeCellDTO cell = createStageTimeCell(r);
+    private ClasificacionCompletaDTO buildClasificacionForSingleStage(ClasificacionRowDTO r) {
+        ClasificacionCompletaDTO.StageTimeCellDTO cell = r.toStageTimeCell();
         List<ClasificacionCompletaDTO.StageTimeCellDTO> stageTimes = List.of(cell);
 
         return new ClasificacionCompletaDTO(
-                vehicle.getId(),
-                vehicle.getName(),
-                driverName,
-                vehicle.getCategory().getId(),
-                vehicle.getCategory().getName(),
+                r.getVehicleId(),
+                r.getVehicleName(),
+                r.getDriverName(),
+                r.getCategoryId(),
+                r.getCategoryName(),
                 stageTimes,
                 cell.getAdjustedTimeSeconds(),
-                userPicture,
-                teamName);
+                r.getUserPicture(),
+                r.getTeamName());
     }
 
     /**
      * Método tradicional optimizado para conjuntos pequeños
      */
-    private List<ClasificacionCompletaDTO> buildClasificacionCompleta(List<StageResult> results) {
-        Map<Long, List<StageResult>> resultsByVehicle = results.stream()
-                .collect(Collectors.groupingBy(r -> r.getVehicle().getId()));
+    private List<ClasificacionCompletaDTO> buildClasificacionCompleta(List<ClasificacionRowDTO> results) {
+        Map<Long, List<ClasificacionRowDTO>> resultsByVehicle = results.stream()
+                .collect(Collectors.groupingBy(ClasificacionRowDTO::getVehicleId));
 
         return resultsByVehicle.values().stream()
                 .map(this::buildClasificacionForVehicle)
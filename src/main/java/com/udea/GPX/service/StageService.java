@@ -1,9 +1,11 @@
 package com.udea.gpx.service;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.udea.gpx.model.Stage;
 import com.udea.gpx.repository.IStageRepository;
+import com.udea.gpx.repository.IStageResultRepository;
 import com.udea.gpx.constants.AppConstants;
 
 import java.util.List;
@@ -13,10 +15,15 @@ import java.util.Optional;
 public class StageService {
 
     private final IStageRepository stageRepository;
+    private final IStageResultRepository stageResultRepository;
+    private final StandingsEngine standingsEngine;
 
     // Constructor injection (no @Autowired needed)
-    public StageService(IStageRepository stageRepository) {
+    public StageService(IStageRepository stageRepository, IStageResultRepository stageResultRepository,
+            StandingsEngine standingsEngine) {
         this.stageRepository = stageRepository;
+        this.stageResultRepository = stageResultRepository;
+        this.standingsEngine = standingsEngine;
     }
 
     public List<Stage> getAllStages() {
@@ -24,10 +31,7 @@ public class StageService {
     }
 
     public List<Stage> getStagesByEventId(Long eventId) {
-        return stageRepository.findAll()
-                .stream()
-                .filter(stage -> stage.getEvent().getId().equals(eventId))
-                .toList();
+        return stageRepository.findAllWithEventByEventId(eventId);
     }
 
     public Optional<Stage> getStageById(Long id) {
@@ -40,6 +44,7 @@ public class StageService {
         return stageRepository.save(stage);
     }
 
+    @Transactional
     public Stage updateStage(Long id, Stage updatedStage) {
         Stage stage = stageRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException(AppConstants.Messages.ETAPA_NO_ENCONTRADA));
@@ -48,12 +53,28 @@ public class StageService {
         // actual)
         validateUniqueOrderNumber(updatedStage.getEvent().getId(), updatedStage.getOrderNumber(), id);
 
+        // El orden y el evento de la etapa forman parte de la clasificación en memoria
+        if (stage.getEvent() != null) {
+            standingsEngine.evictEvent(stage.getEvent().getId());
+        }
+        standingsEngine.evictEvent(updatedStage.getEvent().getId());
+
+        Long previousEventId = stage.getEvent() != null ? stage.getEvent().getId() : null;
+        int previousOrder = stage.getOrderNumber();
+
         stage.setName(updatedStage.getName());
         stage.setOrderNumber(updatedStage.getOrderNumber());
         stage.setNeutralized(updatedStage.isNeutralized());
         stage.setEvent(updatedStage.getEvent());
 
-        return stageRepository.save(stage);
+        Stage saved = stageRepository.save(stage);
+
+        // Los resultados guardan copia del evento y el orden de su etapa
+        Long eventId = updatedStage.getEvent().getId();
+        if (!eventId.equals(previousEventId) || updatedStage.getOrderNumber() != previousOrder) {
+            stageResultRepository.syncStageColumns(id, eventId, updatedStage.getOrderNumber());
+        }
+        return saved;
     }
 
     /**
@@ -75,6 +96,9 @@ public class StageService {
     }
 
     public void deleteStage(Long id) {
+        stageRepository.findById(id)
+                .filter(stage -> stage.getEvent() != null)
+                .ifPresent(stage -> standingsEngine.evictEvent(stage.getEvent().getId()));
         stageRepository.deleteById(id);
     }
 
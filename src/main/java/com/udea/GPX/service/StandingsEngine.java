@@ -0,0 +1,683 @@
+package com.udea.gpx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.udea.gpx.dto.ClasificacionCompletaDTO;
+import com.udea.gpx.dto.ClasificacionCompletaDTO.StageTimeCellDTO;
+import com.udea.gpx.dto.ClasificacionRowDTO;
+import com.udea.gpx.dto.ClasificacionUpdateDTO;
+import com.udea.gpx.dto.ClasificacionUpdateDTO.PositionChangeDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
+import com.udea.gpx.model.StageResult;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Modelo de clasificación en memoria por evento.
+ * <p>
+ * Cada evento se carga una sola vez desde la base de datos y, a partir de ese
+ * momento, las escrituras de {@link StageResultService} se aplican de forma
+ * incremental: cada cambio reubica únicamente al vehículo afectado dentro de
+ * conjuntos ordenados, sin reconstruir ni reordenar la tabla completa.
+ * <p>
+ * Los cambios se aplican después del commit de la transacción para no
+ * publicar datos que luego se reviertan. Los eventos se recargan tras
+ * {@code gpx.standings.max-age-seconds} para recoger cambios de nombres,
+ * equipos o fotos que no pasan por los resultados.
+ * <p>
+ * Con varias instancias, cada escritura incrementa además la versión
+ * compartida del evento en {@link StandingsVersionStore}. Cada lectura la
+ * compara con la versión con la que se cargó el evento y lo recarga si otro
+ * nodo escribió desde entonces, de modo que no se sirven clasificaciones ni
+ * ETag desactualizados. Los suscriptores en vivo de este nodo reciben ese
+ * cambio como un RESET en la siguiente lectura.
+ * <p>
+ * Cada cambio aplicado se publica a los listeners registrados como un
+ * {@link ClasificacionUpdateDTO}, calculado una sola vez por escritura. Los
+ * listeners se invocan bajo el bloqueo del evento para conservar el orden de
+ * versiones, por lo que no deben bloquear.
+ */
+@Component
+public class StandingsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandingsEngine.class);
+
+    private static final int MAX_EVENTS = 32; // Eventos retenidos en memoria simultáneamente
+
+    // Versiones monótonas entre recargas para que los clientes detecten saltos
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    // Identifica este proceso en los ETag: las versiones reinician en cada
+    // arranque y no se comparten entre nodos
+    private final String instanceId = Long.toUnsignedString(new SecureRandom().nextLong(), 36);
+
+    private final long maxAgeMillis;
+    private final StandingsVersionStore versionStore;
+    private final Map<Long, EventStandings> standingsByEvent = new ConcurrentHashMap<>();
+    private final Map<Long, Long> eventByResultId = new ConcurrentHashMap<>();
+    private final List<Consumer<ClasificacionUpdateDTO>> listeners = new CopyOnWriteArrayList<>();
+
+    public StandingsEngine(@Value("${gpx.standings.max-age-seconds:300}") long maxAgeSeconds,
+            StandingsVersionStore versionStore) {
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.versionStore = versionStore;
+    }
+
+    // --- LECTURAS ---
+
+    /**
+     * Clasificación general del evento, ordenada por tiempo total
+     */
+    public List<ClasificacionCompletaDTO> getGeneral(Long eventId, Supplier<List<ClasificacionRowDTO>> loader) {
+        EventStandings standings = loadIfNeeded(eventId, loader);
+        synchronized (standings) {
+            return standings.general(null);
+        }
+    }
+
+    /**
+     * Clasificación del evento filtrada por categoría, conservando el orden
+     * general
+     */
+    public List<ClasificacionCompletaDTO> getByCategory(Long eventId, Long categoryId,
+            Supplier<List<ClasificacionRowDTO>> loader) {
+        EventStandings standings = loadIfNeeded(eventId, loader);
+        synchronized (standings) {
+            return standings.general(categoryId);
+        }
+    }
+
+    /**
+     * Clasificación de una etapa, ordenada por tiempo ajustado de la etapa
+     */
+    public List<ClasificacionCompletaDTO> getByStage(Long eventId, Integer stageNumber,
+            Supplier<List<ClasificacionRowDTO>> loader) {
+        EventStandings standings = loadIfNeeded(eventId, loader);
+        synchronized (standings) {
+            return standings.stage(stageNumber);
+        }
+    }
+
+    /**
+     * Clasificación general junto con su versión, tomadas de forma atómica
+     */
+    public ClasificacionUpdateDTO getGeneralSnapshot(Long eventId, Supplier<List<ClasificacionRowDTO>> loader) {
+        EventStandings standings = loadIfNeeded(eventId, loader);
+        synchronized (standings) {
+            return ClasificacionUpdateDTO.snapshot(eventId, standings.version, standings.general(null));
+        }
+    }
+
+    /**
+     * Clasificación general, por categoría o por etapa junto con su versión,
+     * tomadas de forma atómica. La categoría tiene prioridad sobre la etapa.
+     */
+    public ClasificacionVersionadaDTO getVersioned(Long eventId, Long categoryId, Integer stageNumber,
+            Supplier<List<ClasificacionRowDTO>> loader) {
+        EventStandings standings = loadIfNeeded(eventId, loader);
+        synchronized (standings) {
+            List<ClasificacionCompletaDTO> rows;
+            if (categoryId != null) {
+                rows = standings.general(categoryId);
+            } else if (stageNumber != null) {
+                rows = standings.stage(stageNumber);
+            } else {
+                rows = standings.general(null);
+            }
+            return new ClasificacionVersionadaDTO(eventId, standings.version, instanceId, rows);
+        }
+    }
+
+    /**
+     * Publica a los listeners la clasificación general completa del evento
+     */
+    public void publishSnapshot(Long eventId, Supplier<List<ClasificacionRowDTO>> loader) {
+        EventStandings standings = loadIfNeeded(eventId, loader);
+        synchronized (standings) {
+            notifyListeners(ClasificacionUpdateDTO.snapshot(eventId, standings.version, standings.general(null)));
+        }
+    }
+
+    /**
+     * Registra un listener de cambios de clasificación
+     */
+    public void addListener(Consumer<ClasificacionUpdateDTO> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Identificador aleatorio de esta instancia, incluido en los ETag
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Versión actual de la clasificación del evento; cambia con cada escritura
+     * aplicada. Devuelve 0 si el evento no está cargado o si otro nodo lo
+     * modificó desde que se cargó.
+     */
+    public long getVersion(Long eventId) {
+        EventStandings standings = standingsByEvent.get(eventId);
+        if (standings == null) {
+            return 0L;
+        }
+        long sharedVersion = versionStore.current(eventId);
+        synchronized (standings) {
+            return standings.loaded && standings.sharedVersion == sharedVersion ? standings.version : 0L;
+        }
+    }
+
+    // --- ESCRITURAS ---
+
+    /**
+     * Registra un resultado creado o modificado
+     */
+    public void onResultSaved(StageResult result) {
+        if (result != null) {
+            onResultsSaved(List.of(result));
+        }
+    }
+
+    /**
+     * Registra un lote de resultados modificados en una sola sincronización
+     */
+    public void onResultsSaved(Collection<StageResult> results) {
+        List<Row> rows = new ArrayList<>(results.size());
+        Map<Long, Long> sharedVersions = new HashMap<>();
+        for (StageResult result : results) {
+            if (result.getId() != null && result.getStage() != null && result.getStage().getEvent() != null
+                    && result.getVehicle() != null) {
+                Row row = Row.of(ClasificacionRowDTO.from(result));
+                rows.add(row);
+                Long previousEventId = eventByResultId.get(row.resultId);
+                if (previousEventId != null && !previousEventId.equals(row.eventId)) {
+                    sharedVersions.computeIfAbsent(previousEventId, versionStore::increment);
+                }
+                sharedVersions.computeIfAbsent(row.eventId, versionStore::increment);
+            }
+        }
+        if (!rows.isEmpty()) {
+            afterCommit(() -> {
+                applyUpserts(rows);
+                advanceSharedVersions(sharedVersions);
+            });
+        }
+    }
+
+    /**
+     * Registra la eliminación de un resultado del evento dado ({@code null} si
+     * se desconoce)
+     */
+    public void onResultDeleted(Long resultId, Long eventId) {
+        if (resultId != null) {
+            Map<Long, Long> sharedVersions = new HashMap<>();
+            if (eventId != null) {
+                sharedVersions.put(eventId, versionStore.increment(eventId));
+            }
+            afterCommit(() -> {
+                applyDelete(resultId);
+                advanceSharedVersions(sharedVersions);
+            });
+        }
+    }
+
+    /**
+     * Descarta la clasificación en memoria de un evento (cambios de etapas,
+     * eliminación del evento, etc.)
+     */
+    public void evictEvent(Long eventId) {
+        if (eventId != null) {
+            versionStore.increment(eventId);
+            afterCommit(() -> {
+                EventStandings removed = standingsByEvent.remove(eventId);
+                if (removed != null) {
+                    discard(removed);
+                }
+            });
+        }
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private EventStandings loadIfNeeded(Long eventId, Supplier<List<ClasificacionRowDTO>> loader) {
+        // Se lee antes de cargar: una escritura intermedia solo provoca otra recarga
+        long sharedVersion = versionStore.current(eventId);
+        EventStandings standings = standingsByEvent.computeIfAbsent(eventId, EventStandings::new);
+        synchronized (standings) {
+            long now = System.currentTimeMillis();
+            standings.lastAccess = now;
+            if (!standings.loaded || now - standings.loadedAt > maxAgeMillis
+                    || standings.sharedVersion != sharedVersion) {
+                boolean reload = standings.loaded;
+                standings.resultIds().forEach(eventByResultId::remove);
+                standings.clear();
+                for (ClasificacionRowDTO result : loader.get()) {
+                    Row row = Row.of(result);
+                    standings.upsert(row);
+                    eventByResultId.put(row.resultId, eventId);
+                }
+                standings.loaded = true;
+                standings.loadedAt = now;
+                standings.sharedVersion = sharedVersion;
+                logger.debug("Clasificación del evento {} cargada en memoria ({} vehículos)", eventId,
+                        standings.vehicles.size());
+                if (reload) {
+                    notifyListeners(ClasificacionUpdateDTO.reset(eventId, standings.version));
+                }
+            }
+        }
+        evictLeastRecentlyUsed();
+        return standings;
+    }
+
+    private void applyUpserts(List<Row> rows) {
+        Map<Long, List<Row>> rowsByEvent = new HashMap<>();
+        for (Row row : rows) {
+            Long previousEventId = eventByResultId.get(row.resultId);
+            if (previousEventId != null && !previousEventId.equals(row.eventId)) {
+                applyDelete(row.resultId); // El resultado cambió a una etapa de otro evento
+            }
+            rowsByEvent.computeIfAbsent(row.eventId, k -> new ArrayList<>()).add(row);
+        }
+
+        rowsByEvent.forEach((eventId, eventRows) -> {
+            EventStandings standings = standingsByEvent.get(eventId);
+            if (standings == null) {
+                return; // Se cargará desde la base de datos en la próxima lectura
+            }
+            synchronized (standings) {
+                if (!standings.loaded) {
+                    return;
+                }
+                Map<Long, Integer> before = listeners.isEmpty() ? null : standings.positions();
+                long previousVersion = standings.version;
+                List<StageTimeCellDTO> updatedCells = new ArrayList<>();
+                for (Row row : eventRows) {
+                    if (standings.upsert(row)) {
+                        updatedCells.add(row.toCell());
+                    }
+                    eventByResultId.put(row.resultId, eventId);
+                }
+                if (before != null && !updatedCells.isEmpty()) {
+                    ClasificacionUpdateDTO delta = standings.delta(before, previousVersion);
+                    delta.setUpdatedCells(updatedCells);
+                    notifyListeners(delta);
+                }
+            }
+        });
+    }
+
+    private void applyDelete(Long resultId) {
+        Long eventId = eventByResultId.remove(resultId);
+        if (eventId == null) {
+            return;
+        }
+        EventStandings standings = standingsByEvent.get(eventId);
+        if (standings != null) {
+            synchronized (standings) {
+                Map<Long, Integer> before = listeners.isEmpty() ? null : standings.positions();
+                long previousVersion = standings.version;
+                if (standings.remove(resultId) && before != null) {
+                    ClasificacionUpdateDTO delta = standings.delta(before, previousVersion);
+                    delta.setRemovedStageResultIds(List.of(resultId));
+                    notifyListeners(delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tras aplicar una escritura propia, adopta su versión compartida si no
+     * hubo escrituras de otros nodos en medio; si las hubo, la siguiente
+     * lectura recarga el evento
+     */
+    private void advanceSharedVersions(Map<Long, Long> sharedVersions) {
+        sharedVersions.forEach((eventId, sharedVersion) -> {
+            EventStandings standings = standingsByEvent.get(eventId);
+            if (standings == null) {
+                return;
+            }
+            synchronized (standings) {
+                if (standings.loaded && standings.sharedVersion == sharedVersion - 1) {
+                    standings.sharedVersion = sharedVersion;
+                }
+            }
+        });
+    }
+
+    private void discard(EventStandings standings) {
+        synchronized (standings) {
+            standings.resultIds().forEach(eventByResultId::remove);
+            standings.loaded = false;
+            notifyListeners(ClasificacionUpdateDTO.reset(standings.eventId, VERSIONS.incrementAndGet()));
+        }
+    }
+
+    private void notifyListeners(ClasificacionUpdateDTO update) {
+        for (Consumer<ClasificacionUpdateDTO> listener : listeners) {
+            try {
+                listener.accept(update);
+            } catch (RuntimeException e) {
+                logger.warn("Error notificando cambio de clasificación del evento {}: {}", update.getEventId(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (standingsByEvent.size() > MAX_EVENTS) {
+            standingsByEvent.values().stream()
+                    .min(Comparator.comparingLong(s -> s.lastAccess))
+                    .ifPresent(oldest -> {
+                        if (standingsByEvent.remove(oldest.eventId, oldest)) {
+                            discard(oldest);
+                        }
+                    });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // --- ESTRUCTURAS INTERNAS ---
+
+    /**
+     * Copia inmutable de los campos de un resultado que usa la clasificación
+     */
+    private static final class Row {
+        private final Long resultId;
+        private final Long eventId;
+        private final int stageOrder;
+        private final Long vehicleId;
+        private final String vehicleName;
+        private final String driverName;
+        private final Long categoryId;
+        private final String categoryName;
+        private final String userPicture;
+        private final String teamName;
+        private final int elapsedTimeSeconds;
+        private final int penaltyWaypointSeconds;
+        private final int penaltySpeedSeconds;
+        private final int discountClaimSeconds;
+
+        private Row(ClasificacionRowDTO r) {
+            this.resultId = r.getResultId();
+            this.eventId = r.getEventId();
+            this.stageOrder = r.getStageOrder();
+            this.vehicleId = r.getVehicleId();
+            this.vehicleName = r.getVehicleName();
+            this.driverName = r.getDriverName();
+            this.categoryId = r.getCategoryId();
+            this.categoryName = r.getCategoryName();
+            this.userPicture = r.getUserPicture();
+            this.teamName = r.getTeamName();
+            this.elapsedTimeSeconds = r.getElapsedTimeSeconds();
+            this.penaltyWaypointSeconds = r.getPenaltyWaypointSeconds();
+            this.penaltySpeedSeconds = r.getPenaltySpeedSeconds();
+            this.discountClaimSeconds = r.getDiscountClaimSeconds();
+        }
+
+        static Row of(ClasificacionRowDTO r) {
+            return new Row(r);
+        }
+
+        int adjustedTimeSeconds() {
+            return elapsedTimeSeconds + penaltyWaypointSeconds + penaltySpeedSeconds - discountClaimSeconds;
+        }
+
+        StageTimeCellDTO toCell() {
+            return new StageTimeCellDTO(stageOrder, elapsedTimeSeconds, resultId, penaltyWaypointSeconds,
+                    penaltySpeedSeconds, discountClaimSeconds);
+        }
+
+        boolean sameValues(Row other) {
+            return other != null
+                    && eventId.equals(other.eventId)
+                    && stageOrder == other.stageOrder
+                    && vehicleId.equals(other.vehicleId)
+                    && elapsedTimeSeconds == other.elapsedTimeSeconds
+                    && penaltyWaypointSeconds == other.penaltyWaypointSeconds
+                    && penaltySpeedSeconds == other.penaltySpeedSeconds
+                    && discountClaimSeconds == other.discountClaimSeconds
+                    && Objects.equals(vehicleName, other.vehicleName)
+                    && Objects.equals(driverName, other.driverName)
+                    && Objects.equals(categoryId, other.categoryId)
+                    && Objects.equals(categoryName, other.categoryName)
+                    && Objects.equals(userPicture, other.userPicture)
+                    && Objects.equals(teamName, other.teamName);
+        }
+    }
+
+    /**
+     * Estado acumulado de un vehículo: sus celdas por etapa y su tiempo total
+     */
+    private static final class VehicleStanding {
+        private final Long vehicleId;
+        private final TreeMap<Integer, Row> cells = new TreeMap<>();
+        private Row latest;
+        private int totalTime;
+
+        VehicleStanding(Long vehicleId) {
+            this.vehicleId = vehicleId;
+        }
+
+        ClasificacionCompletaDTO toDTO() {
+            List<StageTimeCellDTO> stageTimes = new ArrayList<>(cells.size());
+            for (Row row : cells.values()) {
+                stageTimes.add(row.toCell());
+            }
+            return new ClasificacionCompletaDTO(vehicleId, latest.vehicleName, latest.driverName,
+                    latest.categoryId, latest.categoryName, stageTimes, totalTime, latest.userPicture,
+                    latest.teamName);
+        }
+    }
+
+    private static final Comparator<VehicleStanding> BY_TOTAL_TIME = Comparator
+            .<VehicleStanding>comparingInt(v -> v.totalTime)
+            .thenComparing(v -> v.vehicleId);
+
+    private static final Comparator<Row> BY_ADJUSTED_TIME = Comparator
+            .comparingInt(Row::adjustedTimeSeconds)
+            .thenComparing(r -> r.vehicleId)
+            .thenComparing(r -> r.resultId);
+
+    /**
+     * Clasificación de un evento. Todo acceso debe sincronizarse sobre la
+     * instancia.
+     */
+    private static final class EventStandings {
+        private final Long eventId;
+        private final Map<Long, Row> rowsByResultId = new HashMap<>();
+        private final Map<Long, VehicleStanding> vehicles = new HashMap<>();
+        private final NavigableSet<VehicleStanding> ranking = new TreeSet<>(BY_TOTAL_TIME);
+        private final Map<Integer, NavigableSet<Row>> rankingByStage = new HashMap<>();
+        private List<ClasificacionCompletaDTO> generalSnapshot;
+        private boolean loaded;
+        private long loadedAt;
+        private long sharedVersion; // Versión de StandingsVersionStore con la que se cargó
+        private volatile long lastAccess;
+        private volatile long version;
+
+        EventStandings(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        /**
+         * Aplica un resultado; devuelve false si no cambió nada visible
+         */
+        boolean upsert(Row row) {
+            Row previous = rowsByResultId.get(row.resultId);
+            if (row.sameValues(previous)) {
+                return false;
+            }
+            if (previous != null) {
+                detach(previous);
+            }
+            rowsByResultId.put(row.resultId, row);
+
+            rankingByStage.computeIfAbsent(row.stageOrder, k -> new TreeSet<>(BY_ADJUSTED_TIME)).add(row);
+
+            VehicleStanding vehicle = vehicles.computeIfAbsent(row.vehicleId, VehicleStanding::new);
+            ranking.remove(vehicle);
+            Row displaced = vehicle.cells.put(row.stageOrder, row);
+            if (displaced != null) {
+                vehicle.totalTime -= displaced.adjustedTimeSeconds();
+            }
+            vehicle.totalTime += row.adjustedTimeSeconds();
+            vehicle.latest = row;
+            ranking.add(vehicle);
+            touch();
+            return true;
+        }
+
+        boolean remove(Long resultId) {
+            Row previous = rowsByResultId.remove(resultId);
+            if (previous == null) {
+                return false;
+            }
+            detach(previous);
+            touch();
+            return true;
+        }
+
+        /**
+         * Posición (1..n) de cada vehículo en la clasificación general
+         */
+        Map<Long, Integer> positions() {
+            Map<Long, Integer> positions = new HashMap<>();
+            int position = 1;
+            for (VehicleStanding vehicle : ranking) {
+                positions.put(vehicle.vehicleId, position++);
+            }
+            return positions;
+        }
+
+        /**
+         * Construye el DELTA entre las posiciones previas y el ranking actual
+         */
+        ClasificacionUpdateDTO delta(Map<Long, Integer> before, long previousVersion) {
+            List<PositionChangeDTO> changes = new ArrayList<>();
+            int position = 1;
+            for (VehicleStanding vehicle : ranking) {
+                Integer previousPosition = before.remove(vehicle.vehicleId);
+                if (previousPosition == null || previousPosition != position) {
+                    changes.add(new PositionChangeDTO(vehicle.vehicleId, previousPosition, position,
+                            vehicle.totalTime));
+                }
+                position++;
+            }
+            // Los vehículos que quedan en 'before' salieron de la clasificación
+            before.forEach((vehicleId, previousPosition) -> changes
+                    .add(new PositionChangeDTO(vehicleId, previousPosition, null, null)));
+
+            ClasificacionUpdateDTO delta = new ClasificacionUpdateDTO(ClasificacionUpdateDTO.TYPE_DELTA, eventId,
+                    version, previousVersion);
+            delta.setPositionChanges(changes);
+            return delta;
+        }
+
+        private void detach(Row row) {
+            NavigableSet<Row> stageRanking = rankingByStage.get(row.stageOrder);
+            if (stageRanking != null) {
+                stageRanking.remove(row);
+                if (stageRanking.isEmpty()) {
+                    rankingByStage.remove(row.stageOrder);
+                }
+            }
+
+            VehicleStanding vehicle = vehicles.get(row.vehicleId);
+            if (vehicle == null) {
+                return;
+            }
+            ranking.remove(vehicle);
+            if (vehicle.cells.remove(row.stageOrder, row)) {
+                vehicle.totalTime -= row.adjustedTimeSeconds();
+            }
+            if (vehicle.cells.isEmpty()) {
+                vehicles.remove(row.vehicleId);
+            } else {
+                ranking.add(vehicle);
+            }
+        }
+
+        List<ClasificacionCompletaDTO> general(Long categoryId) {
+            if (categoryId == null && generalSnapshot != null) {
+                return generalSnapshot;
+            }
+            List<ClasificacionCompletaDTO> rows = new ArrayList<>(ranking.size());
+            for (VehicleStanding vehicle : ranking) {
+                if (categoryId == null || categoryId.equals(vehicle.latest.categoryId)) {
+                    rows.add(vehicle.toDTO());
+                }
+            }
+            List<ClasificacionCompletaDTO> result = List.copyOf(rows);
+            if (categoryId == null) {
+                generalSnapshot = result;
+            }
+            return result;
+        }
+
+        List<ClasificacionCompletaDTO> stage(Integer stageNumber) {
+            NavigableSet<Row> stageRanking = stageNumber != null ? rankingByStage.get(stageNumber) : null;
+            if (stageRanking == null) {
+                return List.of();
+            }
+            List<ClasificacionCompletaDTO> rows = new ArrayList<>(stageRanking.size());
+            for (Row row : stageRanking) {
+                StageTimeCellDTO cell = row.toCell();
+                rows.add(new ClasificacionCompletaDTO(row.vehicleId, row.vehicleName, row.driverName,
+                        row.categoryId, row.categoryName, List.of(cell), cell.getAdjustedTimeSeconds(),
+                        row.userPicture, row.teamName));
+            }
+            return rows;
+        }
+
+        List<Long> resultIds() {
+            return new ArrayList<>(rowsByResultId.keySet());
+        }
+
+        void clear() {
+            rowsByResultId.clear();
+            vehicles.clear();
+            ranking.clear();
+            rankingByStage.clear();
+            touch();
+        }
+
+        private void touch() {
+            generalSnapshot = null;
+            version = VERSIONS.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.udea.gpx.service;
+
+/**
+ * Versión compartida de la clasificación de cada evento, usada por
+ * {@link StandingsEngine} para detectar escrituras hechas en otros nodos.
+ * <p>
+ * {@link InMemoryStandingsVersionStore} sirve para una sola instancia;
+ * {@link JdbcStandingsVersionStore} comparte la versión entre nodos a través
+ * de la base de datos ({@code jwt.store=jdbc}).
+ */
+public interface StandingsVersionStore {
+
+  /**
+   * Marca la clasificación del evento como modificada, dentro de la
+   * transacción en curso si la hay
+   *
+   * @return la nueva versión compartida del evento
+   */
+  long increment(Long eventId);
+
+  /**
+   * Versión compartida actual del evento, o 0 si nunca se modificó
+   */
+  long current(Long eventId);
+}
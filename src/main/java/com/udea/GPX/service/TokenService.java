@@ -8,16 +8,13 @@ import com.udea.gpx.JwtUtil;
 import com.udea.gpx.config.JwtProperties;
 
 import java.time.Instant;
-import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.List;
-import java.util.ArrayList;
 
 /**
  * Servicio avanzado de tokens JWT con refresh tokens, blacklist y gestión de
- * sesiones
+ * sesiones. El estado se guarda en un {@link TokenStore}: en memoria local o
+ * compartido entre nodos en la base de datos.
  */
 @Service
 public class TokenService {
@@ -25,21 +22,12 @@ public class TokenService {
 
   private final JwtUtil jwtUtil;
   private final JwtProperties jwtProperties;
+  private final TokenStore tokenStore;
 
-  // Almacenamiento en memoria para tokens - thread-safe
-  private final Map<String, RefreshTokenInfo> refreshTokenStore = new ConcurrentHashMap<>();
-  private final Set<String> tokenBlacklist = ConcurrentHashMap.newKeySet();
-
-  // Gestión de sesiones activas por usuario - thread-safe
-  private final Map<Long, Set<SessionInfo>> activeSessions = new ConcurrentHashMap<>();
-  private final Map<String, SessionInfo> sessionsByToken = new ConcurrentHashMap<>();
-
-  // Gestión de access tokens por usuario (para tokens sin sesión) - thread-safe
-  private final Map<Long, Set<String>> userAccessTokens = new ConcurrentHashMap<>();
-
-  public TokenService(JwtUtil jwtUtil, JwtProperties jwtProperties) {
+  public TokenService(JwtUtil jwtUtil, JwtProperties jwtProperties, TokenStore tokenStore) {
     this.jwtUtil = jwtUtil;
     this.jwtProperties = jwtProperties;
+    this.tokenStore = tokenStore;
   }
 
   /**
@@ -59,7 +47,7 @@ public class TokenService {
     storeRefreshToken(refreshToken, tokenInfo);
 
     // Registrar access token para el usuario (para poder invalidarlo después)
-    userAccessTokens.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(accessToken);
+    tokenStore.saveUserAccessToken(userId, accessToken, accessTokenExpiration(accessToken));
 
     logger.info("✅ TokenService.generateTokenPair - Tokens generados para usuario {} (sin sesión)", userId);
     return new TokenPair(accessToken, refreshToken);
@@ -121,12 +109,15 @@ public class TokenService {
       throw new IllegalArgumentException("Sesión expirada");
     }
 
+    // Invalidar el refresh token anterior; si otro nodo o hilo ya lo consumió,
+    // no se emite un segundo par
+    if (!removeRefreshToken(refreshToken)) {
+      throw new IllegalArgumentException("Refresh token inválido o expirado");
+    }
+
     // Generar nuevo par de tokens
     TokenPair newTokenPair = generateTokenPair(tokenInfo.getUserId(), tokenInfo.isAdmin());
 
-    // Invalidar el refresh token anterior
-    removeRefreshToken(refreshToken);
-
     logger.info("✅ TokenService.refreshAccessToken - Token refrescado para usuario {}", tokenInfo.getUserId());
     return newTokenPair;
   }
@@ -141,7 +132,7 @@ public class TokenService {
       addToBlacklist(accessToken);
 
       // Invalidar sesión asociada
-      SessionInfo sessionInfo = sessionsByToken.get(accessToken);
+      SessionInfo sessionInfo = tokenStore.findSessionByAccessToken(accessToken);
       if (sessionInfo != null) {
         invalidateSession(sessionInfo.getSessionId());
       }
@@ -157,25 +148,16 @@ public class TokenService {
     logger.debug("🔍 TokenService.invalidateAllUserTokens - Invalidando todos los tokens del usuario {}", userId);
 
     // Remover todos los refresh tokens del usuario
-    refreshTokenStore.entrySet().removeIf(entry -> entry.getValue().getUserId().equals(userId));
+    tokenStore.removeUserRefreshTokens(userId);
 
     // Invalidar todas las sesiones del usuario
-    Set<SessionInfo> userSessions = activeSessions.get(userId);
-    if (userSessions != null) {
-      for (SessionInfo session : userSessions) {
-        addToBlacklist(session.getAccessToken());
-        sessionsByToken.remove(session.getAccessToken());
-      }
-      activeSessions.remove(userId);
+    for (SessionInfo session : tokenStore.removeUserSessions(userId)) {
+      addToBlacklist(session.getAccessToken());
     }
 
     // Invalidar todos los access tokens del usuario (sin sesión)
-    Set<String> userTokens = userAccessTokens.get(userId);
-    if (userTokens != null) {
-      for (String accessToken : userTokens) {
-        addToBlacklist(accessToken);
-      }
-      userAccessTokens.remove(userId);
+    for (String accessToken : tokenStore.removeUserAccessTokens(userId)) {
+      addToBlacklist(accessToken);
     }
 
     logger.info("✅ TokenService.invalidateAllUserTokens - Tokens invalidados para usuario {}", userId);
@@ -185,22 +167,47 @@ public class TokenService {
    * Verifica si un token está en la blacklist
    */
   public boolean isTokenBlacklisted(String token) {
-    return tokenBlacklist.contains(token);
+    return token != null && tokenStore.isRevoked(token);
+  }
+
+  /**
+   * Número de tokens en la blacklist
+   */
+  public long getBlacklistSize() {
+    return tokenStore.revokedCount();
+  }
+
+  /**
+   * Memoria estimada de la blacklist, en bytes
+   */
+  public long getBlacklistMemoryBytes() {
+    return tokenStore.revokedMemoryBytes();
+  }
+
+  /**
+   * Tasa de falsos positivos del filtro de Bloom de la blacklist
+   */
+  public double getBlacklistFilterFalsePositiveRate() {
+    return tokenStore.revocationFilterFalsePositiveRate();
+  }
+
+  /**
+   * Reconstruye el filtro de Bloom de la blacklist si quedó desactualizado
+   */
+  public void rebuildBlacklistFilterIfStale() {
+    tokenStore.rebuildRevocationFilterIfStale();
   }
 
   /**
    * Obtiene las sesiones activas de un usuario
    */
   public List<SessionInfo> getActiveSessions(Long userId) {
-    Set<SessionInfo> userSessions = activeSessions.get(userId);
-    if (userSessions == null) {
-      return new ArrayList<>();
-    }
+    List<SessionInfo> userSessions = tokenStore.findUserSessions(userId);
 
     // Filtrar sesiones expiradas
-    userSessions.removeIf(this::isSessionExpired);
+    userSessions.removeIf(session -> isSessionExpired(session) && removeExpiredSession(session));
 
-    return new ArrayList<>(userSessions);
+    return userSessions;
   }
 
   /**
@@ -209,28 +216,10 @@ public class TokenService {
   public void invalidateSession(String sessionId) {
     logger.debug("🔍 TokenService.invalidateSession - Invalidando sesión (longitud: {})", sessionId.length());
 
-    // Buscar y remover la sesión
-    for (Map.Entry<Long, Set<SessionInfo>> entry : activeSessions.entrySet()) {
-      Set<SessionInfo> sessions = entry.getValue();
-      SessionInfo toRemove = null;
-
-      for (SessionInfo session : sessions) {
-        if (session.getSessionId().equals(sessionId)) {
-          toRemove = session;
-          break;
-        }
-      }
-
-      if (toRemove != null) {
-        sessions.remove(toRemove);
-        sessionsByToken.remove(toRemove.getAccessToken());
-        addToBlacklist(toRemove.getAccessToken());
-
-        if (sessions.isEmpty()) {
-          activeSessions.remove(entry.getKey());
-        }
-        break;
-      }
+    // Remover la sesión de todos los índices
+    SessionInfo removed = tokenStore.removeSession(sessionId);
+    if (removed != null) {
+      addToBlacklist(removed.getAccessToken());
     }
 
     // NOSONAR - S5145: Log seguro - solo muestra longitud del sessionId, no el
@@ -245,47 +234,45 @@ public class TokenService {
   public void cleanupExpiredTokens() {
     logger.debug("🔍 TokenService.cleanupExpiredTokens - Limpiando tokens expirados");
 
-    Instant now = Instant.now();
+    // Tandas del barrido incremental hasta no dejar expirados pendientes
     int removedTokens = 0;
     int removedSessions = 0;
-
-    // Limpiar refresh tokens expirados
-    refreshTokenStore.entrySet().removeIf(entry -> now.isAfter(entry.getValue().getExpiresAt()));
-
-    // Limpiar sesiones expiradas
-    final int[] sessionsRemoved = { 0 }; // Array para hacerlo efectivamente final
-    for (Map.Entry<Long, Set<SessionInfo>> entry : activeSessions.entrySet()) {
-      Set<SessionInfo> sessions = entry.getValue();
-      sessions.removeIf(session -> {
-        if (isSessionExpired(session)) {
-          sessionsByToken.remove(session.getAccessToken());
-          addToBlacklist(session.getAccessToken());
-          sessionsRemoved[0]++;
-          return true;
-        }
-        return false;
-      });
-
-      if (sessions.isEmpty()) {
-        activeSessions.remove(entry.getKey());
-      }
-    }
-    removedSessions = sessionsRemoved[0];
+    SweepResult result;
+    do {
+      result = sweepExpired(Math.max(1, jwtProperties.getSweepBatchSize()));
+      removedTokens += result.refreshTokens() + result.accessTokens();
+      removedSessions += result.sessions();
+    } while (!result.complete());
 
     logger.debug("✅ TokenService.cleanupExpiredTokens - {} tokens y {} sesiones expiradas eliminadas",
         removedTokens, removedSessions);
   }
 
-  // Métodos privados auxiliares
+  /**
+   * Barrido incremental: retira como máximo {@code maxEntries} refresh tokens,
+   * sesiones y access tokens ya expirados, en orden de expiración, sin
+   * recorrer los que siguen vigentes
+   */
+  public SweepResult sweepExpired(int maxEntries) {
+    Instant now = Instant.now();
 
-  private void enforceSessionLimits(Long userId) {
-    Set<SessionInfo> userSessions = activeSessions.get(userId);
-    if (userSessions == null) {
-      return;
+    TokenStore.SweepBatch<String> refreshTokens = tokenStore.removeExpiredRefreshTokens(now, maxEntries);
+    TokenStore.SweepBatch<SessionInfo> sessions = tokenStore.removeExpiredSessions(now, maxEntries);
+    for (SessionInfo session : sessions.removed()) {
+      addToBlacklist(session.getAccessToken());
     }
+    TokenStore.SweepBatch<String> accessTokens = tokenStore.removeExpiredAccessTokens(now, maxEntries);
+
+    boolean complete = refreshTokens.complete() && sessions.complete() && accessTokens.complete();
+    return new SweepResult(refreshTokens.removed().size(), sessions.removed().size(),
+        accessTokens.removed().size(), complete);
+  }
 
+  // Métodos privados auxiliares
+
+  private void enforceSessionLimits(Long userId) {
     // Limpiar sesiones expiradas primero
-    userSessions.removeIf(this::isSessionExpired);
+    List<SessionInfo> userSessions = getActiveSessions(userId);
 
     // Verificar límite de sesiones concurrentes
     int maxSessions = jwtProperties.getMaxConcurrentSessions();
@@ -304,8 +291,7 @@ public class TokenService {
 
   private void registerActiveSession(SessionInfo sessionInfo) {
     Long userId = sessionInfo.getUserId();
-    activeSessions.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(sessionInfo);
-    sessionsByToken.put(sessionInfo.getAccessToken(), sessionInfo);
+    tokenStore.saveSession(sessionInfo, sessionExpiration(sessionInfo));
 
     // NOSONAR - S5145: Log seguro - solo muestra longitud del sessionId, no el
     // valor completo
@@ -315,14 +301,18 @@ public class TokenService {
   }
 
   private SessionInfo getSessionByRefreshToken(String refreshToken) {
-    for (Set<SessionInfo> sessions : activeSessions.values()) {
-      for (SessionInfo session : sessions) {
-        if (session.getRefreshToken().equals(refreshToken)) {
-          return session;
-        }
-      }
+    return tokenStore.findSessionByRefreshToken(refreshToken);
+  }
+
+  /**
+   * Retira una sesión expirada y revoca su access token; siempre devuelve
+   * {@code true} para usarse como filtro
+   */
+  private boolean removeExpiredSession(SessionInfo session) {
+    if (tokenStore.removeSession(session.getSessionId()) != null) {
+      addToBlacklist(session.getAccessToken());
     }
-    return null;
+    return true;
   }
 
   private boolean isSessionExpired(SessionInfo session) {
@@ -345,24 +335,53 @@ public class TokenService {
     return false;
   }
 
+  /**
+   * Instante en que {@link #isSessionExpired} empieza a considerar expirada la
+   * sesión, o {@code null} si no expira
+   */
+  private Instant sessionExpiration(SessionInfo session) {
+    long sessionTimeoutSeconds = jwtProperties.getSessionTimeoutSeconds();
+    if (sessionTimeoutSeconds >= 0) {
+      return session.getLastActivity().plusSeconds(sessionTimeoutSeconds);
+    }
+    long maxSessionDurationSeconds = jwtProperties.getMaxSessionDurationSeconds();
+    if (maxSessionDurationSeconds >= 0) {
+      return session.getCreatedAt().plusSeconds(maxSessionDurationSeconds);
+    }
+    return null;
+  }
+
+  /**
+   * Expiración del access token; si no se puede leer, la vida máxima de un
+   * access token
+   */
+  private Instant accessTokenExpiration(String accessToken) {
+    return jwtUtil.extractExpiration(accessToken)
+        .orElseGet(() -> Instant.now().plusSeconds(jwtProperties.getExpirationSeconds()));
+  }
+
   private String generateRefreshToken(Long userId) {
     return UUID.randomUUID().toString() + "-" + userId + "-" + System.currentTimeMillis();
   }
 
   private void storeRefreshToken(String refreshToken, RefreshTokenInfo tokenInfo) {
-    refreshTokenStore.put(refreshToken, tokenInfo);
+    tokenStore.saveRefreshToken(refreshToken, tokenInfo);
   }
 
   private RefreshTokenInfo getRefreshTokenInfo(String refreshToken) {
-    return refreshTokenStore.get(refreshToken);
+    return tokenStore.findRefreshToken(refreshToken);
   }
 
-  private void removeRefreshToken(String refreshToken) {
-    refreshTokenStore.remove(refreshToken);
+  private boolean removeRefreshToken(String refreshToken) {
+    return tokenStore.removeRefreshToken(refreshToken);
   }
 
+  /**
+   * Revoca el token hasta su propia expiración; si no se puede leer, durante
+   * la vida máxima de un access token
+   */
   private void addToBlacklist(String token) {
-    tokenBlacklist.add(token);
+    tokenStore.revoke(token, accessTokenExpiration(token));
   }
 
   // Clases auxiliares
@@ -385,7 +404,14 @@ public class TokenService {
     }
   }
 
-  private static class RefreshTokenInfo {
+  /**
+   * Resultado de un barrido incremental: elementos eliminados por tipo y si
+   * quedaron expirados pendientes
+   */
+  public record SweepResult(int refreshTokens, int sessions, int accessTokens, boolean complete) {
+  }
+
+  public static class RefreshTokenInfo {
     private final Long userId;
     private final boolean isAdmin;
     private final Instant expiresAt;
@@ -421,12 +447,17 @@ public class TokenService {
 
     public SessionInfo(String sessionId, Long userId, String accessToken, String refreshToken,
         String userAgent, String ipAddress) {
+      this(sessionId, userId, accessToken, refreshToken, userAgent, ipAddress, Instant.now(), Instant.now());
+    }
+
+    public SessionInfo(String sessionId, Long userId, String accessToken, String refreshToken,
+        String userAgent, String ipAddress, Instant createdAt, Instant lastActivity) {
       this.sessionId = sessionId;
       this.userId = userId;
       this.accessToken = accessToken;
       this.refreshToken = refreshToken;
-      this.createdAt = Instant.now();
-      this.lastActivity = Instant.now();
+      this.createdAt = createdAt;
+      this.lastActivity = lastActivity;
       this.userAgent = userAgent;
       this.ipAddress = ipAddress;
     }
@@ -0,0 +1,113 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.service.TokenService.RefreshTokenInfo;
+import com.udea.gpx.service.TokenService.SessionInfo;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Almacenamiento de refresh tokens, sesiones, access tokens por usuario y
+ * revocaciones usado por {@link TokenService}.
+ * <p>
+ * {@link InMemoryTokenStore} sirve para una sola instancia;
+ * {@link JdbcTokenStore} comparte el estado entre nodos a través de la base de
+ * datos ({@code jwt.store=jdbc}), incluidas las invalidaciones de las copias
+ * de usuarios que autentican las peticiones. Las operaciones de eliminación informan si
+ * este llamador fue quien eliminó el elemento, para que los efectos (revocar
+ * el access token de una sesión, emitir un nuevo par) ocurran una sola vez
+ * aunque varios nodos o hilos compitan.
+ */
+public interface TokenStore {
+
+  // --- Refresh tokens ---
+
+  void saveRefreshToken(String refreshToken, RefreshTokenInfo info);
+
+  RefreshTokenInfo findRefreshToken(String refreshToken);
+
+  /**
+   * @return {@code true} si el refresh token existía y lo eliminó este
+   *         llamador
+   */
+  boolean removeRefreshToken(String refreshToken);
+
+  void removeUserRefreshTokens(Long userId);
+
+  SweepBatch<String> removeExpiredRefreshTokens(Instant now, int maxEntries);
+
+  // --- Access tokens emitidos sin sesión ---
+
+  void saveUserAccessToken(Long userId, String accessToken, Instant expiresAt);
+
+  List<String> removeUserAccessTokens(Long userId);
+
+  SweepBatch<String> removeExpiredAccessTokens(Instant now, int maxEntries);
+
+  // --- Sesiones ---
+
+  /**
+   * Registra una sesión que expira en {@code expiresAt} ({@code null} si no
+   * expira)
+   */
+  void saveSession(SessionInfo session, Instant expiresAt);
+
+  SessionInfo findSessionByAccessToken(String accessToken);
+
+  SessionInfo findSessionByRefreshToken(String refreshToken);
+
+  List<SessionInfo> findUserSessions(Long userId);
+
+  /**
+   * @return la sesión eliminada, o {@code null} si no existía o ya la
+   *         eliminó otro llamador
+   */
+  SessionInfo removeSession(String sessionId);
+
+  List<SessionInfo> removeUserSessions(Long userId);
+
+  SweepBatch<SessionInfo> removeExpiredSessions(Instant now, int maxEntries);
+
+  // --- Revocaciones ---
+
+  void revoke(String token, Instant expiresAt);
+
+  boolean isRevoked(String token);
+
+  long revokedCount();
+
+  long revokedMemoryBytes();
+
+  /**
+   * Reconstruye el filtro de Bloom local de revocaciones si quedó saturado o
+   * con muchas revocaciones expiradas
+   */
+  void rebuildRevocationFilterIfStale();
+
+  /**
+   * Tasa de falsos positivos observada en el filtro de revocaciones
+   */
+  double revocationFilterFalsePositiveRate();
+
+  // --- Invalidación de usuarios ---
+
+  /**
+   * Anuncia que la copia en cache de un usuario quedó desactualizada (rol o
+   * perfil modificados) para que los demás nodos la descarten
+   */
+  void publishUserInvalidation(Long userId);
+
+  /**
+   * Registra quién descarta localmente las copias de usuarios invalidadas por
+   * cualquier nodo
+   */
+  void setUserInvalidationListener(Consumer<Long> listener);
+
+  /**
+   * Elementos eliminados por una tanda del barrido y si no quedaron más
+   * expirados pendientes
+   */
+  record SweepBatch<T>(List<T> removed, boolean complete) {
+  }
+}
@@ -0,0 +1,83 @@
+package com.udea.gpx.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.udea.gpx.config.JwtProperties;
+import com.udea.gpx.service.TokenService.SweepResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Barrido periódico de refresh tokens, sesiones y access tokens expirados.
+ * <p>
+ * Cada ejecución procesa tandas de como máximo {@code jwt.sweep-batch-size}
+ * elementos por tipo, tomadas de las colas de expiración de
+ * {@link TokenService}, hasta vaciar lo expirado o agotar
+ * {@link #MAX_BATCHES_PER_RUN} tandas. Publica los elementos eliminados
+ * ({@code gpx.tokens.sweep.swept}, por tipo) y la duración de cada barrido
+ * ({@code gpx.tokens.sweep.duration}). Al terminar reconstruye el filtro de
+ * Bloom de la blacklist si quedó desactualizado.
+ */
+@Component
+public class TokenSweeper {
+  private static final Logger logger = LoggerFactory.getLogger(TokenSweeper.class);
+
+  static final int MAX_BATCHES_PER_RUN = 100;
+
+  private final TokenService tokenService;
+  private final JwtProperties jwtProperties;
+  private final Counter sweptRefreshTokens;
+  private final Counter sweptSessions;
+  private final Counter sweptAccessTokens;
+  private final Timer sweepDuration;
+
+  public TokenSweeper(TokenService tokenService, JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+    this.tokenService = tokenService;
+    this.jwtProperties = jwtProperties;
+    this.sweptRefreshTokens = sweptCounter(meterRegistry, "refresh_token");
+    this.sweptSessions = sweptCounter(meterRegistry, "session");
+    this.sweptAccessTokens = sweptCounter(meterRegistry, "access_token");
+    this.sweepDuration = Timer.builder("gpx.tokens.sweep.duration")
+        .description("Duración del barrido de tokens y sesiones expirados")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${jwt.sweep-interval-seconds:30}",
+      initialDelayString = "${jwt.sweep-interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+  public void sweep() {
+    sweepDuration.record(this::sweepBatches);
+    tokenService.rebuildBlacklistFilterIfStale();
+  }
+
+  private void sweepBatches() {
+    int batchSize = Math.max(1, jwtProperties.getSweepBatchSize());
+    long total = 0;
+    for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+      SweepResult result = tokenService.sweepExpired(batchSize);
+      sweptRefreshTokens.increment(result.refreshTokens());
+      sweptSessions.increment(result.sessions());
+      sweptAccessTokens.increment(result.accessTokens());
+      total += result.refreshTokens() + result.sessions() + result.accessTokens();
+      if (result.complete()) {
+        break;
+      }
+    }
+    if (total > 0) {
+      logger.debug("TokenSweeper.sweep - {} elementos expirados eliminados", total);
+    }
+  }
+
+  private static Counter sweptCounter(MeterRegistry meterRegistry, String type) {
+    return Counter.builder("gpx.tokens.sweep.swept")
+        .description("Elementos expirados eliminados por el barrido")
+        .tag("type", type)
+        .register(meterRegistry);
+  }
+}
@@ -1,9 +1,12 @@
 package com.udea.gpx.service;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.udea.gpx.dto.KeysetPageDTO;
+import com.udea.gpx.dto.UserSummaryDTO;
 import com.udea.gpx.model.User;
 import com.udea.gpx.repository.IUserRepository;
 import com.udea.gpx.util.InputSanitizer;
@@ -22,11 +25,14 @@ public class UserService {
 
     private final IUserRepository userRepository;
     private final PasswordService passwordService;
+    private final UserSnapshotCacheService userSnapshotCacheService;
 
     // Constructor injection (no @Autowired needed)
-    public UserService(IUserRepository userRepository, PasswordService passwordService) {
+    public UserService(IUserRepository userRepository, PasswordService passwordService,
+            UserSnapshotCacheService userSnapshotCacheService) {
         this.userRepository = userRepository;
         this.passwordService = passwordService;
+        this.userSnapshotCacheService = userSnapshotCacheService;
     }
 
     public List<User> getAllUsers() {
@@ -37,6 +43,33 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
 
+    /**
+     * Página de resúmenes de usuarios posterior al cursor (id del último
+     * usuario recibido, o {@code null} para la primera página). Pide una fila
+     * de más para saber si hay página siguiente sin contar la tabla.
+     */
+    public KeysetPageDTO<UserSummaryDTO> getUserSummaries(Long afterId, int size) {
+        List<UserSummaryDTO> rows = userRepository.findSummariesAfter(afterId != null ? afterId : 0L,
+                PageRequest.ofSize(size + 1));
+        if (rows.size() <= size) {
+            return new KeysetPageDTO<>(rows, null);
+        }
+        List<UserSummaryDTO> content = rows.subList(0, size);
+        return new KeysetPageDTO<>(List.copyOf(content), content.get(size - 1).getId());
+    }
+
+    /**
+     * Administradores, resueltos por el índice de rol en lugar de filtrar la
+     * tabla completa
+     */
+    public List<User> getAdminUsers() {
+        return userRepository.findByAdminTrueOrderByIdAsc();
+    }
+
+    public List<UserSummaryDTO> getAdminSummaries() {
+        return userRepository.findAdminSummaries();
+    }
+
     public Optional<User> getUserById(Long id) {
         Optional<User> userOpt = userRepository.findById(id);
         if (userOpt.isPresent()) {
@@ -101,7 +134,7 @@ public class UserService {
         updateSocialFields(user, updatedUser);
         updateFileFields(user, updatedUser);
 
-        return userRepository.save(user);
+        return saveAndEvictSnapshot(user);
     }
 
     private void updateEmailIfProvided(User user, String newEmail, Long userId) {
@@ -198,7 +231,7 @@ public class UserService {
         // NOTA: NO actualizar picture ni insurance aquí
         // Esos se manejan en endpoints específicos
 
-        return userRepository.save(user);
+        return saveAndEvictSnapshot(user);
     }
 
     private void updateEmailForProfile(User user, String newEmail, Long userId) {
@@ -239,7 +272,14 @@ public class UserService {
         // Verificar si la contraseña ya está hasheada
         if (passwordService.isBCryptHash(user.getPassword())) {
             // Usar verificación BCrypt
-            return passwordService.verifyPassword(rawPassword, user.getPassword());
+            boolean isValid = passwordService.verifyPassword(rawPassword, user.getPassword());
+
+            // Si el hash usa un costo menor al configurado, recalcularlo
+            if (isValid && passwordService.needsRehash(user.getPassword())) {
+                updatePasswordHash(user, rawPassword);
+            }
+
+            return isValid;
         } else {
             // Para compatibilidad con contraseñas existentes en texto plano
             // TEMPORAL: en producción se debe migrar todas las contraseñas
@@ -247,20 +287,24 @@ public class UserService {
 
             // Si la verificación es exitosa, aprovechar para hashear la contraseña
             if (isValid) {
-                try {
-                    user.setPassword(passwordService.hashPassword(rawPassword));
-                    userRepository.save(user);
-                    logger.debug("Contraseña actualizada a BCrypt para usuario: {}", user.getId());
-                } catch (Exception e) {
-                    logger.error("Error al actualizar hash de contraseña para usuario {}: {}", user.getId(),
-                            e.getMessage(), e);
-                }
+                updatePasswordHash(user, rawPassword);
             }
 
             return isValid;
         }
     }
 
+    private void updatePasswordHash(User user, String rawPassword) {
+        try {
+            user.setPassword(passwordService.hashPassword(rawPassword));
+            userRepository.save(user);
+            logger.debug("Contraseña actualizada a BCrypt para usuario: {}", user.getId());
+        } catch (Exception e) {
+            logger.error("Error al actualizar hash de contraseña para usuario {}: {}", user.getId(),
+                    e.getMessage(), e);
+        }
+    }
+
     /**
      * Cambia la contraseña del usuario
      */
@@ -314,7 +358,7 @@ public class UserService {
             logger.info("Eliminando imagen del usuario {}", id);
         }
 
-        return userRepository.save(user);
+        return saveAndEvictSnapshot(user);
     }
 
     /**
@@ -340,7 +384,7 @@ public class UserService {
             logger.info("Eliminando seguro del usuario {}", id);
         }
 
-        return userRepository.save(user);
+        return saveAndEvictSnapshot(user);
     }
 
     /**
@@ -353,7 +397,15 @@ public class UserService {
 
         logger.info("Eliminando documento de seguro del usuario {}", id);
         user.setInsurance(null);
-        return userRepository.save(user);
+        return saveAndEvictSnapshot(user);
     }
 
+    /**
+     * Guarda el usuario y descarta su copia usada en la autenticación JWT
+     */
+    private User saveAndEvictSnapshot(User user) {
+        User saved = userRepository.save(user);
+        userSnapshotCacheService.evict(user.getId());
+        return saved;
+    }
 }
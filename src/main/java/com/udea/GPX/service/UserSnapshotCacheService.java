@@ -0,0 +1,127 @@
+package com.udea.gpx.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import com.udea.gpx.model.User;
+import com.udea.gpx.repository.IUserRepository;
+
+import java.util.Optional;
+
+/**
+ * Copias de usuarios para autenticar peticiones JWT sin consultar la base de
+ * datos, sobre la cache acotada {@code userSnapshots}.
+ * <p>
+ * Solo se consulta la base de datos cuando el usuario no está en cache.
+ * {@link UserService} y {@link OAuth2Service} invalidan la copia al cambiar
+ * el rol o el perfil, y la invalidación se difunde por {@link TokenStore} a
+ * los demás nodos (con {@code jwt.store=jdbc}, en la siguiente
+ * sincronización), de modo que un rol retirado no sigue vigente en otra
+ * instancia durante el TTL de la cache. El TTL acota cualquier copia que se
+ * haya cargado en paralelo con una modificación. Las copias no incluyen la
+ * contraseña y cada petición recibe su propia instancia, de modo que los
+ * cambios sobre el principal no afectan a la cache.
+ * <p>
+ * Los usuarios OAuth2 se resuelven por email con la cache
+ * {@code userIdsByEmail}, que solo guarda el id; la copia sale de
+ * {@code userSnapshots} y se descarta si su email ya no coincide. Ninguna
+ * lectura escribe en la base de datos.
+ */
+@Service
+public class UserSnapshotCacheService {
+
+    static final String CACHE_NAME = "userSnapshots";
+    static final String EMAIL_CACHE_NAME = "userIdsByEmail";
+
+    private final Cache cache;
+    private final Cache emailCache;
+    private final IUserRepository userRepository;
+    private final TokenStore tokenStore;
+
+    public UserSnapshotCacheService(CacheManager cacheManager, IUserRepository userRepository,
+            TokenStore tokenStore) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.emailCache = cacheManager.getCache(EMAIL_CACHE_NAME);
+        this.userRepository = userRepository;
+        this.tokenStore = tokenStore;
+        tokenStore.setUserInvalidationListener(this::evictLocal);
+    }
+
+    /**
+     * Copia del usuario, desde la cache o cargada una sola vez de la base de
+     * datos
+     */
+    public Optional<User> getUser(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        User snapshot = cache.get(userId, User.class);
+        if (snapshot == null) {
+            snapshot = userRepository.findById(userId).map(UserSnapshotCacheService::copyOf).orElse(null);
+            if (snapshot == null) {
+                return Optional.empty();
+            }
+            cache.put(userId, snapshot);
+        }
+        return Optional.of(copyOf(snapshot));
+    }
+
+    /**
+     * Copia del usuario con el email dado, resuelta desde la cache o con una
+     * sola consulta de solo lectura
+     */
+    public Optional<User> getUserByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Long userId = emailCache.get(email, Long.class);
+        if (userId != null) {
+            Optional<User> cached = getUser(userId).filter(user -> email.equals(user.getEmail()));
+            if (cached.isPresent()) {
+                return cached;
+            }
+            emailCache.evict(email);
+        }
+        User snapshot = userRepository.findByEmail(email).map(UserSnapshotCacheService::copyOf).orElse(null);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        cache.put(snapshot.getId(), snapshot);
+        emailCache.put(email, snapshot.getId());
+        return Optional.of(copyOf(snapshot));
+    }
+
+    /**
+     * Descarta la copia de un usuario tras cambiar su rol o perfil, en este
+     * nodo y en los demás
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.evict(userId);
+            tokenStore.publishUserInvalidation(userId);
+        }
+    }
+
+    /**
+     * Descarta la copia local de un usuario invalidado por cualquier nodo
+     */
+    void evictLocal(Long userId) {
+        cache.evict(userId);
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private static User copyOf(User source) {
+        User copy = new User(source.getId(), source.getFirstName(), source.getLastName(),
+                source.getIdentification(), source.getPhone(), source.isAdmin(), source.getEmail(),
+                source.getRole(), source.getBirthdate(), source.getTypeOfId(), source.getTeamName(),
+                source.getEps(), source.getRh(), source.getEmergencyPhone(), source.getAlergies(),
+                source.getWikiloc(), source.getInsurance(), source.getTerrapirata(), source.getInstagram(),
+                source.getFacebook());
+        copy.setPicture(source.getPicture());
+        copy.setGoogleId(source.getGoogleId());
+        copy.setAuthProvider(source.getAuthProvider());
+        return copy;
+    }
+}
@@ -1,5 +1,7 @@
 package com.udea.gpx.service;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import com.udea.gpx.model.Vehicle;
@@ -22,6 +24,28 @@ public class VehicleService {
         return vehicleRepository.findAll();
     }
 
+    /**
+     * Vehículos de un usuario, consultados por el índice de usuario
+     */
+    public List<Vehicle> getVehiclesByUserId(Long userId) {
+        return vehicleRepository.findByUserIdOrderByIdAsc(userId);
+    }
+
+    public Page<Vehicle> getVehiclesByUserId(Long userId, Pageable pageable) {
+        return vehicleRepository.findByUserId(userId, pageable);
+    }
+
+    /**
+     * Vehículos de una categoría, consultados por el índice de categoría
+     */
+    public List<Vehicle> getVehiclesByCategoryId(Long categoryId) {
+        return vehicleRepository.findByCategoryIdOrderByIdAsc(categoryId);
+    }
+
+    public Page<Vehicle> getVehiclesByCategoryId(Long categoryId, Pageable pageable) {
+        return vehicleRepository.findByCategoryId(categoryId, pageable);
+    }
+
     public Optional<Vehicle> getVehicleById(Long id) {
         return vehicleRepository.findById(id);
     }
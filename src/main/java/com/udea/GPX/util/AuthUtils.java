@@ -4,16 +4,30 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import com.udea.gpx.model.User;
-import com.udea.gpx.service.UserService;
+import com.udea.gpx.service.UserSnapshotCacheService;
 
+/**
+ * Resolución del usuario autenticado.
+ * <p>
+ * El usuario se resuelve una sola vez por petición: el resultado queda en los
+ * atributos de la petición junto con la autenticación de la que salió, de
+ * modo que los controladores y {@code AdminRequiredAspect} no repiten la
+ * búsqueda. Los usuarios OAuth2 se buscan por email en
+ * {@link UserSnapshotCacheService}, sin escribir en la base de datos.
+ */
 @Component
 public class AuthUtils {
-  private final UserService userService;
 
-  public AuthUtils(UserService userService) {
-    this.userService = userService;
+  static final String CURRENT_USER_ATTRIBUTE = AuthUtils.class.getName() + ".currentUser";
+
+  private final UserSnapshotCacheService userSnapshotCacheService;
+
+  public AuthUtils(UserSnapshotCacheService userSnapshotCacheService) {
+    this.userSnapshotCacheService = userSnapshotCacheService;
   }
 
   /**
@@ -29,23 +43,20 @@ public class AuthUtils {
       return null;
     }
 
-    Object principal = authentication.getPrincipal();
-
-    // Si es un usuario local (JWT)
-    if (principal instanceof User user) {
-      return user;
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return resolveUser(authentication);
     }
 
-    // Si es un usuario OAuth2 (Google)
-    if (principal instanceof DefaultOidcUser oidcUser) {
-      String email = oidcUser.getEmail();
-
-      if (email != null) {
-        return userService.findByEmail(email);
-      }
+    Object memo = requestAttributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (memo instanceof ResolvedUser resolved && resolved.authentication() == authentication) {
+      return resolved.user();
     }
 
-    return null;
+    User user = resolveUser(authentication);
+    requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE, new ResolvedUser(authentication, user),
+        RequestAttributes.SCOPE_REQUEST);
+    return user;
   }
 
   /**
@@ -81,4 +92,32 @@ public class AuthUtils {
     Long currentUserId = getCurrentUserId();
     return currentUserId != null && currentUserId.equals(userId);
   }
-}
\ No newline at end of file
+
+  // --- MÉTODOS AUXILIARES ---
+
+  private User resolveUser(Authentication authentication) {
+    Object principal = authentication.getPrincipal();
+
+    // Si es un usuario local (JWT)
+    if (principal instanceof User user) {
+      return user;
+    }
+
+    // Si es un usuario OAuth2 (Google)
+    if (principal instanceof DefaultOidcUser oidcUser) {
+      String email = oidcUser.getEmail();
+
+      if (email != null) {
+        return userSnapshotCacheService.getUserByEmail(email).orElse(null);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Usuario resuelto para una autenticación dentro de la petición
+   */
+  private record ResolvedUser(Authentication authentication, User user) {
+  }
+}
@@ -106,6 +106,14 @@ public class BusinessRuleValidator {
    * Valida la capacidad máxima de un evento
    */
   public void validateEventCapacity(Event event, List<EventVehicle> currentRegistrations) {
+    validateEventCapacity(event, currentRegistrations.size());
+  }
+
+  /**
+   * Valida la capacidad máxima de un evento a partir del número de registros
+   * actuales
+   */
+  public void validateEventCapacity(Event event, long currentCount) {
     logger.debug("🔍 BusinessRuleValidator.validateEventCapacity - Validando capacidad del evento {}",
         event.getId());
 
@@ -115,7 +123,6 @@ public class BusinessRuleValidator {
     }
 
     int maxCapacity = DEFAULT_MAX_VEHICLES;
-    int currentCount = currentRegistrations.size();
 
     if (currentCount >= maxCapacity) {
       throw new IllegalArgumentException(
@@ -0,0 +1,50 @@
+package com.udea.gpx.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos para el límite de peticiones.
+ * <p>
+ * Se implementa como GCRA: en lugar de guardar tokens y la hora de la última
+ * recarga, guarda un único instante teórico de llegada en un
+ * {@link AtomicLong}. Cada petición lo adelanta un intervalo de emisión
+ * ({@code periodo / capacidad}) y se permite mientras no supere en más de la
+ * capacidad completa al instante actual, lo que equivale a un bucket de
+ * {@code capacity} tokens que se recarga en {@code periodNanos}. La
+ * actualización es un solo compare-and-set, sin reservar memoria por petición.
+ */
+public final class TokenBucket {
+
+  private final long emissionIntervalNanos;
+  private final long burstNanos;
+  private final AtomicLong theoreticalArrival;
+
+  public TokenBucket(int capacity, long periodNanos, long nowNanos) {
+    if (capacity <= 0 || periodNanos <= 0) {
+      throw new IllegalArgumentException("La capacidad y el periodo deben ser positivos");
+    }
+    this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+    this.burstNanos = emissionIntervalNanos * capacity;
+    this.theoreticalArrival = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Consume un token si hay disponible
+   *
+   * @return 0 si la petición se permite, o los nanosegundos hasta que haya un
+   *         token disponible
+   */
+  public long tryAcquire(long nowNanos) {
+    while (true) {
+      long current = theoreticalArrival.get();
+      long next = Math.max(current - nowNanos, 0) + nowNanos + emissionIntervalNanos;
+      long waitNanos = next - nowNanos - burstNanos;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (theoreticalArrival.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+}
@@ -1,9 +1,11 @@
 package com.udea.gpx;
 
 import com.udea.gpx.util.TestDataBuilder;
+import com.udea.gpx.config.JwtProperties;
 import com.udea.gpx.model.User;
 import com.udea.gpx.service.TokenService;
 import com.udea.gpx.service.UserService;
+import com.udea.gpx.service.UserSnapshotCacheService;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
@@ -46,6 +48,12 @@ class JwtRequestFilterTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private UserSnapshotCacheService userSnapshotCacheService;
+
+    @Mock
+    private JwtProperties jwtProperties;
+
     @Mock
     private HttpServletRequest request;
 
@@ -405,4 +413,70 @@ class JwtRequestFilterTest {
         verify(filterChain).doFilter(request, response);
         verify(jwtUtil).extractUserId("valid-token");
     }
+
+    // ========== CLAIMS AUTHENTICATION TESTS ==========
+
+    @Test
+    @DisplayName("Claims mode should authenticate from the user snapshot cache without loading the user")
+    void doFilterInternal_WithClaimsAuthentication_ShouldUseSnapshotCache() throws ServletException, IOException {
+        // Given
+        when(jwtProperties.isClaimsAuthentication()).thenReturn(true);
+        when(request.getRequestURI()).thenReturn("/api/users/profile");
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer valid-token");
+        when(securityContext.getAuthentication()).thenReturn(null);
+        when(jwtUtil.extractUserId("valid-token")).thenReturn(1L);
+        when(jwtUtil.validateToken("valid-token")).thenReturn(true);
+        when(tokenService.isTokenBlacklisted("valid-token")).thenReturn(false);
+        when(userSnapshotCacheService.getUser(1L)).thenReturn(Optional.of(testUser));
+
+        // When
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(securityContext).setAuthentication(argThat(auth -> auth.getPrincipal() == testUser));
+        verify(userService, never()).getUserById(any());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Claims mode should reject blacklisted tokens before resolving the user")
+    void doFilterInternal_WithClaimsAuthenticationAndBlacklistedToken_ShouldReturnUnauthorized()
+            throws ServletException, IOException {
+        // Given
+        when(jwtProperties.isClaimsAuthentication()).thenReturn(true);
+        when(request.getRequestURI()).thenReturn("/api/users/profile");
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer blacklisted-token");
+        when(securityContext.getAuthentication()).thenReturn(null);
+        when(jwtUtil.extractUserId("blacklisted-token")).thenReturn(1L);
+        when(tokenService.isTokenBlacklisted("blacklisted-token")).thenReturn(true);
+
+        // When
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(userSnapshotCacheService, never()).getUser(any());
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Claims mode should not authenticate invalid tokens or unknown users")
+    void doFilterInternal_WithClaimsAuthenticationAndUnknownUser_ShouldContinueWithoutAuth()
+            throws ServletException, IOException {
+        // Given
+        when(jwtProperties.isClaimsAuthentication()).thenReturn(true);
+        when(request.getRequestURI()).thenReturn("/api/users/profile");
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer valid-token");
+        when(securityContext.getAuthentication()).thenReturn(null);
+        when(jwtUtil.extractUserId("valid-token")).thenReturn(999L);
+        when(jwtUtil.validateToken("valid-token")).thenReturn(true);
+        when(userSnapshotCacheService.getUser(999L)).thenReturn(Optional.empty());
+
+        // When
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(securityContext, never()).setAuthentication(any());
+        verify(filterChain).doFilter(request, response);
+    }
 }
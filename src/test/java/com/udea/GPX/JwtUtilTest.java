@@ -214,4 +214,50 @@ class JwtUtilTest {
     assertThatThrownBy(() -> jwtUtil.extractIsAdmin(invalidToken))
         .isInstanceOf(Exception.class);
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Debe verificar cada token una sola vez")
+  void shouldVerifyEachTokenOnce() {
+    // Given
+    String token = jwtUtil.generateToken(123L, true);
+
+    // When
+    boolean isValid = jwtUtil.validateToken(token);
+    Long userId = jwtUtil.extractUserId(token);
+    boolean isAdmin = jwtUtil.extractIsAdmin(token);
+
+    // Then
+    assertThat(isValid).isTrue();
+    assertThat(userId).isEqualTo(123L);
+    assertThat(isAdmin).isTrue();
+    assertThat(jwtUtil.claimsCacheStats().missCount()).isEqualTo(1);
+    assertThat(jwtUtil.claimsCacheStats().hitCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("No debe aceptar un token alterado aunque el original esté en cache")
+  void shouldRejectTamperedTokenAfterCachingOriginal() {
+    // Given
+    String token = jwtUtil.generateToken(123L, false);
+    assertThat(jwtUtil.validateToken(token)).isTrue();
+    String tampered = token.substring(0, token.length() - 2)
+        + (token.endsWith("AA") ? "BB" : "AA");
+
+    // Then
+    assertThat(jwtUtil.validateToken(tampered)).isFalse();
+    assertThat(jwtUtil.validateToken(token)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Los claims devueltos no deben alterar la cache")
+  void extractedClaimsShouldNotAffectCache() {
+    // Given
+    String token = jwtUtil.generateToken(123L, false);
+
+    // When
+    jwtUtil.extractAllClaims(token).put("admin", true);
+
+    // Then
+    assertThat(jwtUtil.extractIsAdmin(token)).isFalse();
+  }
+}
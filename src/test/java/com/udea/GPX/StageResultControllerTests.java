@@ -20,10 +20,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import com.udea.gpx.controller.StageResultController;
 import com.udea.gpx.dto.ClasificacionCompletaDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
 import com.udea.gpx.dto.CreateStageResultDTO;
 import com.udea.gpx.dto.UpdateStageResultDTO;
 import com.udea.gpx.model.StageResult;
 import com.udea.gpx.model.User;
+import com.udea.gpx.service.ClassificationStreamService;
+import com.udea.gpx.service.StageResultBatchService;
+import com.udea.gpx.service.StageResultExportService;
 import com.udea.gpx.service.EventService;
 import com.udea.gpx.service.StageResultService;
 import com.udea.gpx.util.AuthUtils;
@@ -43,6 +47,15 @@ class StageResultControllerTests {
     @Mock
     private EventService eventService;
 
+    @Mock
+    private StageResultBatchService stageResultBatchService;
+
+    @Mock
+    private StageResultExportService stageResultExportService;
+
+    @Mock
+    private ClassificationStreamService classificationStreamService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -112,7 +125,8 @@ class StageResultControllerTests {
         when(securityContext.getAuthentication()).thenReturn(authentication);
 
         // Create the controller manually with mocked dependencies
-        stageResultController = new StageResultController(stageResultService, authUtils);
+        stageResultController = new StageResultController(stageResultService, stageResultBatchService,
+                stageResultExportService, classificationStreamService, authUtils);
     }
 
     @Test
@@ -275,12 +289,13 @@ class StageResultControllerTests {
         // Arrange
         ClasificacionCompletaDTO dto = buildClasificacionDTO(1L, "Vehículo", "Piloto", 1L, "Cat",
                 Collections.emptyList(), 100, "foto.jpg", "EquipoX");
-        when(stageResultService.getClasificacionGeneral(1L)).thenReturn(List.of(dto));
+        when(stageResultService.getClasificacionVersionada(1L, null, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 1L, "a1", List.of(dto)));
         doNothing().when(stageResultService).updateElapsedTimesForEvent(1L);
 
         // Act
         ResponseEntity<List<ClasificacionCompletaDTO>> response = stageResultController.getClasificacionCompleta(1L,
-                null, null);
+                null, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -295,12 +310,13 @@ class StageResultControllerTests {
         // Arrange
         ClasificacionCompletaDTO dto = buildClasificacionDTO(1L, "Vehículo", "Piloto", 2L, "Cat2",
                 Collections.emptyList(), 200, "foto.jpg", "EquipoY");
-        when(stageResultService.getClasificacionPorCategoria(1L, 2L)).thenReturn(List.of(dto));
+        when(stageResultService.getClasificacionVersionada(1L, 2L, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 1L, "a1", List.of(dto)));
         doNothing().when(stageResultService).updateElapsedTimesForEvent(1L);
 
         // Act
         ResponseEntity<List<ClasificacionCompletaDTO>> response = stageResultController.getClasificacionCompleta(1L, 2L,
-                null);
+                null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -315,13 +331,14 @@ class StageResultControllerTests {
         // Arrange
         ClasificacionCompletaDTO dto = buildClasificacionDTO(1L, "Vehículo", "Piloto", 1L, "Cat",
                 Collections.emptyList(), 150, "foto.jpg", "EquipoZ");
-        when(stageResultService.getClasificacionPorStage(1L, 3)).thenReturn(List.of(dto));
+        when(stageResultService.getClasificacionVersionada(1L, null, 3))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 1L, "a1", List.of(dto)));
         doNothing().when(stageResultService).updateElapsedTimesForEvent(1L);
 
         // Act
         ResponseEntity<List<ClasificacionCompletaDTO>> response = stageResultController.getClasificacionCompleta(1L,
                 null,
-                3);
+                3, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -2,6 +2,8 @@ package com.udea.gpx;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import com.udea.gpx.dto.KeysetPageDTO;
+import com.udea.gpx.dto.UserSummaryDTO;
 import com.udea.gpx.exception.InternalServerException;
 import com.udea.gpx.util.TestDataBuilder;
 import com.udea.gpx.controller.UserController;
@@ -344,11 +346,10 @@ class UserControllerTests {
     @Test
     void getAdminUsers_whenAdmin_shouldReturnAdminUsers() {
         when(authUtils.isCurrentUserAdmin()).thenReturn(true);
-        List<User> allUsers = Arrays.asList(
+        List<User> admins = Arrays.asList(
                 TestDataBuilder.buildUser(1L, "Admin1", true),
-                TestDataBuilder.buildUser(2L, "User", false),
                 TestDataBuilder.buildUser(3L, "Admin2", true));
-        when(userService.getAllUsers()).thenReturn(allUsers);
+        when(userService.getAdminUsers()).thenReturn(admins);
 
         ResponseEntity<List<User>> response = userController.getAdminUsers();
 
@@ -356,6 +357,7 @@ class UserControllerTests {
         List<User> adminUsers = response.getBody();
         assertEquals(2, adminUsers.size());
         assertTrue(adminUsers.stream().allMatch(User::isAdmin));
+        verify(userService, never()).getAllUsers();
     }
 
     @Test
@@ -368,6 +370,54 @@ class UserControllerTests {
         assertNull(response.getBody());
     }
 
+    @Test
+    void getAdminSummaries_whenAdmin_shouldReturnSummaries() {
+        when(authUtils.isCurrentUserAdmin()).thenReturn(true);
+        List<UserSummaryDTO> admins = Arrays.asList(
+                new UserSummaryDTO(1L, "Admin1", "Last", "admin1@test.com", null, null, true),
+                new UserSummaryDTO(3L, "Admin2", "Last", "admin2@test.com", null, null, true));
+        when(userService.getAdminSummaries()).thenReturn(admins);
+
+        ResponseEntity<List<UserSummaryDTO>> response = userController.getAdminSummaries();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(admins, response.getBody());
+    }
+
+    @Test
+    void getAdminSummaries_whenNotAdmin_shouldReturnForbidden() {
+        when(authUtils.isCurrentUserAdmin()).thenReturn(false);
+
+        ResponseEntity<List<UserSummaryDTO>> response = userController.getAdminSummaries();
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(userService, never()).getAdminSummaries();
+    }
+
+    // ========== TESTS PARA getUserSummaries ==========
+
+    @Test
+    void getUserSummaries_whenAdmin_shouldClampPageSize() {
+        when(authUtils.isCurrentUserAdmin()).thenReturn(true);
+        KeysetPageDTO<UserSummaryDTO> page = new KeysetPageDTO<>(List.of(), null);
+        when(userService.getUserSummaries(10L, 200)).thenReturn(page);
+
+        ResponseEntity<KeysetPageDTO<UserSummaryDTO>> response = userController.getUserSummaries(10L, 5_000);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(page, response.getBody());
+    }
+
+    @Test
+    void getUserSummaries_whenNotAdmin_shouldReturnForbidden() {
+        when(authUtils.isCurrentUserAdmin()).thenReturn(false);
+
+        ResponseEntity<KeysetPageDTO<UserSummaryDTO>> response = userController.getUserSummaries(null, 50);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(userService, never()).getUserSummaries(any(), anyInt());
+    }
+
     // ========== TESTS PARA changePassword ==========
 
     @Test
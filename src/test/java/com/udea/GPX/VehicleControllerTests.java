@@ -263,17 +263,15 @@ class VehicleControllerTests {
         when(authentication.getPrincipal()).thenReturn(adminUser);
         when(authUtils.isCurrentUserAdmin()).thenReturn(true);
 
-        List<Vehicle> allVehicles = Arrays.asList(
+        List<Vehicle> categoryVehicles = Arrays.asList(
                 buildVehicle(1L, 10L, false),
-                buildVehicle(2L, 20L, false),
-                buildVehicle(3L, 30L, false));
+                buildVehicle(2L, 20L, false));
 
         // Asignar categorías
-        allVehicles.get(0).setCategory(category);
-        allVehicles.get(1).setCategory(category);
-        allVehicles.get(2).setCategory(buildCategory(2L)); // Diferente categoría
+        categoryVehicles.get(0).setCategory(category);
+        categoryVehicles.get(1).setCategory(category);
 
-        when(vehicleService.getAllVehicles()).thenReturn(allVehicles);
+        when(vehicleService.getVehiclesByCategoryId(categoryId)).thenReturn(categoryVehicles);
 
         // Act
         ResponseEntity<List<Vehicle>> response = vehicleController.getVehiclesByCategory(categoryId);
@@ -283,6 +281,7 @@ class VehicleControllerTests {
         List<Vehicle> responseBody = response.getBody();
         assertNotNull(responseBody);
         assertEquals(2, responseBody.size()); // Solo 2 vehículos de la categoría 1
+        verify(vehicleService, never()).getAllVehicles();
     }
 
     @Test
@@ -311,12 +310,11 @@ class VehicleControllerTests {
         when(authUtils.isCurrentUserOrAdmin(userId)).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(adminUser);
 
-        List<Vehicle> allVehicles = Arrays.asList(
+        List<Vehicle> userVehicles = Arrays.asList(
                 buildVehicle(1L, userId, false),
-                buildVehicle(2L, userId, false),
-                buildVehicle(3L, 20L, false)); // Diferente usuario
+                buildVehicle(2L, userId, false));
 
-        when(vehicleService.getAllVehicles()).thenReturn(allVehicles);
+        when(vehicleService.getVehiclesByUserId(userId)).thenReturn(userVehicles);
 
         // Act
         ResponseEntity<List<Vehicle>> response = vehicleController.getVehiclesByUser(userId);
@@ -326,6 +324,7 @@ class VehicleControllerTests {
         List<Vehicle> responseBody = response.getBody();
         assertNotNull(responseBody);
         assertEquals(2, responseBody.size()); // Solo 2 vehículos del usuario 10
+        verify(vehicleService, never()).getAllVehicles();
     }
 
     @Test
@@ -337,12 +336,11 @@ class VehicleControllerTests {
         when(authUtils.isCurrentUserOrAdmin(userId)).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(ownerUser);
 
-        List<Vehicle> allVehicles = Arrays.asList(
+        List<Vehicle> userVehicles = Arrays.asList(
                 buildVehicle(1L, userId, false),
-                buildVehicle(2L, userId, false),
-                buildVehicle(3L, 20L, false)); // Diferente usuario
+                buildVehicle(2L, userId, false));
 
-        when(vehicleService.getAllVehicles()).thenReturn(allVehicles);
+        when(vehicleService.getVehiclesByUserId(userId)).thenReturn(userVehicles);
 
         // Act
         ResponseEntity<List<Vehicle>> response = vehicleController.getVehiclesByUser(userId);
@@ -352,6 +350,7 @@ class VehicleControllerTests {
         List<Vehicle> responseBody = response.getBody();
         assertNotNull(responseBody);
         assertEquals(2, responseBody.size()); // Solo 2 vehículos del usuario 10
+        verify(vehicleService, never()).getAllVehicles();
     }
 
     @Test
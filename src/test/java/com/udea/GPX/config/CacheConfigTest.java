@@ -3,7 +3,11 @@ package com.udea.gpx.config;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,4 +39,44 @@ class CacheConfigTest {
     void testCacheConfigCanBeInstantiated() {
         assertNotNull(cacheConfig);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("cacheManager debe registrar todas las caches con límites y estadísticas")
+    void testCacheManagerRegistersBoundedCaches() {
+        CacheManager cacheManager = cacheConfig.cacheManager();
+
+        assertInstanceOf(CaffeineCacheManager.class, cacheManager);
+        for (String name : CacheConfig.CACHE_SPECS.keySet()) {
+            Cache cache = cacheManager.getCache(name);
+            assertInstanceOf(CaffeineCache.class, cache, name);
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache)
+                    .getNativeCache();
+            assertTrue(nativeCache.policy().eviction().isPresent(), name);
+            assertTrue(nativeCache.policy().expireAfterWrite().isPresent(), name);
+            assertTrue(nativeCache.policy().isRecordingStats(), name);
+        }
+    }
+
+    @Test
+    @DisplayName("cacheManager debe acotar también las caches creadas dinámicamente")
+    void testCacheManagerBoundsDynamicCaches() {
+        CaffeineCache cache = (CaffeineCache) cacheConfig.cacheManager().getCache("otraCache");
+
+        assertNotNull(cache);
+        assertEquals(CacheConfig.DEFAULT_MAXIMUM_SIZE,
+                cache.getNativeCache().policy().eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    @DisplayName("cacheManager debe contabilizar aciertos y fallos")
+    void testCacheManagerRecordsHitsAndMisses() {
+        CaffeineCache cache = (CaffeineCache) cacheConfig.cacheManager().getCache("events");
+
+        assertNull(cache.get("k"));
+        cache.put("k", "v");
+        assertNotNull(cache.get("k"));
+
+        assertEquals(1, cache.getNativeCache().stats().hitCount());
+        assertEquals(1, cache.getNativeCache().stats().missCount());
+    }
+}
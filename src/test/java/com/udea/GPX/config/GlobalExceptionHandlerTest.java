@@ -1,5 +1,6 @@
 package com.udea.gpx.config;
 
+import com.udea.gpx.exception.PasswordHashingOverloadedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -261,6 +263,32 @@ class GlobalExceptionHandlerTest {
                 }
         }
 
+        @Nested
+        @DisplayName("PasswordHashingOverloadedException Handling Tests")
+        class PasswordHashingOverloadedExceptionTests {
+
+                @Test
+                @DisplayName("Should respond 503 with Retry-After when password hashing is overloaded")
+                void shouldHandlePasswordHashingOverloadedException() {
+                        // Given
+                        PasswordHashingOverloadedException exception = new PasswordHashingOverloadedException(
+                                        "Servicio saturado");
+
+                        // When
+                        ResponseEntity<Map<String, Object>> response = globalExceptionHandler
+                                        .handlePasswordHashingOverloadedException(exception, webRequest);
+
+                        // Then
+                        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+                        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                        Map<String, Object> responseBody = response.getBody();
+                        assertNotNull(responseBody);
+                        assertEquals(503, responseBody.get("status"));
+                        assertEquals("Servicio saturado", responseBody.get("message"));
+                        assertEquals("/test/path", responseBody.get("path"));
+                }
+        }
+
         @Nested
         @DisplayName("RuntimeException Handling Tests")
         class RuntimeExceptionTests {
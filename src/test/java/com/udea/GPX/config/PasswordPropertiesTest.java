@@ -0,0 +1,42 @@
+package com.udea.gpx.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordProperties Configuration Tests")
+class PasswordPropertiesTest {
+
+    @Test
+    @DisplayName("Should have secure defaults")
+    void shouldHaveSecureDefaults() {
+        // Given & When
+        PasswordProperties properties = new PasswordProperties();
+
+        // Then
+        assertEquals(12, properties.getBcryptStrength());
+        assertTrue(properties.getHashingThreads() >= 1);
+        assertEquals(64, properties.getHashingQueueCapacity());
+        assertEquals(5000, properties.getHashingTimeoutMs());
+    }
+
+    @Test
+    @DisplayName("Should set custom values")
+    void shouldSetCustomValues() {
+        // Given
+        PasswordProperties properties = new PasswordProperties();
+
+        // When
+        properties.setBcryptStrength(14);
+        properties.setHashingThreads(2);
+        properties.setHashingQueueCapacity(10);
+        properties.setHashingTimeoutMs(1000);
+
+        // Then
+        assertEquals(14, properties.getBcryptStrength());
+        assertEquals(2, properties.getHashingThreads());
+        assertEquals(10, properties.getHashingQueueCapacity());
+        assertEquals(1000, properties.getHashingTimeoutMs());
+    }
+}
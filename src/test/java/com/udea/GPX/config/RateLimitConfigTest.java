@@ -0,0 +1,131 @@
+package com.udea.gpx.config;
+
+import com.udea.gpx.model.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitConfig Tests")
+class RateLimitConfigTest {
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry registry;
+    private AtomicLong now;
+    private RateLimitConfig.RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getGroups().clear();
+        properties.getGroups().put("login", new RateLimitProperties.Group(List.of("/api/users/login"), 2, 60));
+        registry = new SimpleMeterRegistry();
+        now = new AtomicLong();
+        filter = new RateLimitConfig.RateLimitFilter(properties, registry, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse call(String path, String ip) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("rateLimitFilter debe crear el filtro de límite de peticiones")
+    void testRateLimitFilterBean() {
+        OncePerRequestFilter bean = new RateLimitConfig().rateLimitFilter(new RateLimitProperties(), registry);
+
+        assertTrue(bean instanceof RateLimitConfig.RateLimitFilter);
+    }
+
+    @Test
+    @DisplayName("Debe responder 429 con Retry-After al agotar el límite de una IP")
+    void testRejectsWhenIpLimitExceeded() throws ServletException, IOException {
+        assertEquals(200, call("/api/users/login", "10.0.0.1").getStatus());
+        assertEquals(200, call("/api/users/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = call("/api/users/login", "10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("30", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, registry.get("gpx.ratelimit.rejected").tag("group", "login").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe llevar un límite independiente por IP y recuperarlo con el tiempo")
+    void testLimitsArePerIpAndRefill() throws ServletException, IOException {
+        call("/api/users/login", "10.0.0.1");
+        call("/api/users/login", "10.0.0.1");
+
+        assertEquals(429, call("/api/users/login", "10.0.0.1").getStatus());
+        assertEquals(200, call("/api/users/login", "10.0.0.2").getStatus());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(200, call("/api/users/login", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Debe limitar al usuario autenticado aunque cambie de IP")
+    void testLimitsAuthenticatedUserAcrossIps() throws ServletException, IOException {
+        User user = new User();
+        user.setId(7L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+
+        assertEquals(200, call("/api/users/login", "10.0.0.1").getStatus());
+        assertEquals(200, call("/api/users/login", "10.0.0.2").getStatus());
+        assertEquals(429, call("/api/users/login", "10.0.0.3").getStatus());
+    }
+
+    @Test
+    @DisplayName("No debe limitar rutas fuera de los grupos ni con el límite deshabilitado")
+    void testIgnoresOtherPathsAndDisabledLimit() throws ServletException, IOException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call("/api/events", "10.0.0.1").getStatus());
+        }
+        assertEquals(0, filter.bucketCount());
+
+        properties.setEnabled(false);
+        filter = new RateLimitConfig.RateLimitFilter(properties, new SimpleMeterRegistry(), now::get);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call("/api/users/login", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe acotar la cantidad de buckets en memoria")
+    void testBoundsBucketCount() throws ServletException, IOException {
+        properties.setMaxKeys(100);
+        filter = new RateLimitConfig.RateLimitFilter(properties, new SimpleMeterRegistry(), now::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            call("/api/users/login", "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertTrue(filter.bucketCount() <= 100);
+    }
+}
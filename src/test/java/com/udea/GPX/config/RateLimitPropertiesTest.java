@@ -0,0 +1,46 @@
+package com.udea.gpx.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitProperties Configuration Tests")
+class RateLimitPropertiesTest {
+
+    @Test
+    @DisplayName("Should limit login, check-email and classification by default")
+    void shouldHaveDefaultGroups() {
+        // Given & When
+        RateLimitProperties properties = new RateLimitProperties();
+
+        // Then
+        assertTrue(properties.isEnabled());
+        assertEquals(100_000, properties.getMaxKeys());
+        assertEquals(600, properties.getIdleTimeoutSeconds());
+        assertEquals(List.of("login", "check-email", "classification"),
+                List.copyOf(properties.getGroups().keySet()));
+        assertEquals(List.of("/api/users/login"), properties.getGroups().get("login").getPaths());
+        assertTrue(properties.getGroups().get("classification").getPaths()
+                .contains("/api/stageresults/clasificacion"));
+    }
+
+    @Test
+    @DisplayName("Should set custom group values")
+    void shouldSetCustomGroupValues() {
+        // Given
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+
+        // When
+        group.setPaths(List.of("/api/events/**"));
+        group.setCapacity(5);
+        group.setPeriodSeconds(30);
+
+        // Then
+        assertEquals(List.of("/api/events/**"), group.getPaths());
+        assertEquals(5, group.getCapacity());
+        assertEquals(30, group.getPeriodSeconds());
+    }
+}
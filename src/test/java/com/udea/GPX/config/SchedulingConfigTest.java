@@ -0,0 +1,19 @@
+package com.udea.gpx.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SchedulingConfig Tests")
+class SchedulingConfigTest {
+
+    @Test
+    @DisplayName("SchedulingConfig debe habilitar las tareas programadas")
+    void testSchedulingConfigEnablesScheduling() {
+        assertTrue(SchedulingConfig.class.isAnnotationPresent(Configuration.class));
+        assertTrue(SchedulingConfig.class.isAnnotationPresent(EnableScheduling.class));
+    }
+}
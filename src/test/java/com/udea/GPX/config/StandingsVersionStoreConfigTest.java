@@ -0,0 +1,31 @@
+package com.udea.gpx.config;
+
+import com.udea.gpx.service.InMemoryStandingsVersionStore;
+import com.udea.gpx.service.JdbcStandingsVersionStore;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("StandingsVersionStoreConfig Tests")
+class StandingsVersionStoreConfigTest {
+
+    private final StandingsVersionStoreConfig standingsVersionStoreConfig = new StandingsVersionStoreConfig();
+
+    @Test
+    @DisplayName("Debe crear la versión en memoria por defecto")
+    void testInMemoryStandingsVersionStore() {
+        assertInstanceOf(InMemoryStandingsVersionStore.class,
+                standingsVersionStoreConfig.inMemoryStandingsVersionStore());
+    }
+
+    @Test
+    @DisplayName("Debe crear la versión compartida JDBC sobre el JdbcTemplate")
+    void testJdbcStandingsVersionStore() {
+        assertInstanceOf(JdbcStandingsVersionStore.class,
+                standingsVersionStoreConfig.jdbcStandingsVersionStore(mock(JdbcTemplate.class)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.udea.gpx.config;
+
+import com.udea.gpx.service.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TokenMetricsConfig Tests")
+class TokenMetricsConfigTest {
+
+    @Test
+    @DisplayName("Debe publicar el tamaño y la memoria de la blacklist")
+    void testTokenBlacklistMetrics() {
+        // Given
+        TokenService tokenService = mock(TokenService.class);
+        when(tokenService.getBlacklistSize()).thenReturn(3L);
+        when(tokenService.getBlacklistMemoryBytes()).thenReturn(360L);
+        when(tokenService.getBlacklistFilterFalsePositiveRate()).thenReturn(0.25);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // When
+        new TokenMetricsConfig().tokenBlacklistMetrics(tokenService).bindTo(registry);
+
+        // Then
+        assertEquals(3.0, registry.get("gpx.tokens.blacklist.size").gauge().value());
+        assertEquals(360.0, registry.get("gpx.tokens.blacklist.memory").gauge().value());
+        assertEquals(0.25, registry.get("gpx.tokens.blacklist.filter.fpp").gauge().value());
+    }
+}
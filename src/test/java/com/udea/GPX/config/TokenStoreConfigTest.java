@@ -0,0 +1,29 @@
+package com.udea.gpx.config;
+
+import com.udea.gpx.service.InMemoryTokenStore;
+import com.udea.gpx.service.JdbcTokenStore;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TokenStoreConfig Tests")
+class TokenStoreConfigTest {
+
+    private final TokenStoreConfig tokenStoreConfig = new TokenStoreConfig();
+
+    @Test
+    @DisplayName("Debe crear el almacenamiento en memoria por defecto")
+    void testInMemoryTokenStore() {
+        assertInstanceOf(InMemoryTokenStore.class, tokenStoreConfig.inMemoryTokenStore());
+    }
+
+    @Test
+    @DisplayName("Debe crear el almacenamiento JDBC sobre el JdbcTemplate")
+    void testJdbcTokenStore() {
+        assertInstanceOf(JdbcTokenStore.class, tokenStoreConfig.jdbcTokenStore(mock(JdbcTemplate.class)));
+    }
+}
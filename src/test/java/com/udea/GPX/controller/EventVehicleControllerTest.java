@@ -1,6 +1,8 @@
 package com.udea.gpx.controller;
 
 import com.udea.gpx.dto.ParticipantDTO;
+import com.udea.gpx.exception.UserAlreadyRegisteredException;
+import com.udea.gpx.model.Event;
 import com.udea.gpx.model.EventVehicle;
 import com.udea.gpx.model.User;
 import com.udea.gpx.model.Vehicle;
@@ -161,34 +163,49 @@ class EventVehicleControllerTest {
     @Test
     @DisplayName("getEventParticipants - Success")
     void getEventParticipants_success() {
-        EventVehicle ev = mock(EventVehicle.class);
-        Vehicle vehicle = mock(Vehicle.class);
-        User user = mock(User.class);
-        when(ev.getVehicleId()).thenReturn(vehicle);
-        when(vehicle.getUser()).thenReturn(user);
-        when(user.getFirstName()).thenReturn("John");
-        when(user.getLastName()).thenReturn("Doe");
-        when(user.getId()).thenReturn(1L);
-        when(user.getPicture()).thenReturn("pic");
-        when(user.getTeamName()).thenReturn("team");
-        when(vehicle.getId()).thenReturn(2L);
-        when(vehicle.getName()).thenReturn("car");
-        when(vehicle.getPlates()).thenReturn("ABC");
-        when(vehicle.getSoat()).thenReturn("soat");
-        when(vehicle.getCategory()).thenReturn(null);
-        when(eventVehicleService.getVehiclesByEventId(anyLong())).thenReturn(List.of(ev));
+        ParticipantDTO participant = new ParticipantDTO(3L, 1L, "John", "Doe", "pic", "team", 2L, "car", "ABC",
+                "soat", null, null);
+        when(eventVehicleService.getParticipantsByEventId(1L)).thenReturn(List.of(participant));
         ResponseEntity<List<ParticipantDTO>> response = controller.getEventParticipants(1L);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getBody().get(0).getUserName()).isEqualTo("John Doe");
+        assertThat(response.getBody().get(0).getCategoryName()).isEqualTo("Sin categoría");
+        verify(eventVehicleService, never()).getVehiclesByEventId(anyLong());
     }
 
     @Test
     @DisplayName("getEventParticipants - Exception")
     void getEventParticipants_exception() {
-        when(eventVehicleService.getVehiclesByEventId(anyLong())).thenThrow(new RuntimeException());
+        when(eventVehicleService.getParticipantsByEventId(anyLong())).thenThrow(new RuntimeException());
         ResponseEntity<List<ParticipantDTO>> response = controller.getEventParticipants(1L);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @Test
+    @DisplayName("createEventVehicle - Conflict when user already registered")
+    void createEventVehicle_conflictWhenUserAlreadyRegistered() {
+        User user = mock(User.class);
+        when(user.isAdmin()).thenReturn(false);
+        when(user.getId()).thenReturn(1L);
+        Vehicle vehicle = mock(Vehicle.class);
+        when(vehicle.getUser()).thenReturn(user);
+        when(vehicleService.getVehicleById(5L)).thenReturn(Optional.of(vehicle));
+        when(eventVehicleService.createEventVehicle(any(EventVehicle.class)))
+                .thenThrow(new UserAlreadyRegisteredException("Solo se permite una inscripción por persona."));
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(user);
+        Event event = new Event();
+        event.setId(1L);
+        Vehicle requested = new Vehicle();
+        requested.setId(5L);
+
+        ResponseEntity<Object> response = controller.createEventVehicle(new EventVehicle(null, event, requested));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        verify(eventVehicleService, never()).getVehiclesByEventId(anyLong());
+    }
+
     // Add more tests for endpoints and edge cases as needed
 }
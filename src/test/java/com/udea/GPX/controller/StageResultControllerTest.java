@@ -1,9 +1,14 @@
 package com.udea.gpx.controller;
 
 import com.udea.gpx.dto.ClasificacionCompletaDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
 import com.udea.gpx.dto.CreateStageResultDTO;
+import com.udea.gpx.dto.ElapsedTimeRecomputeDTO;
 import com.udea.gpx.dto.UpdateStageResultDTO;
 import com.udea.gpx.model.StageResult;
+import com.udea.gpx.service.ClassificationStreamService;
+import com.udea.gpx.service.StageResultBatchService;
+import com.udea.gpx.service.StageResultExportService;
 import com.udea.gpx.service.StageResultService;
 import com.udea.gpx.util.AuthUtils;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +34,12 @@ class StageResultControllerTest {
     @Mock
     private StageResultService stageResultService;
     @Mock
+    private StageResultBatchService stageResultBatchService;
+    @Mock
+    private StageResultExportService stageResultExportService;
+    @Mock
+    private ClassificationStreamService classificationStreamService;
+    @Mock
     private AuthUtils authUtils;
     @InjectMocks
     private StageResultController controller;
@@ -148,8 +159,10 @@ class StageResultControllerTest {
     @DisplayName("getClasificacionCompleta - Success with eventId only")
     void getClasificacionCompleta_successWithEventIdOnly() {
         List<ClasificacionCompletaDTO> list = Collections.emptyList();
-        when(stageResultService.getClasificacionGeneral(anyLong())).thenReturn(list);
-        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, null, null);
+        when(stageResultService.getClasificacionVersionada(1L, null, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 5L, "a1", list));
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, null, null,
+                null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(list);
         verify(stageResultService).updateElapsedTimesForEvent(1L);
@@ -159,8 +172,10 @@ class StageResultControllerTest {
     @DisplayName("getClasificacionCompleta - Success with categoryId")
     void getClasificacionCompleta_successWithCategoryId() {
         List<ClasificacionCompletaDTO> list = Collections.emptyList();
-        when(stageResultService.getClasificacionPorCategoria(anyLong(), anyLong())).thenReturn(list);
-        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, 2L, null);
+        when(stageResultService.getClasificacionVersionada(1L, 2L, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 5L, "a1", list));
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, 2L, null,
+                null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(list);
         verify(stageResultService).updateElapsedTimesForEvent(1L);
@@ -170,8 +185,10 @@ class StageResultControllerTest {
     @DisplayName("getClasificacionCompleta - Success with stageNumber")
     void getClasificacionCompleta_successWithStageNumber() {
         List<ClasificacionCompletaDTO> list = Collections.emptyList();
-        when(stageResultService.getClasificacionPorStage(anyLong(), anyInt())).thenReturn(list);
-        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, null, 3);
+        when(stageResultService.getClasificacionVersionada(1L, null, 3))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 5L, "a1", list));
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, null, 3,
+                null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(list);
         verify(stageResultService).updateElapsedTimesForEvent(1L);
@@ -181,18 +198,72 @@ class StageResultControllerTest {
     @DisplayName("getClasificacionByStage - Success")
     void getClasificacionByStage_success() {
         List<ClasificacionCompletaDTO> list = Collections.emptyList();
-        when(stageResultService.getClasificacionPorStage(anyLong(), anyInt())).thenReturn(list);
-        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionByStage(1L, 2);
+        when(stageResultService.getClasificacionVersionada(1L, null, 2))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 5L, "a1", list));
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionByStage(1L, 2, null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualTo(list);
         verify(stageResultService).updateElapsedTimesForEvent(1L);
     }
 
+    @Test
+    @DisplayName("getClasificacionCompleta - Debe incluir la versión como ETag")
+    void getClasificacionCompleta_shouldReturnETag() {
+        when(stageResultService.getClasificacionVersionada(1L, null, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 5L, "a1", Collections.emptyList()));
+
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, null, null,
+                null);
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-5-a1\"");
+    }
+
+    @Test
+    @DisplayName("getClasificacionCompleta - Debe responder 304 desde la cache sin recalcular")
+    void getClasificacionCompleta_shouldReturnNotModifiedFromCache() {
+        when(stageResultService.getClasificacionCacheada(1L, 2L, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 5L, "a1", Collections.emptyList()));
+
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, 2L, null,
+                "W/\"1-4-a1\", \"1-5-a1\"");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        verify(stageResultService, never()).updateElapsedTimesForEvent(anyLong());
+        verify(stageResultService, never()).getClasificacionVersionada(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getClasificacionCompleta - Debe responder 200 si el ETag cambió")
+    void getClasificacionCompleta_shouldReturnOkWhenETagChanged() {
+        when(stageResultService.getClasificacionCacheada(1L, null, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 6L, "a1", Collections.emptyList()));
+
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, null, null,
+                "\"1-5-a1\"");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-6-a1\"");
+    }
+
+    @Test
+    @DisplayName("getClasificacionCompleta - Debe responder 200 si la misma versión viene de otra instancia")
+    void getClasificacionCompleta_shouldReturnOkForSameVersionFromOtherInstance() {
+        when(stageResultService.getClasificacionCacheada(1L, null, null))
+                .thenReturn(new ClasificacionVersionadaDTO(1L, 5L, "b2", Collections.emptyList()));
+
+        ResponseEntity<List<ClasificacionCompletaDTO>> response = controller.getClasificacionCompleta(1L, null, null,
+                "\"1-5-a1\"");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-5-b2\"");
+    }
+
     @Test
     @DisplayName("updateElapsedTimesForEvent - Forbidden for non-admin")
     void updateElapsedTimesForEvent_forbidden() {
         when(authUtils.isCurrentUserAdmin()).thenReturn(false);
-        ResponseEntity<Void> response = controller.updateElapsedTimesForEvent(1L);
+        ResponseEntity<ElapsedTimeRecomputeDTO> response = controller.updateElapsedTimesForEvent(1L);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
     }
 
@@ -200,17 +271,20 @@ class StageResultControllerTest {
     @DisplayName("updateElapsedTimesForEvent - Success")
     void updateElapsedTimesForEvent_success() {
         when(authUtils.isCurrentUserAdmin()).thenReturn(true);
-        ResponseEntity<Void> response = controller.updateElapsedTimesForEvent(1L);
+        ElapsedTimeRecomputeDTO report = new ElapsedTimeRecomputeDTO(1L, 24, 3, 12L);
+        when(stageResultService.recalcularTiemposTranscurridos(1L)).thenReturn(report);
+        ResponseEntity<ElapsedTimeRecomputeDTO> response = controller.updateElapsedTimesForEvent(1L);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(stageResultService).updateElapsedTimesForEvent(1L);
+        assertThat(response.getBody()).isEqualTo(report);
+        verify(stageResultService).recalcularTiemposTranscurridos(1L);
     }
 
     @Test
     @DisplayName("updateElapsedTimesForEvent - InternalServerError on RuntimeException")
     void updateElapsedTimesForEvent_internalError() {
         when(authUtils.isCurrentUserAdmin()).thenReturn(true);
-        doThrow(new RuntimeException("fail")).when(stageResultService).updateElapsedTimesForEvent(anyLong());
-        ResponseEntity<Void> response = controller.updateElapsedTimesForEvent(1L);
+        when(stageResultService.recalcularTiemposTranscurridos(anyLong())).thenThrow(new RuntimeException("fail"));
+        ResponseEntity<ElapsedTimeRecomputeDTO> response = controller.updateElapsedTimesForEvent(1L);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
@@ -14,6 +14,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.List;
@@ -24,6 +29,7 @@ import java.util.Map;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -121,15 +127,12 @@ class VehicleControllerTest {
     void getVehiclesByCategory_success() {
         // Preparar categoría y vehículos
         Vehicle vehicle1 = new Vehicle();
-        Vehicle vehicle2 = new Vehicle();
         com.udea.gpx.model.Category category = new com.udea.gpx.model.Category();
         category.setId(1L);
         vehicle1.setCategory(category);
 
-        List<Vehicle> allVehicles = List.of(vehicle1, vehicle2);
-
         when(authUtils.isCurrentUserAdmin()).thenReturn(true);
-        when(vehicleService.getAllVehicles()).thenReturn(allVehicles);
+        when(vehicleService.getVehiclesByCategoryId(1L)).thenReturn(List.of(vehicle1));
 
         ResponseEntity<List<Vehicle>> response = controller.getVehiclesByCategory(1L);
 
@@ -158,15 +161,8 @@ class VehicleControllerTest {
         Vehicle vehicle1 = new Vehicle();
         vehicle1.setUser(user);
 
-        Vehicle vehicle2 = new Vehicle();
-        User otherUser = new User();
-        otherUser.setId(2L);
-        vehicle2.setUser(otherUser);
-
-        List<Vehicle> allVehicles = List.of(vehicle1, vehicle2);
-
         when(authUtils.isCurrentUserOrAdmin(1L)).thenReturn(true);
-        when(vehicleService.getAllVehicles()).thenReturn(allVehicles);
+        when(vehicleService.getVehiclesByUserId(1L)).thenReturn(List.of(vehicle1));
 
         ResponseEntity<List<Vehicle>> response = controller.getVehiclesByUser(1L);
 
@@ -175,6 +171,55 @@ class VehicleControllerTest {
         assertThat(response.getBody().get(0)).isEqualTo(vehicle1);
     }
 
+    @Test
+    @DisplayName("getVehiclesByUserPaginated - Debe pedir una página acotada y ordenada por id")
+    void getVehiclesByUserPaginated_shouldClampPageSize() {
+        Vehicle vehicle = new Vehicle();
+        Page<Vehicle> page = new PageImpl<>(List.of(vehicle));
+        when(authUtils.isCurrentUserOrAdmin(1L)).thenReturn(true);
+        when(vehicleService.getVehiclesByUserId(eq(1L), any(Pageable.class))).thenReturn(page);
+
+        ResponseEntity<Page<Vehicle>> response = controller.getVehiclesByUserPaginated(1L, 0, 1_000);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(page);
+        verify(vehicleService).getVehiclesByUserId(1L, PageRequest.of(0, 100, Sort.by("id")));
+    }
+
+    @Test
+    @DisplayName("getVehiclesByUserPaginated - Forbidden when not owner or admin")
+    void getVehiclesByUserPaginated_forbidden() {
+        when(authUtils.isCurrentUserOrAdmin(1L)).thenReturn(false);
+
+        ResponseEntity<Page<Vehicle>> response = controller.getVehiclesByUserPaginated(1L, 0, 10);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        verifyNoInteractions(vehicleService);
+    }
+
+    @Test
+    @DisplayName("getVehiclesByCategoryPaginated - Success for admin")
+    void getVehiclesByCategoryPaginated_success() {
+        Page<Vehicle> page = new PageImpl<>(List.of(new Vehicle()));
+        when(authUtils.isCurrentUserAdmin()).thenReturn(true);
+        when(vehicleService.getVehiclesByCategoryId(1L, PageRequest.of(2, 10, Sort.by("id")))).thenReturn(page);
+
+        ResponseEntity<Page<Vehicle>> response = controller.getVehiclesByCategoryPaginated(1L, 2, 10);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(page);
+    }
+
+    @Test
+    @DisplayName("getVehiclesByCategoryPaginated - Forbidden for non-admin")
+    void getVehiclesByCategoryPaginated_forbidden() {
+        when(authUtils.isCurrentUserAdmin()).thenReturn(false);
+
+        ResponseEntity<Page<Vehicle>> response = controller.getVehiclesByCategoryPaginated(1L, 0, 10);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
     @Test
     @DisplayName("deleteVehicle - Not found")
     void deleteVehicle_notFound() {
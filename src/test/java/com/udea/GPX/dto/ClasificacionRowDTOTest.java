@@ -0,0 +1,61 @@
+package com.udea.gpx.dto;
+
+import com.udea.gpx.model.*;
+import com.udea.gpx.util.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClasificacionRowDTO Tests")
+class ClasificacionRowDTOTest {
+
+    @Test
+    @DisplayName("Constructor de proyección - Debe convertir penalizaciones a segundos")
+    void testProjectionConstructor() {
+        ClasificacionRowDTO row = new ClasificacionRowDTO(1L, 2L, 3, 4L, "Toyota Hilux", 5L, "Juan", "Pérez",
+                "pic.jpg", "Team Alpha", 6L, "Pro", 1800, Duration.ofSeconds(30), null, Duration.ofSeconds(10));
+
+        assertEquals("Juan Pérez", row.getDriverName());
+        assertEquals(30, row.getPenaltyWaypointSeconds());
+        assertEquals(0, row.getPenaltySpeedSeconds());
+        assertEquals(1820, row.getAdjustedTimeSeconds());
+        assertEquals(1820, row.toStageTimeCell().getAdjustedTimeSeconds());
+        assertEquals(1L, row.toStageTimeCell().getStageResultId());
+    }
+
+    @Test
+    @DisplayName("Constructor de proyección - Vehículo sin piloto")
+    void testProjectionConstructorWithoutUser() {
+        ClasificacionRowDTO row = new ClasificacionRowDTO(1L, 2L, 1, 4L, "Toyota Hilux", null, null, null,
+                null, null, null, null, null, null, null, null);
+
+        assertEquals("", row.getDriverName());
+        assertEquals("", row.getUserPicture());
+        assertEquals("", row.getTeamName());
+        assertEquals(0, row.getAdjustedTimeSeconds());
+    }
+
+    @Test
+    @DisplayName("from - Debe coincidir con la proyección de la entidad")
+    void testFromEntity() {
+        Event event = TestDataBuilder.buildEvent(1L, "Rally");
+        Stage stage = TestDataBuilder.buildStage(1L, "Stage 1", event, 2);
+        Vehicle vehicle = TestDataBuilder.buildVehicle(10L, TestDataBuilder.buildUser(1L, "Ana", false),
+                TestDataBuilder.buildCategory(3L, "Motos"));
+        StageResult result = TestDataBuilder.buildStageResult(7L, vehicle, stage);
+        result.setElapsedTimeSeconds(100);
+        result.setPenaltySpeed(Duration.ofSeconds(20));
+
+        ClasificacionRowDTO row = ClasificacionRowDTO.from(result);
+
+        assertEquals(7L, row.getResultId());
+        assertEquals(1L, row.getEventId());
+        assertEquals(2, row.getStageOrder());
+        assertEquals(10L, row.getVehicleId());
+        assertEquals(3L, row.getCategoryId());
+        assertEquals(120, row.getAdjustedTimeSeconds());
+    }
+}
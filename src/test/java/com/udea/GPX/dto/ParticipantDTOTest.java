@@ -86,6 +86,23 @@ class ParticipantDTOTest {
             assertEquals(registrationDate, dto.getRegistrationDate());
         }
 
+        @Test
+        @DisplayName("Projection constructor should build full name and default category")
+        void testProjectionConstructor() {
+            ParticipantDTO dto = new ParticipantDTO(1L, 2L, "Juan", "Pérez", null, "Team Alpha",
+                    3L, "Vehicle", "ABC123", null, null, null);
+            ParticipantDTO noLastName = new ParticipantDTO(1L, 2L, "Juan", null, null, null,
+                    3L, "Vehicle", "ABC123", null, 4L, "Pro");
+
+            assertEquals("Juan Pérez", dto.getUserName());
+            assertEquals("Team Alpha", dto.getTeamName());
+            assertNull(dto.getCategoryId());
+            assertEquals("Sin categoría", dto.getCategoryName());
+            assertNull(dto.getRegistrationDate());
+            assertEquals("Juan", noLastName.getUserName());
+            assertEquals("Pro", noLastName.getCategoryName());
+        }
+
         @Test
         @DisplayName("Constructor with minimum required values should work")
         void testConstructorWithMinimumValues() {
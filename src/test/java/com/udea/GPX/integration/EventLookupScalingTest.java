@@ -0,0 +1,291 @@
+package com.udea.gpx.integration;
+
+import com.udea.gpx.dto.ClasificacionRowDTO;
+import com.udea.gpx.dto.ParticipantDTO;
+import com.udea.gpx.dto.UserSummaryDTO;
+import com.udea.gpx.model.Category;
+import com.udea.gpx.model.Event;
+import com.udea.gpx.model.EventCategory;
+import com.udea.gpx.model.EventVehicle;
+import com.udea.gpx.model.Stage;
+import com.udea.gpx.model.User;
+import com.udea.gpx.model.Vehicle;
+import com.udea.gpx.repository.IEventCategoryRepository;
+import com.udea.gpx.repository.IEventVehicleRepository;
+import com.udea.gpx.repository.IStageRepository;
+import com.udea.gpx.repository.IStageResultRepository;
+import com.udea.gpx.repository.IUserRepository;
+import com.udea.gpx.repository.IVehicleRepository;
+import com.udea.gpx.util.TestDataBuilder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de regresión de las consultas de etapas y categorías por evento
+ * y de resultados, vehículos y resúmenes de usuarios.
+ * <p>
+ * Mide sentencias ejecutadas y entidades cargadas (no tiempo de reloj, que
+ * varía entre máquinas) antes y después de agregar historial de otros
+ * eventos: el costo de la consulta debe depender solo del evento pedido.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:lookupdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=password",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Event lookup scaling benchmark")
+class EventLookupScalingTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventLookupScalingTest.class);
+
+  private static final int STAGES_PER_EVENT = 5;
+  private static final int HISTORICAL_EVENTS = 300;
+  private static final int PARTICIPANTS = 500;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private IStageRepository stageRepository;
+
+  @Autowired
+  private IEventCategoryRepository eventCategoryRepository;
+
+  @Autowired
+  private IEventVehicleRepository eventVehicleRepository;
+
+  @Autowired
+  private IVehicleRepository vehicleRepository;
+
+  @Autowired
+  private IUserRepository userRepository;
+
+  @Autowired
+  private IStageResultRepository stageResultRepository;
+
+  private List<Category> categories;
+  private Long targetEventId;
+
+  @BeforeEach
+  void setUp() {
+    categories = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      categories.add(entityManager.persist(TestDataBuilder.buildCategory(null, "Cat " + i)));
+    }
+    targetEventId = persistEvent("Target").getId();
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  private Event persistEvent(String name) {
+    Event event = entityManager.persist(TestDataBuilder.buildEvent(null, name));
+    for (int order = 1; order <= STAGES_PER_EVENT; order++) {
+      entityManager.persist(TestDataBuilder.buildStage(null, "Stage " + order, event, order));
+    }
+    for (Category category : categories) {
+      entityManager.persist(new EventCategory(null, event, category));
+    }
+    return event;
+  }
+
+  private void addHistory() {
+    for (int i = 0; i < HISTORICAL_EVENTS; i++) {
+      persistEvent("Historic " + i);
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Ejecuta la consulta con la sesión vacía y devuelve {sentencias, entidades
+   * cargadas, filas}
+   */
+  private long[] measure(Supplier<List<?>> lookup) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    entityManager.clear();
+    statistics.clear();
+    long start = System.nanoTime();
+    int rows = lookup.get().size();
+    long micros = (System.nanoTime() - start) / 1_000;
+    logger.info("Consulta por evento: {} filas, {} sentencias, {} entidades, {} µs", rows,
+        statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), micros);
+    return new long[] { statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), rows };
+  }
+
+  @Test
+  @DisplayName("findAllWithEventByEventId - El costo no crece con el historial de otros eventos")
+  void stagesByEvent_costShouldStayFlat() {
+    long[] before = measure(() -> stageRepository.findAllWithEventByEventId(targetEventId));
+    addHistory();
+    long[] after = measure(() -> stageRepository.findAllWithEventByEventId(targetEventId));
+
+    assertThat(before[0]).isEqualTo(1);
+    assertThat(before[2]).isEqualTo(STAGES_PER_EVENT);
+    assertThat(after).containsExactly(before);
+    assertThat(stageRepository.count()).isEqualTo((long) STAGES_PER_EVENT * (HISTORICAL_EVENTS + 1));
+  }
+
+  @Test
+  @DisplayName("findAllWithEventAndCategoryByEventId - El costo no crece con el historial de otros eventos")
+  void categoriesByEvent_costShouldStayFlat() {
+    long[] before = measure(() -> eventCategoryRepository.findAllWithEventAndCategoryByEventId(targetEventId));
+    addHistory();
+    long[] after = measure(() -> eventCategoryRepository.findAllWithEventAndCategoryByEventId(targetEventId));
+
+    assertThat(before[0]).isEqualTo(1);
+    assertThat(before[2]).isEqualTo(categories.size());
+    assertThat(after).containsExactly(before);
+  }
+
+  @Test
+  @DisplayName("findParticipantsByEventId - Los participantes llegan en una sola consulta sin cargar entidades")
+  void participantsByEvent_shouldTakeOneRoundTrip() {
+    Event target = entityManager.find(Event.class, targetEventId);
+    for (int i = 1; i <= PARTICIPANTS; i++) {
+      User rider = entityManager.persist(TestDataBuilder.buildUser(null, "Rider" + i, false));
+      Vehicle vehicle = TestDataBuilder.buildVehicle((long) i, rider, i % 10 == 0 ? null : categories.get(i % 3));
+      vehicle.setId(null);
+      entityManager.persist(new EventVehicle(null, target, entityManager.persist(vehicle)));
+    }
+    entityManager.flush();
+
+    long[] cost = measure(() -> eventVehicleRepository.findParticipantsByEventId(targetEventId));
+    List<ParticipantDTO> participants = eventVehicleRepository.findParticipantsByEventId(targetEventId);
+
+    assertThat(cost).containsExactly(1, 0, PARTICIPANTS);
+    assertThat(participants.get(0).getUserName()).isEqualTo("Rider1 TestLastName");
+    assertThat(participants.get(0).getCategoryName()).isEqualTo("Cat 1");
+    assertThat(participants.get(9).getCategoryId()).isNull();
+    assertThat(participants.get(9).getCategoryName()).isEqualTo("Sin categoría");
+  }
+
+  @Test
+  @DisplayName("findByUserIdOrderByIdAsc - El costo depende solo de los vehículos del usuario")
+  void vehiclesByUser_costShouldStayFlat() {
+    User owner = entityManager.persist(TestDataBuilder.buildUser(null, "Owner", false));
+    for (int i = 0; i < 3; i++) {
+      persistVehicle(owner, categories.get(i));
+    }
+    entityManager.flush();
+    Long ownerId = owner.getId();
+
+    long[] before = measure(() -> vehicleRepository.findByUserIdOrderByIdAsc(ownerId));
+    for (int i = 1; i <= PARTICIPANTS; i++) {
+      persistVehicle(entityManager.persist(TestDataBuilder.buildUser(null, "Other" + i, false)),
+          categories.get(i % 3));
+    }
+    entityManager.flush();
+    long[] after = measure(() -> vehicleRepository.findByUserIdOrderByIdAsc(ownerId));
+    Page<Vehicle> page = vehicleRepository.findByCategoryId(categories.get(0).getId(),
+        PageRequest.of(0, 10, Sort.by("id")));
+
+    assertThat(before[0]).isEqualTo(1);
+    assertThat(before[2]).isEqualTo(3);
+    assertThat(after).containsExactly(before);
+    assertThat(page.getContent()).hasSize(10);
+    assertThat(page.getTotalElements()).isEqualTo(1 + PARTICIPANTS / 3);
+  }
+
+  @Test
+  @DisplayName("findSummariesAfter - Las páginas por cursor recorren todos los usuarios sin cargar entidades")
+  void userSummaries_shouldSeekWithoutLoadingEntities() {
+    for (int i = 1; i <= PARTICIPANTS; i++) {
+      entityManager.persist(TestDataBuilder.buildUser(null, "Driver" + i, i % 100 == 0));
+    }
+    entityManager.flush();
+
+    long[] firstPage = measure(() -> userRepository.findSummariesAfter(0L, PageRequest.ofSize(50)));
+    List<Long> seen = new ArrayList<>();
+    Long cursor = 0L;
+    List<UserSummaryDTO> page;
+    do {
+      page = userRepository.findSummariesAfter(cursor, PageRequest.ofSize(50));
+      page.forEach(summary -> seen.add(summary.getId()));
+      cursor = page.isEmpty() ? cursor : page.get(page.size() - 1).getId();
+    } while (!page.isEmpty());
+    long[] lastPage = measure(() -> userRepository.findSummariesAfter(seen.get(seen.size() - 10), PageRequest.ofSize(50)));
+
+    assertThat(firstPage).containsExactly(1, 0, 50);
+    assertThat(lastPage).containsExactly(1, 0, 9);
+    assertThat(seen).hasSize(PARTICIPANTS).isSorted().doesNotHaveDuplicates();
+    assertThat(userRepository.findAdminSummaries()).hasSize(PARTICIPANTS / 100)
+        .allSatisfy(summary -> assertThat(summary.isAdmin()).isTrue());
+    assertThat(userRepository.findByAdminTrueOrderByIdAsc()).hasSize(PARTICIPANTS / 100)
+        .allSatisfy(user -> assertThat(user.isAdmin()).isTrue());
+  }
+
+  @Test
+  @DisplayName("findClasificacionRowsByEventId - Filtra y ordena por las columnas copiadas en stage_result")
+  void classificationRows_shouldUseDenormalizedColumns() {
+    List<Stage> stages = stageRepository.findAllWithEventByEventId(targetEventId);
+    User rider = entityManager.persist(TestDataBuilder.buildUser(null, "Racer", false));
+    Vehicle vehicle = entityManager.persist(TestDataBuilder.buildVehicle(null, rider, categories.get(0)));
+    for (int i = stages.size() - 1; i >= 0; i--) {
+      entityManager.persist(TestDataBuilder.buildStageResult(null, vehicle, stages.get(i)));
+    }
+    addHistory();
+
+    long[] cost = measure(() -> stageResultRepository.findClasificacionRowsByEventId(targetEventId));
+    List<ClasificacionRowDTO> rows = stageResultRepository.findClasificacionRowsByEventId(targetEventId);
+
+    assertThat(cost).containsExactly(1, 0, STAGES_PER_EVENT);
+    assertThat(rows).extracting(ClasificacionRowDTO::getStageOrder).containsExactly(1, 2, 3, 4, 5);
+    assertThat(rows).allSatisfy(row -> assertThat(row.getEventId()).isEqualTo(targetEventId));
+
+    // Reasignar el orden de la primera etapa se propaga a sus resultados
+    assertThat(stageResultRepository.syncStageColumns(stages.get(0).getId(), targetEventId, 9)).isEqualTo(1);
+    assertThat(stageResultRepository.findClasificacionRowsByEventIdAndStageNumber(targetEventId, 9)).hasSize(1);
+
+    // Las filas sin copia se completan desde su etapa
+    entityManager.getEntityManager().createNativeQuery("UPDATE stage_result SET event_id = NULL, stage_order = NULL")
+        .executeUpdate();
+    assertThat(stageResultRepository.countByEventId(targetEventId)).isZero();
+    assertThat(stageResultRepository.backfillStageColumns()).isEqualTo(STAGES_PER_EVENT);
+    assertThat(stageResultRepository.countByEventId(targetEventId)).isEqualTo(STAGES_PER_EVENT);
+    assertThat(stageResultRepository.findClasificacionRowsByEventIdAndStageNumber(targetEventId, 1)).hasSize(1);
+  }
+
+  private void persistVehicle(User owner, Category category) {
+    entityManager.persist(TestDataBuilder.buildVehicle(null, owner, category));
+  }
+
+  @Test
+  @DisplayName("Las etapas deben llegar ordenadas y con el evento ya cargado")
+  void stagesByEvent_shouldReturnOrderedStagesWithEvent() {
+    addHistory();
+    entityManager.clear();
+
+    List<Stage> stages = stageRepository.findAllWithEventByEventId(targetEventId);
+
+    assertThat(stages).extracting(Stage::getOrderNumber).containsExactly(1, 2, 3, 4, 5);
+    assertThat(stages).allSatisfy(stage -> assertThat(stage.getEvent().getName()).isEqualTo("Target"));
+  }
+}
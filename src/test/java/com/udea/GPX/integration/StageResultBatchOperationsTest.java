@@ -0,0 +1,79 @@
+package com.udea.gpx.integration;
+
+import com.udea.gpx.model.Event;
+import com.udea.gpx.model.Stage;
+import com.udea.gpx.model.StageResult;
+import com.udea.gpx.model.User;
+import com.udea.gpx.model.Vehicle;
+import com.udea.gpx.repository.IStageResultRepository;
+import com.udea.gpx.util.TestDataBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserción masiva de resultados contra H2: las filas deben quedar igual que
+ * las creadas una a una
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:batchdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=password",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("StageResultBatchOperations Tests")
+class StageResultBatchOperationsTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private IStageResultRepository stageResultRepository;
+
+  @Test
+  @DisplayName("batchInsertResults - Debe inicializar las penalizaciones en cero")
+  void batchInsertResults_shouldStoreZeroPenalties() {
+    // Given
+    Event event = entityManager.persist(TestDataBuilder.buildEvent(null, "Batch Event"));
+    Stage stage = entityManager.persist(TestDataBuilder.buildStage(null, "Stage 1", event, 1));
+    User rider = entityManager.persist(TestDataBuilder.buildUser(null, "Rider", false));
+    Vehicle vehicle = TestDataBuilder.buildVehicle(1L, rider, null);
+    vehicle.setId(null);
+    vehicle = entityManager.persist(vehicle);
+    entityManager.flush();
+
+    StageResult result = new StageResult();
+    result.setStage(stage);
+    result.setVehicle(vehicle);
+    result.setTimestamp(LocalDateTime.now());
+    result.setLatitude(4.6097);
+    result.setLongitude(-74.0817);
+
+    // When
+    List<Long> ids = stageResultRepository.batchInsertResults(List.of(result));
+    entityManager.clear();
+
+    // Then
+    assertThat(ids).hasSize(1);
+    StageResult stored = stageResultRepository.findById(ids.get(0)).orElseThrow();
+    assertThat(stored.getPenaltyWaypoint()).isEqualTo(Duration.ZERO);
+    assertThat(stored.getPenaltySpeed()).isEqualTo(Duration.ZERO);
+    assertThat(stored.getDiscountClaim()).isEqualTo(Duration.ZERO);
+    assertThat(stored.getEventId()).isEqualTo(event.getId());
+    assertThat(stageResultRepository.findByEventIdWithPenalties(event.getId()))
+        .extracting(StageResult::getId).containsExactly(ids.get(0));
+  }
+}
@@ -421,6 +421,49 @@ class StageResultTest {
     @DisplayName("Relationship Tests")
     class RelationshipTests {
 
+        @Test
+        @DisplayName("Should copy event and stage order when the stage is reassigned")
+        void shouldCopyEventAndStageOrderFromStage() {
+            // Given
+            Event event1 = new Event(1L, "Rally 1", "Location", "Details",
+                    LocalDate.now(), LocalDate.now().plusDays(1));
+            Event event2 = new Event(2L, "Rally 2", "Location", "Details",
+                    LocalDate.now(), LocalDate.now().plusDays(1));
+            StageResult stageResult = new StageResult();
+
+            // When
+            stageResult.setStage(new Stage(1L, "Etapa 1", 1, false, event1));
+
+            // Then
+            assertEquals(1L, stageResult.getEventId());
+            assertEquals(1, stageResult.getStageOrder());
+
+            // When - Reassign to a stage of another event
+            stageResult.setStage(new Stage(5L, "Etapa 3", 3, false, event2));
+
+            // Then
+            assertEquals(2L, stageResult.getEventId());
+            assertEquals(3, stageResult.getStageOrder());
+        }
+
+        @Test
+        @DisplayName("Should refresh copied columns from the stage before saving")
+        void shouldRefreshCopiedColumnsBeforeSaving() {
+            // Given
+            Event event = new Event(1L, "Rally", "Location", "Details",
+                    LocalDate.now(), LocalDate.now().plusDays(1));
+            Stage stage = new Stage(1L, "Etapa 1", 1, false, event);
+            StageResult stageResult = new StageResult();
+            stageResult.setStage(stage);
+
+            // When - The stage changes after being assigned
+            stage.setOrderNumber(4);
+            stageResult.syncStageColumns();
+
+            // Then
+            assertEquals(4, stageResult.getStageOrder());
+        }
+
         @Test
         @DisplayName("Should maintain stage relationship")
         void shouldMaintainStageRelationship() {
@@ -0,0 +1,125 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.dto.ClasificacionRowDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
+import com.udea.gpx.model.*;
+import com.udea.gpx.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClassificationCacheService Tests")
+class ClassificationCacheServiceTest {
+
+    private StandingsEngine standingsEngine;
+    private ClassificationCacheService classificationCacheService;
+
+    private StageResult resultEvent1;
+    private StageResult resultEvent2;
+
+    @BeforeEach
+    void setUp() {
+        standingsEngine = new StandingsEngine(300, new InMemoryStandingsVersionStore());
+        classificationCacheService = new ClassificationCacheService(
+                new ConcurrentMapCacheManager(ClassificationCacheService.CACHE_NAME), standingsEngine);
+
+        Category category = TestDataBuilder.buildCategory(1L, "Motos");
+        Vehicle vehicle = TestDataBuilder.buildVehicle(1L, TestDataBuilder.buildUser(1L, "Ana", false), category);
+        resultEvent1 = TestDataBuilder.buildStageResult(10L, vehicle,
+                TestDataBuilder.buildStage(1L, "Stage 1", TestDataBuilder.buildEvent(1L, "Rally 1"), 1));
+        resultEvent1.setElapsedTimeSeconds(100);
+        resultEvent2 = TestDataBuilder.buildStageResult(20L, vehicle,
+                TestDataBuilder.buildStage(2L, "Stage 1", TestDataBuilder.buildEvent(2L, "Rally 2"), 1));
+        resultEvent2.setElapsedTimeSeconds(200);
+    }
+
+    private ClasificacionVersionadaDTO computeAndCache(Long eventId, Long categoryId, Integer stageNumber,
+            StageResult result) {
+        Supplier<List<ClasificacionRowDTO>> loader = () -> List.of(ClasificacionRowDTO.from(result));
+        ClasificacionVersionadaDTO view = standingsEngine.getVersioned(eventId, categoryId, stageNumber, loader);
+        classificationCacheService.put(categoryId, stageNumber, view);
+        return view;
+    }
+
+    @Test
+    @DisplayName("get - Debe devolver la vista guardada mientras la versión no cambie")
+    void get_shouldReturnCurrentView() {
+        // Given
+        ClasificacionVersionadaDTO general = computeAndCache(1L, null, null, resultEvent1);
+        ClasificacionVersionadaDTO byCategory = computeAndCache(1L, 1L, null, resultEvent1);
+
+        // Then
+        assertThat(classificationCacheService.get(1L, null, null)).isSameAs(general);
+        assertThat(classificationCacheService.get(1L, 1L, null)).isSameAs(byCategory);
+        assertThat(classificationCacheService.get(1L, null, 1)).isNull();
+    }
+
+    @Test
+    @DisplayName("get - Debe invalidar solo el evento afectado por una escritura")
+    void get_shouldInvalidateOnlyAffectedEvent() {
+        // Given
+        computeAndCache(1L, null, null, resultEvent1);
+        ClasificacionVersionadaDTO otherEvent = computeAndCache(2L, null, null, resultEvent2);
+
+        // When
+        resultEvent1.setPenaltyWaypoint(Duration.ofSeconds(30));
+        standingsEngine.onResultSaved(resultEvent1);
+
+        // Then
+        assertThat(classificationCacheService.get(1L, null, null)).isNull();
+        assertThat(classificationCacheService.get(2L, null, null)).isSameAs(otherEvent);
+    }
+
+    @Test
+    @DisplayName("get - Debe descartar vistas calculadas con una versión anterior")
+    void get_shouldRejectStaleVersion() {
+        // Given
+        ClasificacionVersionadaDTO view = computeAndCache(1L, null, null, resultEvent1);
+
+        // When: una vista guardada tarde, después de que el evento cambió
+        standingsEngine.evictEvent(1L);
+        classificationCacheService.put(null, null, view);
+        computeAndCache(1L, 1L, null, resultEvent1);
+
+        // Then
+        assertThat(classificationCacheService.get(1L, null, null)).isNull();
+        assertThat(classificationCacheService.get(1L, 1L, null)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("ClasificacionVersionadaDTO - El ETag debe cambiar con la versión")
+    void eTag_shouldChangeWithVersion() {
+        ClasificacionVersionadaDTO before = computeAndCache(1L, null, null, resultEvent1);
+        standingsEngine.evictEvent(1L);
+        ClasificacionVersionadaDTO after = computeAndCache(1L, null, null, resultEvent1);
+
+        assertThat(before.getETag()).startsWith("\"1-").endsWith("\"");
+        assertThat(after.getETag()).isNotEqualTo(before.getETag());
+    }
+
+    @Test
+    @DisplayName("ClasificacionVersionadaDTO - Dos instancias no deben generar el mismo ETag")
+    void eTag_shouldNotCollideAcrossInstances() {
+        // Given: otro proceso (reinicio u otro nodo) con su propio contador
+        StandingsEngine otherEngine = new StandingsEngine(300, new InMemoryStandingsVersionStore());
+        Supplier<List<ClasificacionRowDTO>> loader = () -> List.of(ClasificacionRowDTO.from(resultEvent1));
+
+        // When
+        ClasificacionVersionadaDTO view = standingsEngine.getVersioned(1L, null, null, loader);
+        ClasificacionVersionadaDTO otherView = otherEngine.getVersioned(1L, null, null, loader);
+        ClasificacionVersionadaDTO sameVersion = new ClasificacionVersionadaDTO(1L, view.getVersion(),
+                otherEngine.getInstanceId(), otherView.getRows());
+
+        // Then
+        assertThat(otherEngine.getInstanceId()).isNotEqualTo(standingsEngine.getInstanceId());
+        assertThat(otherView.getETag()).isNotEqualTo(view.getETag());
+        assertThat(sameVersion.getETag()).isNotEqualTo(view.getETag());
+    }
+}
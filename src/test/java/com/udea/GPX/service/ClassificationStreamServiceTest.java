@@ -0,0 +1,133 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.dto.ClasificacionUpdateDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.codec.ServerSentEvent;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClassificationStreamService Tests")
+class ClassificationStreamServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private StageResultService stageResultService;
+    private ClassificationStreamService classificationStreamService;
+    private Consumer<ClasificacionUpdateDTO> listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stageResultService = mock(StageResultService.class);
+        StandingsEngine standingsEngine = mock(StandingsEngine.class);
+        classificationStreamService = new ClassificationStreamService(stageResultService, standingsEngine);
+
+        ArgumentCaptor<Consumer<ClasificacionUpdateDTO>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(standingsEngine).addListener(captor.capture());
+        listener = captor.getValue();
+    }
+
+    private static ClasificacionUpdateDTO delta(long version) {
+        return new ClasificacionUpdateDTO(ClasificacionUpdateDTO.TYPE_DELTA, EVENT_ID, version, version - 1);
+    }
+
+    /**
+     * Versiones de los mensajes con datos, sin los comentarios de keep-alive
+     */
+    private Flux<Long> versions() {
+        return classificationStreamService.subscribe(EVENT_ID)
+                .map(ServerSentEvent::data)
+                .filter(update -> update != null)
+                .map(ClasificacionUpdateDTO::getVersion);
+    }
+
+    @Test
+    @DisplayName("subscribe - Un cambio emitido mientras se arma el snapshot se entrega una sola vez")
+    void subscribe_shouldDeliverChangeDuringSnapshotOnce() {
+        // Given
+        when(stageResultService.getClasificacionSnapshot(EVENT_ID)).thenAnswer(inv -> {
+            listener.accept(delta(6));
+            return ClasificacionUpdateDTO.snapshot(EVENT_ID, 5, List.of());
+        });
+        List<Long> received = new CopyOnWriteArrayList<>();
+
+        // When
+        Disposable subscription = versions().subscribe(received::add);
+        await(() -> received.size() >= 2);
+        listener.accept(delta(7));
+        await(() -> received.size() >= 3);
+        subscription.dispose();
+
+        // Then
+        assertThat(received).containsExactly(5L, 6L, 7L);
+    }
+
+    @Test
+    @DisplayName("subscribe - No debe reenviar cambios ya incluidos en el snapshot")
+    void subscribe_shouldSkipChangesCoveredBySnapshot() {
+        // Given
+        when(stageResultService.getClasificacionSnapshot(EVENT_ID)).thenAnswer(inv -> {
+            listener.accept(delta(4));
+            listener.accept(delta(5));
+            return ClasificacionUpdateDTO.snapshot(EVENT_ID, 5, List.of());
+        });
+        List<Long> received = new CopyOnWriteArrayList<>();
+
+        // When
+        Disposable subscription = versions().subscribe(received::add);
+        await(() -> received.size() >= 1);
+        listener.accept(delta(6));
+        await(() -> received.size() >= 2);
+        subscription.dispose();
+
+        // Then
+        assertThat(received).containsExactly(5L, 6L);
+    }
+
+    @Test
+    @DisplayName("subscribe - Debe liberar el sink del evento al cancelar el último suscriptor")
+    void subscribe_shouldReleaseSinkAfterLastSubscriberCancels() {
+        // Given
+        when(stageResultService.getClasificacionSnapshot(EVENT_ID))
+                .thenReturn(ClasificacionUpdateDTO.snapshot(EVENT_ID, 1, List.of()));
+        List<Long> first = new CopyOnWriteArrayList<>();
+        List<Long> second = new CopyOnWriteArrayList<>();
+        Disposable firstSubscription = versions().subscribe(first::add);
+        Disposable secondSubscription = versions().subscribe(second::add);
+        await(() -> !first.isEmpty() && !second.isEmpty());
+        assertThat(classificationStreamService.getSubscriberCount(EVENT_ID)).isEqualTo(2);
+
+        // When
+        firstSubscription.dispose();
+
+        // Then
+        assertThat(classificationStreamService.hasSink(EVENT_ID)).isTrue();
+        secondSubscription.dispose();
+        assertThat(classificationStreamService.getSubscriberCount(EVENT_ID)).isZero();
+        assertThat(classificationStreamService.hasSink(EVENT_ID)).isFalse();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Tiempo de espera agotado");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -38,6 +38,9 @@ class EventServiceTest {
   @Mock
   private BusinessRuleValidator businessRuleValidator;
 
+  @Mock
+  private StandingsEngine standingsEngine;
+
   @InjectMocks
   private EventService eventService;
 
@@ -292,8 +295,8 @@ class EventServiceTest {
     EventCategory category2 = TestDataBuilder.buildEventCategory(2L, testEvent,
         TestDataBuilder.buildCategory(2L, "Category 2"));
 
-    List<EventCategory> allCategories = List.of(category1, category2);
-    when(eventCategoryRepository.findAll()).thenReturn(allCategories);
+    when(eventCategoryRepository.findAllWithEventAndCategoryByEventId(1L))
+        .thenReturn(List.of(category1, category2));
 
     // When
     List<EventCategory> result = eventService.getCategoriesByEventId(1L);
@@ -302,21 +305,22 @@ class EventServiceTest {
     assertThat(result)
         .hasSize(2)
         .containsExactly(category1, category2);
-    verify(eventCategoryRepository).findAll();
+    verify(eventCategoryRepository).findAllWithEventAndCategoryByEventId(1L);
+    verify(eventCategoryRepository, never()).findAll();
   }
 
   @Test
   @DisplayName("getCategoriesByEventId - Debe retornar lista vacía si no hay categorías")
   void getCategoriesByEventId_shouldReturnEmptyListIfNoCategories() {
     // Given
-    when(eventCategoryRepository.findAll()).thenReturn(List.of());
+    when(eventCategoryRepository.findAllWithEventAndCategoryByEventId(1L)).thenReturn(List.of());
 
     // When
     List<EventCategory> result = eventService.getCategoriesByEventId(1L);
 
     // Then
     assertThat(result).isEmpty();
-    verify(eventCategoryRepository).findAll();
+    verify(eventCategoryRepository).findAllWithEventAndCategoryByEventId(1L);
   }
 
   // ========== UPDATE EVENT PICTURE URL TESTS ==========
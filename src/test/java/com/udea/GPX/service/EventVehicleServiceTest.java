@@ -1,6 +1,8 @@
 package com.udea.gpx.service;
 
 import com.udea.gpx.util.TestDataBuilder;
+import com.udea.gpx.dto.ParticipantDTO;
+import com.udea.gpx.exception.UserAlreadyRegisteredException;
 import com.udea.gpx.model.Category;
 import com.udea.gpx.model.Event;
 import com.udea.gpx.model.EventVehicle;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.List;
 import java.util.Optional;
@@ -96,6 +99,24 @@ class EventVehicleServiceTest {
     verify(eventVehicleRepository).findAll();
   }
 
+  // ========== GET PARTICIPANTS BY EVENT ID TESTS ==========
+
+  @Test
+  @DisplayName("getParticipantsByEventId - Debe devolver la proyección del repositorio sin cargar entidades")
+  void getParticipantsByEventId_shouldUseProjectionQuery() {
+    // Given
+    ParticipantDTO participant = new ParticipantDTO(1L, 1L, "TestUser", "TestLastName", null, "Team Test",
+        1L, "Test Vehicle 1", "ABC-001", "SOAT-1", 1L, "Test Category");
+    when(eventVehicleRepository.findParticipantsByEventId(1L)).thenReturn(List.of(participant));
+
+    // When
+    List<ParticipantDTO> result = eventVehicleService.getParticipantsByEventId(1L);
+
+    // Then
+    assertThat(result).containsExactly(participant);
+    verify(eventVehicleRepository, never()).findByEventId(any());
+  }
+
   // ========== GET EVENT VEHICLE BY ID TESTS ==========
 
   @Test
@@ -169,10 +190,10 @@ class EventVehicleServiceTest {
   @DisplayName("createEventVehicle - Debe crear registro exitosamente")
   void createEventVehicle_shouldCreateEventVehicleSuccessfully() {
     // Given
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventVehicleRepository.findByEventId(1L)).thenReturn(List.of());
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.countByEventId(1L)).thenReturn(0L);
     doNothing().when(businessRuleValidator).validateVehicleRegistration(testEvent, 1L);
-    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, List.of());
+    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, 0L);
     when(eventVehicleRepository.save(testEventVehicle)).thenReturn(testEventVehicle);
 
     // When
@@ -180,24 +201,25 @@ class EventVehicleServiceTest {
 
     // Then
     assertThat(result).isEqualTo(testEventVehicle);
-    verify(eventRepository).findById(1L);
+    verify(eventRepository).findByIdForUpdate(1L);
     verify(businessRuleValidator).validateVehicleRegistration(testEvent, 1L);
-    verify(businessRuleValidator).validateEventCapacity(testEvent, List.of());
+    verify(businessRuleValidator).validateEventCapacity(testEvent, 0L);
     verify(eventVehicleRepository).save(testEventVehicle);
+    verify(eventVehicleRepository, never()).findByEventId(any());
   }
 
   @Test
   @DisplayName("createEventVehicle - Debe lanzar excepción si evento no existe")
   void createEventVehicle_shouldThrowExceptionIfEventNotFound() {
     // Given
-    when(eventRepository.findById(1L)).thenReturn(Optional.empty());
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 
     // When & Then
     assertThatThrownBy(() -> eventVehicleService.createEventVehicle(testEventVehicle))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("El evento especificado no existe");
 
-    verify(eventRepository).findById(1L);
+    verify(eventRepository).findByIdForUpdate(1L);
     verify(eventVehicleRepository, never()).save(any(EventVehicle.class));
   }
 
@@ -205,8 +227,7 @@ class EventVehicleServiceTest {
   @DisplayName("createEventVehicle - Debe lanzar excepción si validación de registro falla")
   void createEventVehicle_shouldThrowExceptionIfRegistrationValidationFails() {
     // Given
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventVehicleRepository.findByEventId(1L)).thenReturn(List.of());
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
     doThrow(new IllegalArgumentException("Validación falló"))
         .when(businessRuleValidator).validateVehicleRegistration(testEvent, 1L);
 
@@ -223,18 +244,18 @@ class EventVehicleServiceTest {
   @DisplayName("createEventVehicle - Debe lanzar excepción si validación de capacidad falla")
   void createEventVehicle_shouldThrowExceptionIfCapacityValidationFails() {
     // Given
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventVehicleRepository.findByEventId(1L)).thenReturn(List.of());
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.countByEventId(1L)).thenReturn(100L);
     doNothing().when(businessRuleValidator).validateVehicleRegistration(testEvent, 1L);
     doThrow(new IllegalArgumentException("Capacidad excedida"))
-        .when(businessRuleValidator).validateEventCapacity(testEvent, List.of());
+        .when(businessRuleValidator).validateEventCapacity(testEvent, 100L);
 
     // When & Then
     assertThatThrownBy(() -> eventVehicleService.createEventVehicle(testEventVehicle))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Capacidad excedida");
 
-    verify(businessRuleValidator).validateEventCapacity(testEvent, List.of());
+    verify(businessRuleValidator).validateEventCapacity(testEvent, 100L);
     verify(eventVehicleRepository, never()).save(any(EventVehicle.class));
   }
 
@@ -242,15 +263,11 @@ class EventVehicleServiceTest {
   @DisplayName("createEventVehicle - Debe lanzar excepción si vehículo ya está registrado")
   void createEventVehicle_shouldThrowExceptionIfVehicleAlreadyRegistered() {
     // Given
-    EventVehicle existingRegistration = new EventVehicle();
-    existingRegistration.setId(2L);
-    existingRegistration.setEvent(testEvent);
-    existingRegistration.setVehicleId(testVehicle); // Mismo vehículo
-
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventVehicleRepository.findByEventId(1L)).thenReturn(List.of(existingRegistration));
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.countByEventId(1L)).thenReturn(1L);
+    when(eventVehicleRepository.existsByEventIdAndVehicleId(1L, 1L)).thenReturn(true);
     doNothing().when(businessRuleValidator).validateVehicleRegistration(testEvent, 1L);
-    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, List.of(existingRegistration));
+    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, 1L);
 
     // When & Then
     assertThatThrownBy(() -> eventVehicleService.createEventVehicle(testEventVehicle))
@@ -264,16 +281,11 @@ class EventVehicleServiceTest {
   @DisplayName("createEventVehicle - Debe permitir registro de vehículo diferente")
   void createEventVehicle_shouldAllowRegistrationOfDifferentVehicle() {
     // Given
-    Vehicle otherVehicle = TestDataBuilder.buildVehicle(2L, testUser, testCategory);
-    EventVehicle existingRegistration = new EventVehicle();
-    existingRegistration.setId(2L);
-    existingRegistration.setEvent(testEvent);
-    existingRegistration.setVehicleId(otherVehicle); // Vehículo diferente
-
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventVehicleRepository.findByEventId(1L)).thenReturn(List.of(existingRegistration));
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.countByEventId(1L)).thenReturn(1L);
+    when(eventVehicleRepository.existsByEventIdAndVehicleId(1L, 1L)).thenReturn(false);
     doNothing().when(businessRuleValidator).validateVehicleRegistration(testEvent, 1L);
-    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, List.of(existingRegistration));
+    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, 1L);
     when(eventVehicleRepository.save(testEventVehicle)).thenReturn(testEventVehicle);
 
     // When
@@ -284,6 +296,38 @@ class EventVehicleServiceTest {
     verify(eventVehicleRepository).save(testEventVehicle);
   }
 
+  @Test
+  @DisplayName("createEventVehicle - Debe traducir la violación de la restricción única a registro duplicado")
+  void createEventVehicle_shouldTranslateUniqueConstraintViolation() {
+    // Given: otra inscripción del mismo vehículo entró en paralelo
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.save(testEventVehicle))
+        .thenThrow(new DataIntegrityViolationException("uk_event_vehicle_event_vehicle"));
+
+    // When & Then
+    assertThatThrownBy(() -> eventVehicleService.createEventVehicle(testEventVehicle))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("El vehículo ya está registrado en este evento");
+  }
+
+  @Test
+  @DisplayName("createEventVehicle - Debe rechazar una segunda inscripción del mismo dueño bajo el bloqueo del evento")
+  void createEventVehicle_shouldRejectSecondRegistrationOfSameOwnerUnderLock() {
+    // Given
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.existsByEventIdAndUserId(1L, 1L)).thenReturn(true);
+
+    // When & Then
+    assertThatThrownBy(() -> eventVehicleService.createEventVehicle(testEventVehicle))
+        .isInstanceOf(UserAlreadyRegisteredException.class)
+        .hasMessageContaining("Solo se permite una inscripción por persona");
+
+    var inOrder = inOrder(eventRepository, eventVehicleRepository);
+    inOrder.verify(eventRepository).findByIdForUpdate(1L);
+    inOrder.verify(eventVehicleRepository).existsByEventIdAndUserId(1L, 1L);
+    verify(eventVehicleRepository, never()).save(any(EventVehicle.class));
+  }
+
   // ========== DELETE EVENT VEHICLE TESTS ==========
 
   @Test
@@ -325,10 +369,10 @@ class EventVehicleServiceTest {
     eventVehicle2.setVehicleId(vehicle2);
 
     // Primer registro
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventVehicleRepository.findByEventId(1L)).thenReturn(List.of()).thenReturn(List.of(testEventVehicle));
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.countByEventId(1L)).thenReturn(0L).thenReturn(1L);
     doNothing().when(businessRuleValidator).validateVehicleRegistration(eq(testEvent), anyLong());
-    doNothing().when(businessRuleValidator).validateEventCapacity(eq(testEvent), anyList());
+    doNothing().when(businessRuleValidator).validateEventCapacity(eq(testEvent), anyLong());
     when(eventVehicleRepository.save(testEventVehicle)).thenReturn(testEventVehicle);
     when(eventVehicleRepository.save(eventVehicle2)).thenReturn(eventVehicle2);
 
@@ -365,23 +409,20 @@ class EventVehicleServiceTest {
   }
 
   @Test
-  @DisplayName("Edge case - Debe lanzar excepción por null vehicle en comparación")
-  void edgeCase_shouldThrowExceptionForNullVehicleInComparison() {
+  @DisplayName("Edge case - Debe validar capacidad con el conteo aunque haya registros sin vehículo")
+  void edgeCase_shouldValidateCapacityWithCount() {
     // Given
-    EventVehicle eventVehicleWithNullVehicle = new EventVehicle();
-    eventVehicleWithNullVehicle.setId(2L);
-    eventVehicleWithNullVehicle.setEvent(testEvent);
-    eventVehicleWithNullVehicle.setVehicleId(null);
-
-    when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
-    when(eventVehicleRepository.findByEventId(1L)).thenReturn(List.of(eventVehicleWithNullVehicle));
+    when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testEvent));
+    when(eventVehicleRepository.countByEventId(1L)).thenReturn(1L);
     doNothing().when(businessRuleValidator).validateVehicleRegistration(testEvent, 1L);
-    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, List.of(eventVehicleWithNullVehicle));
+    doNothing().when(businessRuleValidator).validateEventCapacity(testEvent, 1L);
+    when(eventVehicleRepository.save(testEventVehicle)).thenReturn(testEventVehicle);
 
-    // When & Then
-    assertThatThrownBy(() -> eventVehicleService.createEventVehicle(testEventVehicle))
-        .isInstanceOf(NullPointerException.class);
+    // When
+    eventVehicleService.createEventVehicle(testEventVehicle);
 
-    verify(eventVehicleRepository, never()).save(any(EventVehicle.class));
+    // Then
+    verify(businessRuleValidator).validateEventCapacity(testEvent, 1L);
+    verify(eventVehicleRepository, never()).findByEventId(any());
   }
-}
\ No newline at end of file
+}
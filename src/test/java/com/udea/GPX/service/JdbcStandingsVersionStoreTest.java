@@ -0,0 +1,57 @@
+package com.udea.gpx.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Dos instancias de {@link JdbcStandingsVersionStore} sobre la misma base H2
+ * simulan dos nodos detrás de un balanceador
+ */
+@DisplayName("JdbcStandingsVersionStore Tests")
+class JdbcStandingsVersionStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcStandingsVersionStore nodeA;
+    private JdbcStandingsVersionStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:standings-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        nodeA = new JdbcStandingsVersionStore(jdbcTemplate);
+        nodeB = new JdbcStandingsVersionStore(jdbcTemplate);
+        nodeA.initialize();
+        nodeB.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("increment - La versión de un evento debe compartirse y avanzar de uno en uno")
+    void increment_shouldBeSharedAcrossNodes() {
+        // Given
+        assertThat(nodeB.current(1L)).isZero();
+
+        // When
+        long first = nodeA.increment(1L);
+        long second = nodeB.increment(1L);
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(nodeA.current(1L)).isEqualTo(2);
+        assertThat(nodeB.current(2L)).isZero();
+    }
+}
@@ -0,0 +1,177 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.service.TokenService.RefreshTokenInfo;
+import com.udea.gpx.service.TokenService.SessionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Dos instancias de {@link JdbcTokenStore} sobre la misma base H2 simulan dos
+ * nodos detrás de un balanceador
+ */
+@DisplayName("JdbcTokenStore Tests")
+class JdbcTokenStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTokenStore nodeA;
+    private JdbcTokenStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:tokens-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        nodeA = new JdbcTokenStore(jdbcTemplate);
+        nodeB = new JdbcTokenStore(jdbcTemplate);
+        nodeA.initialize();
+        nodeB.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    private static SessionInfo session(String id, Long userId) {
+        return new SessionInfo(id, userId, "access-" + id, "refresh-" + id, "agent", "127.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Refresh tokens - Un refresh creado en un nodo debe poder consumirse una sola vez en otro")
+    void refreshToken_shouldBeSharedAndConsumedOnce() {
+        // Given
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        nodeA.saveRefreshToken("refresh-1", new RefreshTokenInfo(1L, true, expiresAt));
+
+        // When
+        RefreshTokenInfo found = nodeB.findRefreshToken("refresh-1");
+
+        // Then
+        assertThat(found).isNotNull();
+        assertThat(found.getUserId()).isEqualTo(1L);
+        assertThat(found.isAdmin()).isTrue();
+        assertThat(found.getExpiresAt().toEpochMilli()).isEqualTo(expiresAt.toEpochMilli());
+        assertThat(nodeB.removeRefreshToken("refresh-1")).isTrue();
+        assertThat(nodeA.removeRefreshToken("refresh-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sesiones - Deben ser visibles y eliminables desde cualquier nodo")
+    void sessions_shouldBeSharedAcrossNodes() {
+        // Given
+        nodeA.saveSession(session("s1", 1L), Instant.now().plusSeconds(3600));
+        nodeA.saveSession(session("s2", 1L), null);
+
+        // Then
+        assertThat(nodeB.findSessionByRefreshToken("refresh-s1").getSessionId()).isEqualTo("s1");
+        assertThat(nodeB.findSessionByAccessToken("access-s2").getUserId()).isEqualTo(1L);
+        assertThat(nodeB.findUserSessions(1L)).hasSize(2);
+        assertThat(nodeB.removeSession("s1")).isNotNull();
+        assertThat(nodeA.removeSession("s1")).isNull();
+        assertThat(nodeA.removeUserSessions(1L)).extracting(SessionInfo::getSessionId).containsExactly("s2");
+        assertThat(nodeB.findUserSessions(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Revocaciones - Deben replicarse a los demás nodos al sincronizar")
+    void revocations_shouldReplicateOnSync() {
+        // Given
+        nodeA.revoke("access-token", Instant.now().plusSeconds(3600));
+
+        // Then: el nodo que revoca lo ve al instante; el otro tras sincronizar
+        assertThat(nodeA.isRevoked("access-token")).isTrue();
+        assertThat(nodeB.isRevoked("access-token")).isFalse();
+        nodeB.syncRevocations();
+        assertThat(nodeB.isRevoked("access-token")).isTrue();
+        assertThat(nodeB.isRevoked("other-token")).isFalse();
+
+        // y un nodo que arranca después carga las revocaciones vigentes
+        JdbcTokenStore nodeC = new JdbcTokenStore(jdbcTemplate);
+        nodeC.initialize();
+        assertThat(nodeC.isRevoked("access-token")).isTrue();
+        assertThat(nodeC.revokedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Invalidación de usuarios - Debe aplicarse una sola vez en cada nodo al sincronizar")
+    void userInvalidations_shouldReachEveryNodeOnce() {
+        // Given
+        List<Long> evictedOnA = new ArrayList<>();
+        List<Long> evictedOnB = new ArrayList<>();
+        nodeA.setUserInvalidationListener(evictedOnA::add);
+        nodeB.setUserInvalidationListener(evictedOnB::add);
+
+        // When
+        nodeA.publishUserInvalidation(7L);
+        nodeB.syncRevocations();
+        nodeA.syncRevocations();
+        nodeB.syncRevocations();
+
+        // Then: cada nodo la aplica una vez, aunque se vuelva a consultar la ventana
+        assertThat(evictedOnB).containsExactly(7L);
+        assertThat(evictedOnA).containsExactly(7L);
+
+        // y un nodo que arranca después no reaplica invalidaciones anteriores
+        List<Long> evictedOnC = new ArrayList<>();
+        JdbcTokenStore nodeC = new JdbcTokenStore(jdbcTemplate);
+        nodeC.initialize();
+        nodeC.setUserInvalidationListener(evictedOnC::add);
+        nodeB.publishUserInvalidation(8L);
+        nodeC.syncRevocations();
+        assertThat(evictedOnC).containsExactly(8L);
+    }
+
+    @Test
+    @DisplayName("Barrido - Debe eliminar solo lo expirado y en tandas acotadas")
+    void removeExpired_shouldRemoveOnlyExpiredInBatches() {
+        // Given
+        Instant past = Instant.now().minusSeconds(1);
+        for (int i = 0; i < 3; i++) {
+            nodeA.saveRefreshToken("expired-" + i, new RefreshTokenInfo(1L, false, past));
+        }
+        nodeA.saveRefreshToken("live", new RefreshTokenInfo(1L, false, Instant.now().plusSeconds(3600)));
+        nodeA.saveSession(session("expired-session", 1L), past);
+        nodeA.saveUserAccessToken(1L, "expired-access", past);
+
+        // When
+        TokenStore.SweepBatch<String> first = nodeA.removeExpiredRefreshTokens(Instant.now(), 2);
+        TokenStore.SweepBatch<String> second = nodeB.removeExpiredRefreshTokens(Instant.now(), 2);
+        TokenStore.SweepBatch<SessionInfo> sessions = nodeB.removeExpiredSessions(Instant.now(), 10);
+        TokenStore.SweepBatch<String> accessTokens = nodeB.removeExpiredAccessTokens(Instant.now(), 10);
+
+        // Then
+        assertThat(first.removed()).hasSize(2);
+        assertThat(first.complete()).isFalse();
+        assertThat(second.removed()).hasSize(1);
+        assertThat(second.complete()).isTrue();
+        assertThat(nodeA.findRefreshToken("live")).isNotNull();
+        assertThat(sessions.removed()).extracting(SessionInfo::getSessionId).containsExactly("expired-session");
+        assertThat(accessTokens.removed()).containsExactly("expired-access");
+    }
+
+    @Test
+    @DisplayName("Access tokens por usuario - Deben poder invalidarse desde cualquier nodo")
+    void userAccessTokens_shouldBeSharedAcrossNodes() {
+        // Given
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        nodeA.saveUserAccessToken(1L, "token-1", expiresAt);
+        nodeA.saveUserAccessToken(1L, "token-2", expiresAt);
+        nodeA.saveUserAccessToken(2L, "token-3", expiresAt);
+
+        // Then
+        assertThat(nodeB.removeUserAccessTokens(1L)).containsExactlyInAnyOrder("token-1", "token-2");
+        assertThat(nodeA.removeUserAccessTokens(1L)).isEmpty();
+        assertThat(nodeA.removeUserAccessTokens(2L)).containsExactly("token-3");
+    }
+}
@@ -23,6 +23,9 @@ class OAuth2ServiceTest {
     @Mock
     private IUserRepository userRepository;
 
+    @Mock
+    private UserSnapshotCacheService userSnapshotCacheService;
+
     @Mock
     private OAuth2User oauth2User;
 
@@ -0,0 +1,122 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.config.PasswordProperties;
+import com.udea.gpx.exception.PasswordHashingOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PasswordHashingExecutor Tests")
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry registry;
+    private PasswordHashingExecutor executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setHashingThreads(1);
+        properties.setHashingQueueCapacity(1);
+        properties.setHashingTimeoutMs(5000);
+        registry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(properties, registry);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private String blockedHash() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "hash";
+    }
+
+    @Test
+    @DisplayName("hash - Debe ejecutar la operación y registrar su duración")
+    void hash_shouldRunTaskAndRecordDuration() {
+        // When
+        String hash = executor.hash(() -> "hash");
+        boolean matches = executor.verify(() -> true);
+
+        // Then
+        assertThat(hash).isEqualTo("hash");
+        assertThat(matches).isTrue();
+        assertThat(registry.get("gpx.password.hashing.duration").tag("operation", "hash").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("gpx.password.hashing.duration").tag("operation", "verify").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("hash - Debe rechazar de inmediato con el pool y la cola llenos")
+    void hash_shouldRejectWhenSaturated() throws Exception {
+        // Given: un hilo ocupado y una operación en cola
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.hash(this::blockedHash));
+        await(() -> registry.get("gpx.password.hashing.active").gauge().value() == 1.0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.hash(() -> "queued"));
+        await(() -> registry.get("gpx.password.hashing.queue").gauge().value() == 1.0);
+
+        // When & Then
+        assertThatThrownBy(() -> executor.hash(() -> "rejected"))
+                .isInstanceOf(PasswordHashingOverloadedException.class);
+        assertThat(registry.get("gpx.password.hashing.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("gpx.password.hashing.active").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    @DisplayName("hash - Debe rechazar si la operación supera el tiempo máximo de espera")
+    void hash_shouldRejectOnTimeout() {
+        // Given
+        PasswordProperties properties = new PasswordProperties();
+        properties.setHashingThreads(1);
+        properties.setHashingTimeoutMs(50);
+        PasswordHashingExecutor slowExecutor = new PasswordHashingExecutor(properties, new SimpleMeterRegistry());
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> slowExecutor.hash(this::blockedHash))
+                    .isInstanceOf(PasswordHashingOverloadedException.class);
+        } finally {
+            slowExecutor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("verify - Debe propagar las excepciones de la operación")
+    void verify_shouldPropagateTaskExceptions() {
+        assertThatThrownBy(() -> executor.verify(() -> {
+            throw new IllegalArgumentException("hash inválido");
+        })).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("hash inválido");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package com.udea.gpx.service;
 
+import com.udea.gpx.config.PasswordProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("PasswordService Tests")
 class PasswordServiceTest {
 
+    private PasswordHashingExecutor hashingExecutor;
     private PasswordService passwordService;
 
     @BeforeEach
     void setUp() {
-        passwordService = new PasswordService();
+        PasswordProperties passwordProperties = new PasswordProperties();
+        hashingExecutor = new PasswordHashingExecutor(passwordProperties, new SimpleMeterRegistry());
+        passwordService = new PasswordService(passwordProperties, hashingExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdown();
     }
 
     // ========== HASH PASSWORD TESTS ==========
@@ -379,4 +392,33 @@ class PasswordServiceTest {
         // Then
         assertThat(result).isTrue();
     }
-}
\ No newline at end of file
+
+    // ========== NEEDS REHASH TESTS ==========
+
+    @Test
+    @DisplayName("needsRehash - Debe pedir rehash de hashes con costo menor al configurado")
+    void needsRehash_shouldReturnTrueForLowerCost() {
+        // Given
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+
+        // When & Then
+        assertThat(passwordService.needsRehash(weakHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("needsRehash - No debe pedir rehash de hashes con el costo configurado")
+    void needsRehash_shouldReturnFalseForConfiguredCost() {
+        // Given
+        String hash = passwordService.hashPassword("password123");
+
+        // When & Then
+        assertThat(passwordService.needsRehash(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("needsRehash - No debe pedir rehash de valores que no son BCrypt")
+    void needsRehash_shouldReturnFalseForNonBCrypt() {
+        assertThat(passwordService.needsRehash("plainTextPassword")).isFalse();
+        assertThat(passwordService.needsRehash(null)).isFalse();
+    }
+}
@@ -0,0 +1,130 @@
+package com.udea.gpx.service;
+
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RevokedTokenStore Tests")
+class RevokedTokenStoreTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private RevokedTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RevokedTokenStore(nanos::get, Scheduler.disabledScheduler());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("revoke - El token debe quedar revocado hasta su expiración")
+    void revoke_shouldExpireWithToken() {
+        // Given
+        store.revoke("short.lived.token", Instant.now().plusSeconds(60));
+        store.revoke("long.lived.token", Instant.now().plusSeconds(3600));
+
+        // When
+        advance(Duration.ofMinutes(2));
+        store.cleanUp();
+
+        // Then
+        assertThat(store.isRevoked("short.lived.token")).isFalse();
+        assertThat(store.isRevoked("long.lived.token")).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("revoke - No debe guardar tokens ya expirados")
+    void revoke_shouldIgnoreExpiredTokens() {
+        store.revoke("expired.token", Instant.now().minusSeconds(1));
+
+        assertThat(store.isRevoked("expired.token")).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("estimatedMemoryBytes - No debe depender de la longitud del token")
+    void estimatedMemoryBytes_shouldNotDependOnTokenLength() {
+        // Given
+        long empty = store.estimatedMemoryBytes();
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        store.revoke("a", expiresAt);
+        store.revoke("b".repeat(4096), expiresAt);
+
+        // Then
+        assertThat(store.isRevoked("b".repeat(4096))).isTrue();
+        assertThat(store.isRevoked("c")).isFalse();
+        assertThat(store.estimatedMemoryBytes())
+                .isEqualTo(empty + 2 * RevokedTokenStore.ESTIMATED_BYTES_PER_ENTRY);
+    }
+
+    @Test
+    @DisplayName("isRevoked - El filtro debe descartar tokens no revocados sin falsos negativos")
+    void isRevoked_filterShouldHaveNoFalseNegatives() {
+        // Given
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < 500; i++) {
+            store.revoke("revoked-" + i, expiresAt);
+        }
+
+        // Then
+        for (int i = 0; i < 500; i++) {
+            assertThat(store.isRevoked("revoked-" + i)).isTrue();
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(store.isRevoked("live-" + i)).isFalse();
+        }
+        assertThat(store.filterFalsePositiveRate()).isLessThan(0.05);
+    }
+
+    @Test
+    @DisplayName("rebuildFilterIfStale - Debe reconstruir el filtro al superar su capacidad sin perder revocaciones")
+    void rebuildFilterIfStale_shouldRebuildWhenOverCapacity() {
+        // Given
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        assertThat(store.rebuildFilterIfStale()).isFalse();
+        for (int i = 0; i <= RevokedTokenStore.MIN_FILTER_CAPACITY; i++) {
+            store.revoke("revoked-" + i, expiresAt);
+        }
+
+        // When
+        boolean rebuilt = store.rebuildFilterIfStale();
+
+        // Then
+        assertThat(rebuilt).isTrue();
+        assertThat(store.rebuildFilterIfStale()).isFalse();
+        for (int i = 0; i <= RevokedTokenStore.MIN_FILTER_CAPACITY; i++) {
+            assertThat(store.isRevoked("revoked-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("rebuildFilterIfStale - Debe descartar del filtro las revocaciones expiradas")
+    void rebuildFilterIfStale_shouldDropExpiredRevocations() {
+        // Given
+        for (int i = 0; i < RevokedTokenStore.MIN_FILTER_CAPACITY; i++) {
+            store.revoke("short-" + i, Instant.now().plusSeconds(60));
+        }
+        store.revoke("long", Instant.now().plusSeconds(3600));
+
+        // When
+        advance(Duration.ofMinutes(2));
+        boolean rebuilt = store.rebuildFilterIfStale();
+
+        // Then
+        assertThat(rebuilt).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.isRevoked("long")).isTrue();
+        assertThat(store.filterFalsePositiveRate()).isZero();
+    }
+}
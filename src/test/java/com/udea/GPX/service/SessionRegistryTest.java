@@ -0,0 +1,145 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.service.TokenService.SessionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SessionRegistry Tests")
+class SessionRegistryTest {
+
+    private SessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SessionRegistry();
+    }
+
+    private static SessionInfo session(String id, Long userId) {
+        return new SessionInfo(id, userId, "access-" + id, "refresh-" + id, "agent", "127.0.0.1");
+    }
+
+    @Test
+    @DisplayName("register - La sesión debe ser accesible por todos los índices")
+    void register_shouldIndexSession() {
+        // Given
+        SessionInfo session = session("s1", 1L);
+
+        // When
+        registry.register(session);
+
+        // Then
+        assertThat(registry.getBySessionId("s1")).isSameAs(session);
+        assertThat(registry.getByAccessToken("access-s1")).isSameAs(session);
+        assertThat(registry.getByRefreshToken("refresh-s1")).isSameAs(session);
+        assertThat(registry.getUserSessions(1L)).containsExactly(session);
+    }
+
+    @Test
+    @DisplayName("remove - Debe retirar la sesión de todos los índices sin afectar a otras")
+    void remove_shouldClearAllIndexes() {
+        // Given
+        registry.register(session("s1", 1L));
+        SessionInfo other = session("s2", 1L);
+        registry.register(other);
+
+        // When
+        SessionInfo removed = registry.remove("s1");
+
+        // Then
+        assertThat(removed).isNotNull();
+        assertThat(registry.remove("s1")).isNull();
+        assertThat(registry.getBySessionId("s1")).isNull();
+        assertThat(registry.getByAccessToken("access-s1")).isNull();
+        assertThat(registry.getByRefreshToken("refresh-s1")).isNull();
+        assertThat(registry.getUserSessions(1L)).containsExactly(other);
+    }
+
+    @Test
+    @DisplayName("removeUser - Debe retirar solo las sesiones del usuario")
+    void removeUser_shouldRemoveOnlyUserSessions() {
+        // Given
+        registry.register(session("s1", 1L));
+        registry.register(session("s2", 1L));
+        registry.register(session("s3", 2L));
+
+        // When
+        List<SessionInfo> removed = registry.removeUser(1L);
+
+        // Then
+        assertThat(removed).extracting(SessionInfo::getSessionId).containsExactlyInAnyOrder("s1", "s2");
+        assertThat(registry.getByRefreshToken("refresh-s2")).isNull();
+        assertThat(registry.getBySessionId("s3")).isNotNull();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Concurrencia - Altas, refrescos y bajas en paralelo deben dejar los índices consistentes")
+    void concurrentRegisterRefreshAndLogout_shouldKeepIndexesConsistent() throws Exception {
+        // Given
+        int threads = 8;
+        int sessionsPerThread = 2_000;
+        int users = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger removedCount = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When: cada hilo registra sesiones, las consulta por refresh token e
+        // intenta cerrarlas por sessionId, por usuario o dos veces en paralelo
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < sessionsPerThread; i++) {
+                    String id = thread + "-" + i;
+                    Long userId = (long) random.nextInt(users);
+                    registry.register(session(id, userId));
+
+                    SessionInfo byRefresh = registry.getByRefreshToken("refresh-" + id);
+                    if (byRefresh != null) {
+                        assertThat(byRefresh.getSessionId()).isEqualTo(id);
+                    }
+                    if (registry.remove(id) != null) {
+                        removedCount.incrementAndGet();
+                    }
+                    if (i % 100 == 0) {
+                        removedCount.addAndGet(registry.removeUser(userId).size());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then: cada sesión se eliminó exactamente una vez y no quedan restos
+        assertThat(removedCount.get()).isEqualTo(threads * sessionsPerThread);
+        assertThat(registry.size()).isZero();
+        for (long userId = 0; userId < users; userId++) {
+            assertThat(registry.getUserSessions(userId)).isEmpty();
+        }
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < sessionsPerThread; i += 97) {
+                assertThat(registry.getByAccessToken("access-" + t + "-" + i)).isNull();
+                assertThat(registry.getByRefreshToken("refresh-" + t + "-" + i)).isNull();
+            }
+        }
+    }
+}
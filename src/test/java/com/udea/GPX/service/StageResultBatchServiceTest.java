@@ -0,0 +1,176 @@
+package com.udea.gpx.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udea.gpx.dto.CreateStageResultDTO;
+import com.udea.gpx.dto.StageResultBatchResultDTO;
+import com.udea.gpx.dto.StageResultBatchResultDTO.RowOutcomeDTO;
+import com.udea.gpx.model.*;
+import com.udea.gpx.repository.IStageRepository;
+import com.udea.gpx.repository.IStageResultRepository;
+import com.udea.gpx.repository.IVehicleRepository;
+import com.udea.gpx.util.BusinessRuleValidator;
+import com.udea.gpx.util.TestDataBuilder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("StageResultBatchService Tests")
+class StageResultBatchServiceTest {
+
+    @Mock
+    private IStageResultRepository stageResultRepository;
+
+    @Mock
+    private IStageRepository stageRepository;
+
+    @Mock
+    private IVehicleRepository vehicleRepository;
+
+    @Mock
+    private BusinessRuleValidator businessRuleValidator;
+
+    @Mock
+    private StageResultService stageResultService;
+
+    @Mock
+    private StandingsEngine standingsEngine;
+
+    private StageResultBatchService stageResultBatchService;
+
+    private Stage testStage;
+    private LocalDateTime timestamp;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        stageResultBatchService = new StageResultBatchService(stageResultRepository, stageRepository,
+                vehicleRepository, businessRuleValidator,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), stageResultService, standingsEngine);
+
+        Event testEvent = TestDataBuilder.buildEvent(1L, "Test Event");
+        testStage = TestDataBuilder.buildStage(1L, "Test Stage", testEvent, 1);
+        timestamp = LocalDateTime.now().plusDays(1);
+
+        when(stageRepository.findAllWithEventByIdIn(anyCollection())).thenReturn(List.of(testStage));
+        when(vehicleRepository.findExistingIds(anyCollection())).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(stageResultRepository.findVehicleStagePairsByStageIdIn(anyCollection()))
+                .thenReturn(Collections.singletonList(new Object[] { 3L, 1L }));
+        when(stageResultRepository.batchInsertResults(anyList()))
+                .thenAnswer(inv -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < ((List<?>) inv.getArgument(0)).size(); i++) {
+                        ids.add(100L + i);
+                    }
+                    return ids;
+                });
+    }
+
+    private CreateStageResultDTO row(Long stageId, Long vehicleId) {
+        return new CreateStageResultDTO(stageId, vehicleId, timestamp, 4.6097, -74.0817);
+    }
+
+    @Test
+    @DisplayName("createResults - Debe insertar las filas válidas y rechazar las demás con su motivo")
+    void createResults_shouldReportPerRowOutcomes() {
+        // Given
+        List<CreateStageResultDTO> rows = Arrays.asList(
+                row(1L, 1L), // válida
+                row(9L, 2L), // etapa inexistente
+                row(1L, 1L), // duplicada dentro del lote
+                row(1L, 3L), // ya registrada en la base de datos
+                row(1L, 99L), // vehículo inexistente
+                row(1L, 2L)); // válida
+
+        // When
+        StageResultBatchResultDTO response = stageResultBatchService.createResults(rows);
+
+        // Then
+        assertThat(response.getTotal()).isEqualTo(6);
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(4);
+        assertThat(response.getOutcomes()).extracting(RowOutcomeDTO::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(response.getOutcomes()).extracting(RowOutcomeDTO::getStageResultId)
+                .containsExactly(100L, null, null, null, null, 101L);
+        assertThat(response.getOutcomes().get(1).getMessage()).contains("Etapa no encontrada");
+        assertThat(response.getOutcomes().get(4).getMessage()).contains("Vehículo no encontrado");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StageResult>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(stageResultRepository).batchInsertResults(inserted.capture());
+        assertThat(inserted.getValue()).extracting(r -> r.getVehicle().getId()).containsExactly(1L, 2L);
+        verify(stageRepository, times(1)).findAllWithEventByIdIn(anyCollection());
+        verify(stageRepository, never()).findById(anyLong());
+        verify(stageResultService).recalcularTiemposTranscurridos(1L);
+        verify(standingsEngine).evictEvent(1L);
+    }
+
+    @Test
+    @DisplayName("createResults - Debe rechazar filas que no cumplen las reglas de negocio")
+    void createResults_shouldRejectBusinessRuleViolations() {
+        // Given
+        doThrow(new IllegalArgumentException("La fecha del resultado debe estar dentro del período del evento"))
+                .when(businessRuleValidator).validateStageResultTimestamp(any(), any());
+
+        // When
+        StageResultBatchResultDTO response = stageResultBatchService.createResults(List.of(row(1L, 1L)));
+
+        // Then
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getOutcomes().get(0).getStatus()).isEqualTo(StageResultBatchResultDTO.STATUS_REJECTED);
+        verify(stageResultService, never()).recalcularTiemposTranscurridos(anyLong());
+    }
+
+    @Test
+    @DisplayName("createResultsFromNdjson - Debe procesar cada línea y rechazar las que no son JSON")
+    void createResultsFromNdjson_shouldRejectMalformedLines() throws Exception {
+        // Given
+        String body = "{\"stageId\":1,\"vehicleId\":1,\"timestamp\":\"" + timestamp
+                + "\",\"latitude\":4.6,\"longitude\":-74.0}\n"
+                + "\n"
+                + "{no es json}\n"
+                + "{\"stageId\":1,\"vehicleId\":2,\"latitude\":4.6,\"longitude\":-74.0}\n";
+
+        // When
+        StageResultBatchResultDTO response = stageResultBatchService.createResultsFromNdjson(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(response.getTotal()).isEqualTo(3);
+        assertThat(response.getOutcomes()).extracting(RowOutcomeDTO::getStatus).containsExactly(
+                StageResultBatchResultDTO.STATUS_CREATED,
+                StageResultBatchResultDTO.STATUS_REJECTED,
+                StageResultBatchResultDTO.STATUS_REJECTED);
+        assertThat(response.getOutcomes().get(1).getMessage()).startsWith("JSON inválido");
+        assertThat(response.getOutcomes().get(2).getMessage()).contains("La fecha y hora es obligatoria");
+    }
+
+    @Test
+    @DisplayName("createResults - Debe rechazar lotes que exceden el máximo permitido")
+    void createResults_shouldRejectOversizedBatch() {
+        List<CreateStageResultDTO> rows = Collections.nCopies(StageResultBatchService.MAX_BATCH_SIZE + 1,
+                row(1L, 1L));
+
+        assertThatThrownBy(() -> stageResultBatchService.createResults(rows))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("excede el máximo");
+        verify(stageResultRepository, never()).batchInsertResults(anyList());
+    }
+}
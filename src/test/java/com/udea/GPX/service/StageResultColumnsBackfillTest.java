@@ -0,0 +1,26 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.repository.IStageResultRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("StageResultColumnsBackfill Tests")
+class StageResultColumnsBackfillTest {
+
+    @Test
+    @DisplayName("backfill - Debe completar las columnas copiadas una vez al arrancar")
+    void backfill_shouldRunBulkUpdate() {
+        // Given
+        IStageResultRepository stageResultRepository = mock(IStageResultRepository.class);
+        when(stageResultRepository.backfillStageColumns()).thenReturn(3);
+
+        // When
+        new StageResultColumnsBackfill(stageResultRepository).backfill();
+
+        // Then
+        verify(stageResultRepository).backfillStageColumns();
+        verifyNoMoreInteractions(stageResultRepository);
+    }
+}
@@ -0,0 +1,88 @@
+package com.udea.gpx.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udea.gpx.dto.StageResultExportRowDTO;
+import com.udea.gpx.repository.IStageResultRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("StageResultExportService Tests")
+class StageResultExportServiceTest {
+
+    @Mock
+    private IStageResultRepository stageResultRepository;
+
+    private StageResultExportService stageResultExportService;
+    private AtomicBoolean streamClosed;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        stageResultExportService = new StageResultExportService(stageResultRepository,
+                new ObjectMapper().findAndRegisterModules());
+        streamClosed = new AtomicBoolean(false);
+
+        StageResultExportRowDTO first = new StageResultExportRowDTO(1L, 10L, 1, "Prólogo", false, 100L,
+                "Toyota, Hilux", 5L, "Pro", LocalDateTime.of(2025, 6, 1, 8, 0), 4.6, -74.0, 1800,
+                Duration.ofSeconds(30), null, null);
+        StageResultExportRowDTO second = new StageResultExportRowDTO(2L, 11L, 2, "=Etapa 2", true, 100L,
+                "Toyota, Hilux", null, null, LocalDateTime.of(2025, 6, 1, 9, 0), 4.7, -74.1, null,
+                null, null, null);
+        when(stageResultRepository.streamExportRowsByEventId(1L))
+                .thenReturn(Stream.of(first, second).onClose(() -> streamClosed.set(true)));
+    }
+
+    @Test
+    @DisplayName("export CSV - Debe escribir encabezado y filas escapadas y cerrar el cursor")
+    void exportCsv_shouldWriteEscapedRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = stageResultExportService.export(1L, StageResultExportService.ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,stageId,stageOrder");
+        assertThat(lines[1]).isEqualTo(
+                "1,10,1,Prólogo,false,100,\"Toyota, Hilux\",5,Pro,2025-06-01T08:00,4.6,-74.0,1800,30,0,0");
+        assertThat(lines[2]).contains(",'=Etapa 2,true,");
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    @DisplayName("export NDJSON - Debe escribir un objeto JSON por línea")
+    void exportNdjson_shouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        stageResultExportService.export(1L, StageResultExportService.ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(mapper.readTree(lines[0]).get("id").asLong()).isEqualTo(1L);
+        assertThat(mapper.readTree(lines[1]).get("neutralized").asBoolean()).isTrue();
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    @DisplayName("ExportFormat.from - Debe rechazar formatos desconocidos")
+    void exportFormat_shouldRejectUnknownFormat() {
+        assertThat(StageResultExportService.ExportFormat.from("NDJSON"))
+                .isEqualTo(StageResultExportService.ExportFormat.NDJSON);
+        assertThatThrownBy(() -> StageResultExportService.ExportFormat.from("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,7 +2,11 @@ package com.udea.gpx.service;
 
 import com.udea.gpx.util.TestDataBuilder;
 import com.udea.gpx.dto.ClasificacionCompletaDTO;
+import com.udea.gpx.dto.ClasificacionRowDTO;
+import com.udea.gpx.dto.ClasificacionVersionadaDTO;
 import com.udea.gpx.dto.CreateStageResultDTO;
+import com.udea.gpx.dto.ElapsedTimeRecomputeDTO;
+import com.udea.gpx.dto.ElapsedTimeRowDTO;
 import com.udea.gpx.dto.UpdateStageResultDTO;
 import com.udea.gpx.model.*;
 import com.udea.gpx.repository.IStageRepository;
@@ -15,10 +19,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -40,6 +47,12 @@ class StageResultServiceTest {
     @Mock
     private BusinessRuleValidator businessRuleValidator;
 
+    @Spy
+    private StandingsEngine standingsEngine = new StandingsEngine(300, new InMemoryStandingsVersionStore());
+
+    @Mock
+    private ClassificationCacheService classificationCacheService;
+
     @InjectMocks
     private StageResultService stageResultService;
 
@@ -318,6 +331,7 @@ class StageResultServiceTest {
     @DisplayName("deleteResult - Debe eliminar resultado exitosamente")
     void deleteResult_shouldDeleteResultSuccessfully() {
         // Given
+        when(stageResultRepository.findEventIdById(1L)).thenReturn(Optional.of(1L));
         doNothing().when(stageResultRepository).deleteById(1L);
 
         // When
@@ -325,6 +339,7 @@ class StageResultServiceTest {
 
         // Then
         verify(stageResultRepository).deleteById(1L);
+        verify(standingsEngine).onResultDeleted(1L, 1L);
     }
 
     // ========== UPDATE ELAPSED TIMES FOR EVENT TESTS ==========
@@ -334,32 +349,49 @@ class StageResultServiceTest {
     void updateElapsedTimesForEvent_shouldUpdateElapsedTimes() {
         // Given
         LocalDateTime baseTime = LocalDateTime.now();
+        List<ElapsedTimeRowDTO> rows = Arrays.asList(
+                new ElapsedTimeRowDTO(1L, 1L, 1, false, baseTime, null),
+                new ElapsedTimeRowDTO(2L, 1L, 2, false, baseTime.plusMinutes(30), null));
 
-        StageResult result1 = new StageResult();
-        result1.setId(1L);
-        result1.setStage(testStage);
-        result1.setVehicle(testVehicle);
-        result1.setTimestamp(baseTime);
+        when(stageResultRepository.findElapsedTimeRowsByEventId(1L)).thenReturn(rows);
+        when(stageResultRepository.batchUpdateElapsedTimes(anyMap())).thenReturn(1);
 
-        Stage stage2 = TestDataBuilder.buildStage(2L, "Stage 2", testEvent, 2);
-        StageResult result2 = new StageResult();
-        result2.setId(2L);
-        result2.setStage(stage2);
-        result2.setVehicle(testVehicle);
-        result2.setTimestamp(baseTime.plusMinutes(30));
+        // When
+        stageResultService.updateElapsedTimesForEvent(1L);
 
-        List<StageResult> stageResults = Arrays.asList(result1, result2);
+        // Then
+        verify(stageResultRepository).findElapsedTimeRowsByEventId(1L);
+        verify(stageResultRepository).batchUpdateElapsedTimes(Map.of(1L, 1800));
+        verify(stageResultRepository, never()).save(any(StageResult.class));
+    }
 
-        when(stageResultRepository.findByEventIdWithTimestampOrderedByVehicleAndStage(1L))
-                .thenReturn(stageResults);
-        when(stageResultRepository.save(any(StageResult.class))).thenReturn(result1);
+    @Test
+    @DisplayName("recalcularTiemposTranscurridos - Debe respetar etapas neutralizadas y omitir filas sin cambios")
+    void recalcularTiemposTranscurridos_shouldSkipNeutralizedAndUnchangedRows() {
+        // Given
+        LocalDateTime baseTime = LocalDateTime.now();
+        List<ElapsedTimeRowDTO> rows = Arrays.asList(
+                // Vehículo 1: etapa 1 ya correcta, etapa 2 neutralizada, etapa 3 última
+                new ElapsedTimeRowDTO(1L, 1L, 1, false, baseTime, 600),
+                new ElapsedTimeRowDTO(2L, 1L, 2, true, baseTime.plusMinutes(10), null),
+                new ElapsedTimeRowDTO(3L, 1L, 3, false, baseTime.plusMinutes(40), null),
+                // Vehículo 2: el par no debe cruzar al vehículo anterior
+                new ElapsedTimeRowDTO(4L, 2L, 1, false, baseTime, 0),
+                new ElapsedTimeRowDTO(5L, 2L, 2, false, baseTime.plusMinutes(15), null));
+
+        when(stageResultRepository.findElapsedTimeRowsByEventId(1L)).thenReturn(rows);
+        when(stageResultRepository.batchUpdateElapsedTimes(anyMap())).thenReturn(1);
 
         // When
-        stageResultService.updateElapsedTimesForEvent(1L);
+        ElapsedTimeRecomputeDTO report = stageResultService.recalcularTiemposTranscurridos(1L);
 
         // Then
-        verify(stageResultRepository).findByEventIdWithTimestampOrderedByVehicleAndStage(1L);
-        verify(stageResultRepository, atLeastOnce()).save(any(StageResult.class));
+        verify(stageResultRepository).batchUpdateElapsedTimes(Map.of(4L, 900));
+        assertThat(report.getEventId()).isEqualTo(1L);
+        assertThat(report.getRowsExamined()).isEqualTo(5);
+        assertThat(report.getRowsUpdated()).isEqualTo(1);
+        assertThat(report.getDurationMillis()).isNotNegative();
+        verify(standingsEngine).evictEvent(1L);
     }
 
     // ========== GET CLASIFICACION POR CATEGORIA TESTS ==========
@@ -368,15 +400,16 @@ class StageResultServiceTest {
     @DisplayName("getClasificacionPorCategoria - Debe retornar clasificación por categoría")
     void getClasificacionPorCategoria_shouldReturnClassificationByCategory() {
         // Given
-        List<StageResult> results = Arrays.asList(testStageResult);
-        when(stageResultRepository.findByEventIdAndCategoryId(1L, 1L)).thenReturn(results);
+        List<ClasificacionRowDTO> rows = Arrays.asList(ClasificacionRowDTO.from(testStageResult));
+        when(stageResultRepository.findClasificacionRowsByEventId(1L)).thenReturn(rows);
 
         // When
         List<ClasificacionCompletaDTO> classification = stageResultService.getClasificacionPorCategoria(1L, 1L);
 
         // Then
-        assertThat(classification).isNotNull();
-        verify(stageResultRepository).findByEventIdAndCategoryId(1L, 1L);
+        assertThat(classification).hasSize(1);
+        assertThat(classification.get(0).getCategoryId()).isEqualTo(1L);
+        verify(stageResultRepository).findClasificacionRowsByEventId(1L);
     }
 
     // ========== GET CLASIFICACION POR STAGE TESTS ==========
@@ -385,15 +418,85 @@ class StageResultServiceTest {
     @DisplayName("getClasificacionPorStage - Debe retornar clasificación por etapa")
     void getClasificacionPorStage_shouldReturnClassificationByStage() {
         // Given
-        List<StageResult> results = Arrays.asList(testStageResult);
-        when(stageResultRepository.findByEventIdAndStageNumber(1L, 1)).thenReturn(results);
+        List<ClasificacionRowDTO> rows = Arrays.asList(ClasificacionRowDTO.from(testStageResult));
+        when(stageResultRepository.findClasificacionRowsByEventId(1L)).thenReturn(rows);
 
         // When
         List<ClasificacionCompletaDTO> classification = stageResultService.getClasificacionPorStage(1L, 1);
 
         // Then
-        assertThat(classification).isNotNull();
-        verify(stageResultRepository).findByEventIdAndStageNumber(1L, 1);
+        assertThat(classification).hasSize(1);
+        assertThat(classification.get(0).getTotalTime()).isEqualTo(3600);
+        verify(stageResultRepository).findClasificacionRowsByEventId(1L);
+    }
+
+    @Test
+    @DisplayName("getClasificacionGeneral - Debe servir lecturas repetidas sin volver a consultar la base de datos")
+    void getClasificacionGeneral_shouldServeRepeatedReadsFromMemory() {
+        // Given
+        when(stageResultRepository.findClasificacionRowsByEventId(1L))
+                .thenReturn(Arrays.asList(ClasificacionRowDTO.from(testStageResult)));
+
+        // When
+        stageResultService.getClasificacionGeneral(1L);
+        List<ClasificacionCompletaDTO> classification = stageResultService.getClasificacionGeneral(1L);
+
+        // Then
+        assertThat(classification).hasSize(1);
+        verify(stageResultRepository, times(1)).findClasificacionRowsByEventId(1L);
+    }
+
+    @Test
+    @DisplayName("getClasificacionVersionada - Debe servir la vista en cache sin tocar la clasificación en memoria")
+    void getClasificacionVersionada_shouldServeCachedView() {
+        // Given
+        ClasificacionVersionadaDTO cached = new ClasificacionVersionadaDTO(1L, 7L, "a1", List.of());
+        when(classificationCacheService.get(1L, 2L, null)).thenReturn(cached);
+
+        // When
+        ClasificacionVersionadaDTO result = stageResultService.getClasificacionVersionada(1L, 2L, null);
+
+        // Then
+        assertThat(result).isSameAs(cached);
+        verify(standingsEngine, never()).getVersioned(anyLong(), any(), any(), any());
+        verify(stageResultRepository, never()).findClasificacionRowsByEventId(anyLong());
+    }
+
+    @Test
+    @DisplayName("getClasificacionVersionada - Debe calcular y guardar en cache la vista con su versión")
+    void getClasificacionVersionada_shouldStoreComputedView() {
+        // Given
+        when(stageResultRepository.findClasificacionRowsByEventId(1L))
+                .thenReturn(Arrays.asList(ClasificacionRowDTO.from(testStageResult)));
+
+        // When
+        ClasificacionVersionadaDTO result = stageResultService.getClasificacionVersionada(1L, null, 1);
+
+        // Then
+        assertThat(result.getRows()).hasSize(1);
+        assertThat(result.getVersion()).isEqualTo(standingsEngine.getVersion(1L));
+        verify(classificationCacheService).put(null, 1, result);
+    }
+
+    @Test
+    @DisplayName("aplicarPenalizacion - Debe actualizar la clasificación en memoria de forma incremental")
+    void aplicarPenalizacion_shouldUpdateInMemoryClassification() {
+        // Given
+        when(stageResultRepository.findClasificacionRowsByEventId(1L))
+                .thenReturn(Arrays.asList(ClasificacionRowDTO.from(testStageResult)));
+        when(stageResultRepository.findById(1L)).thenReturn(Optional.of(testStageResult));
+        when(stageResultRepository.save(any(StageResult.class))).thenAnswer(inv -> inv.getArgument(0));
+        stageResultService.getClasificacionGeneral(1L);
+
+        // When
+        stageResultService.aplicarPenalizacion(1L, Duration.ofSeconds(60), Duration.ZERO,
+                Duration.ZERO);
+        List<ClasificacionCompletaDTO> classification = stageResultService.getClasificacionGeneral(1L);
+
+        // Then
+        assertThat(classification).hasSize(1);
+        assertThat(classification.get(0).getTotalTime()).isEqualTo(3660);
+        verify(stageResultRepository, times(1)).findClasificacionRowsByEventId(1L);
     }
 
     // ========== EDGE CASES ==========
@@ -462,6 +565,69 @@ class StageResultServiceTest {
         verify(stageResultRepository).save(any(StageResult.class));
     }
 
+    // ========== ELAPSED TIME NEIGHBOUR TESTS ==========
+
+    @Test
+    @DisplayName("createResult - Debe recalcular solo el resultado anterior y el nuevo del vehículo")
+    void createResult_shouldRecomputeNeighbourElapsedTimes() {
+        // Given
+        LocalDateTime baseTime = LocalDateTime.of(2025, 6, 1, 8, 0);
+        Stage stage2 = TestDataBuilder.buildStage(2L, "Stage 2", testEvent, 2);
+        Stage stage3 = TestDataBuilder.buildStage(3L, "Stage 3", testEvent, 3);
+        testStageResult.setTimestamp(baseTime);
+        testStageResult.setElapsedTimeSeconds(null);
+        StageResult nextResult = TestDataBuilder.buildStageResult(3L, testVehicle, stage3);
+        nextResult.setTimestamp(baseTime.plusMinutes(50));
+
+        CreateStageResultDTO createDTO = new CreateStageResultDTO();
+        createDTO.setStageId(2L);
+        createDTO.setVehicleId(1L);
+        createDTO.setTimestamp(baseTime.plusMinutes(20));
+        createDTO.setLatitude(4.6097);
+        createDTO.setLongitude(-74.0817);
+
+        when(stageRepository.findById(2L)).thenReturn(Optional.of(stage2));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(stageResultRepository.findPreviousResultForVehicle(1L, 1L, 2)).thenReturn(Optional.of(testStageResult));
+        when(stageResultRepository.findNextResultForVehicle(1L, 1L, 2)).thenReturn(Optional.of(nextResult));
+        when(stageResultRepository.save(any(StageResult.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        StageResult created = stageResultService.createResult(createDTO);
+
+        // Then
+        assertThat(created.getElapsedTimeSeconds()).isEqualTo(1800);
+        assertThat(testStageResult.getElapsedTimeSeconds()).isEqualTo(1200);
+        verify(stageResultRepository).save(testStageResult);
+        verify(stageResultRepository, never()).findElapsedTimeRowsByEventId(anyLong());
+    }
+
+    @Test
+    @DisplayName("updateResultFromDTO - No debe modificar el tiempo de una etapa anterior neutralizada")
+    void updateResultFromDTO_shouldKeepNeutralizedPreviousElapsedTime() {
+        // Given
+        LocalDateTime baseTime = LocalDateTime.of(2025, 6, 1, 8, 0);
+        Stage neutralized = TestDataBuilder.buildStage(0L, "Enlace", testEvent, 0);
+        neutralized.setNeutralized(true);
+        StageResult previousResult = TestDataBuilder.buildStageResult(5L, testVehicle, neutralized);
+        previousResult.setTimestamp(baseTime.minusMinutes(30));
+        previousResult.setElapsedTimeSeconds(0);
+
+        UpdateStageResultDTO updateDTO = new UpdateStageResultDTO();
+        updateDTO.setTimestamp(baseTime);
+
+        when(stageResultRepository.findById(1L)).thenReturn(Optional.of(testStageResult));
+        when(stageResultRepository.findPreviousResultForVehicle(1L, 1L, 1)).thenReturn(Optional.of(previousResult));
+        when(stageResultRepository.save(any(StageResult.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        stageResultService.updateResultFromDTO(1L, updateDTO);
+
+        // Then
+        assertThat(previousResult.getElapsedTimeSeconds()).isZero();
+        verify(stageResultRepository, never()).save(previousResult);
+    }
+
     // ========== INTEGRATION TESTS ==========
 
     @Test
@@ -4,6 +4,7 @@ import com.udea.gpx.util.TestDataBuilder;
 import com.udea.gpx.model.Event;
 import com.udea.gpx.model.Stage;
 import com.udea.gpx.repository.IStageRepository;
+import com.udea.gpx.repository.IStageResultRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +26,12 @@ class StageServiceTest {
     @Mock
     private IStageRepository stageRepository;
 
+    @Mock
+    private IStageResultRepository stageResultRepository;
+
+    @Mock
+    private StandingsEngine standingsEngine;
+
     @InjectMocks
     private StageService stageService;
 
@@ -77,11 +84,7 @@ class StageServiceTest {
     @DisplayName("getStagesByEventId - Debe retornar etapas del evento especificado")
     void getStagesByEventId_shouldReturnStagesForSpecifiedEvent() {
         // Given
-        Event otherEvent = TestDataBuilder.buildEvent(2L, "Other Event");
-        Stage stageFromOtherEvent = TestDataBuilder.buildStage(3L, "Other Stage", otherEvent, 1);
-
-        List<Stage> allStages = Arrays.asList(testStage, stageFromOtherEvent);
-        when(stageRepository.findAll()).thenReturn(allStages);
+        when(stageRepository.findAllWithEventByEventId(1L)).thenReturn(List.of(testStage));
 
         // When
         List<Stage> result = stageService.getStagesByEventId(1L); // Then
@@ -89,25 +92,22 @@ class StageServiceTest {
                 .hasSize(1)
                 .containsExactly(testStage);
         assertThat(result.get(0).getEvent().getId()).isEqualTo(1L);
-        verify(stageRepository).findAll();
+        verify(stageRepository).findAllWithEventByEventId(1L);
+        verify(stageRepository, never()).findAll();
     }
 
     @Test
     @DisplayName("getStagesByEventId - Debe retornar lista vacía si evento no tiene etapas")
     void getStagesByEventId_shouldReturnEmptyListIfEventHasNoStages() {
         // Given
-        Event otherEvent = TestDataBuilder.buildEvent(2L, "Other Event");
-        Stage stageFromOtherEvent = TestDataBuilder.buildStage(3L, "Other Stage", otherEvent, 1);
-
-        List<Stage> allStages = Arrays.asList(stageFromOtherEvent);
-        when(stageRepository.findAll()).thenReturn(allStages);
+        when(stageRepository.findAllWithEventByEventId(999L)).thenReturn(List.of());
 
         // When
         List<Stage> result = stageService.getStagesByEventId(999L);
 
         // Then
         assertThat(result).isEmpty();
-        verify(stageRepository).findAll();
+        verify(stageRepository).findAllWithEventByEventId(999L);
     }
 
     // ========== GET STAGE BY ID TESTS ==========
@@ -198,6 +198,37 @@ class StageServiceTest {
         verify(stageRepository).save(any(Stage.class));
     }
 
+    @Test
+    @DisplayName("updateStage - Debe propagar el nuevo orden y evento a los resultados de la etapa")
+    void updateStage_shouldSyncResultColumnsWhenOrderOrEventChanges() {
+        // Given
+        Event newEvent = TestDataBuilder.buildEvent(2L, "New Event");
+        Stage updatedStage = TestDataBuilder.buildStage(null, "Moved Stage", newEvent, 3);
+        when(stageRepository.findById(1L)).thenReturn(Optional.of(testStage));
+        when(stageRepository.save(any(Stage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        stageService.updateStage(1L, updatedStage);
+
+        // Then
+        verify(stageResultRepository).syncStageColumns(1L, 2L, 3);
+    }
+
+    @Test
+    @DisplayName("updateStage - No debe tocar los resultados si el orden y el evento no cambian")
+    void updateStage_shouldNotSyncResultColumnsWhenUnchanged() {
+        // Given
+        Stage updatedStage = TestDataBuilder.buildStage(null, "Renamed Stage", testEvent, 1);
+        when(stageRepository.findById(1L)).thenReturn(Optional.of(testStage));
+        when(stageRepository.save(any(Stage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        stageService.updateStage(1L, updatedStage);
+
+        // Then
+        verifyNoInteractions(stageResultRepository);
+    }
+
     @Test
     @DisplayName("updateStage - Debe lanzar excepción para etapa inexistente")
     void updateStage_shouldThrowExceptionForNonExistentStage() {
@@ -325,8 +356,9 @@ class StageServiceTest {
         Stage stage3 = TestDataBuilder.buildStage(3L, "Stage 3", event1, 2);
         Stage stage4 = TestDataBuilder.buildStage(4L, "Stage 4", event3, 1);
 
-        List<Stage> allStages = Arrays.asList(stage1, stage2, stage3, stage4);
-        when(stageRepository.findAll()).thenReturn(allStages);
+        when(stageRepository.findAllWithEventByEventId(1L)).thenReturn(Arrays.asList(stage1, stage3));
+        when(stageRepository.findAllWithEventByEventId(2L)).thenReturn(List.of(stage2));
+        when(stageRepository.findAllWithEventByEventId(3L)).thenReturn(List.of(stage4));
 
         // When
         List<Stage> event1Stages = stageService.getStagesByEventId(1L);
@@ -0,0 +1,200 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.dto.ClasificacionCompletaDTO;
+import com.udea.gpx.dto.ClasificacionRowDTO;
+import com.udea.gpx.dto.ClasificacionUpdateDTO;
+import com.udea.gpx.model.*;
+import com.udea.gpx.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StandingsEngine Tests")
+class StandingsEngineTest {
+
+    private StandingsEngine standingsEngine;
+    private List<StageResult> storedResults;
+    private AtomicInteger loads;
+    private Supplier<List<ClasificacionRowDTO>> loader;
+
+    private Event event;
+    private Stage stage1;
+    private Stage stage2;
+    private Vehicle vehicleA;
+    private Vehicle vehicleB;
+
+    @BeforeEach
+    void setUp() {
+        standingsEngine = new StandingsEngine(300, new InMemoryStandingsVersionStore());
+        storedResults = new ArrayList<>();
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            return storedResults.stream().map(ClasificacionRowDTO::from).toList();
+        };
+
+        event = TestDataBuilder.buildEvent(1L, "Rally");
+        stage1 = TestDataBuilder.buildStage(1L, "Stage 1", event, 1);
+        stage2 = TestDataBuilder.buildStage(2L, "Stage 2", event, 2);
+        Category motos = TestDataBuilder.buildCategory(1L, "Motos");
+        Category carros = TestDataBuilder.buildCategory(2L, "Carros");
+        vehicleA = TestDataBuilder.buildVehicle(10L, TestDataBuilder.buildUser(1L, "Ana", false), motos);
+        vehicleB = TestDataBuilder.buildVehicle(20L, TestDataBuilder.buildUser(2L, "Beto", false), carros);
+
+        storedResults.add(result(1L, vehicleA, stage1, 100));
+        storedResults.add(result(2L, vehicleA, stage2, 100));
+        storedResults.add(result(3L, vehicleB, stage1, 90));
+        storedResults.add(result(4L, vehicleB, stage2, 150));
+    }
+
+    private StageResult result(Long id, Vehicle vehicle, Stage stage, int elapsed) {
+        StageResult result = TestDataBuilder.buildStageResult(id, vehicle, stage);
+        result.setElapsedTimeSeconds(elapsed);
+        return result;
+    }
+
+    @Test
+    @DisplayName("getGeneral - Debe ordenar por tiempo total y cargar el evento una sola vez")
+    void getGeneral_shouldOrderByTotalTimeAndLoadOnce() {
+        List<ClasificacionCompletaDTO> first = standingsEngine.getGeneral(1L, loader);
+        List<ClasificacionCompletaDTO> second = standingsEngine.getGeneral(1L, loader);
+
+        assertThat(first).extracting(ClasificacionCompletaDTO::getVehicleId).containsExactly(10L, 20L);
+        assertThat(first).extracting(ClasificacionCompletaDTO::getTotalTime).containsExactly(200, 240);
+        assertThat(first.get(0).getStageTimes())
+                .extracting(ClasificacionCompletaDTO.StageTimeCellDTO::getStageOrder)
+                .containsExactly(1, 2);
+        assertThat(second).isEqualTo(first);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onResultSaved - Debe reubicar solo al vehículo afectado")
+    void onResultSaved_shouldRepositionAffectedVehicle() {
+        standingsEngine.getGeneral(1L, loader);
+
+        StageResult penalized = storedResults.get(0);
+        penalized.setPenaltySpeed(Duration.ofSeconds(60));
+        standingsEngine.onResultSaved(penalized);
+
+        List<ClasificacionCompletaDTO> general = standingsEngine.getGeneral(1L, loader);
+        assertThat(general).extracting(ClasificacionCompletaDTO::getVehicleId).containsExactly(20L, 10L);
+        assertThat(general).extracting(ClasificacionCompletaDTO::getTotalTime).containsExactly(240, 260);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onResultSaved - Debe mover el resultado cuando cambia de etapa")
+    void onResultSaved_shouldMoveResultBetweenStages() {
+        Stage stage3 = TestDataBuilder.buildStage(3L, "Stage 3", event, 3);
+        standingsEngine.getGeneral(1L, loader);
+
+        StageResult moved = storedResults.get(1);
+        moved.setStage(stage3);
+        standingsEngine.onResultSaved(moved);
+
+        assertThat(standingsEngine.getByStage(1L, 2, loader))
+                .extracting(ClasificacionCompletaDTO::getVehicleId).containsExactly(20L);
+        assertThat(standingsEngine.getByStage(1L, 3, loader))
+                .extracting(ClasificacionCompletaDTO::getVehicleId).containsExactly(10L);
+        assertThat(standingsEngine.getGeneral(1L, loader).get(0).getStageTimes())
+                .extracting(ClasificacionCompletaDTO.StageTimeCellDTO::getStageOrder)
+                .containsExactly(1, 3);
+    }
+
+    @Test
+    @DisplayName("onResultDeleted - Debe retirar al vehículo sin resultados restantes")
+    void onResultDeleted_shouldRemoveVehicleWithoutResults() {
+        standingsEngine.getGeneral(1L, loader);
+
+        standingsEngine.onResultDeleted(3L, 1L);
+        standingsEngine.onResultDeleted(4L, 1L);
+
+        assertThat(standingsEngine.getGeneral(1L, loader))
+                .extracting(ClasificacionCompletaDTO::getVehicleId).containsExactly(10L);
+        assertThat(standingsEngine.getByStage(1L, 1, loader)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("getByCategory y getByStage - Deben coincidir con la clasificación recalculada")
+    void views_shouldMatchFullRebuild() {
+        assertThat(standingsEngine.getByCategory(1L, 2L, loader))
+                .extracting(ClasificacionCompletaDTO::getVehicleId).containsExactly(20L);
+        assertThat(standingsEngine.getByStage(1L, 1, loader))
+                .extracting(ClasificacionCompletaDTO::getTotalTime).containsExactly(90, 100);
+        assertThat(standingsEngine.getByStage(1L, 99, loader)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("evictEvent - Debe forzar una recarga y cambiar la versión")
+    void evictEvent_shouldForceReload() {
+        standingsEngine.getGeneral(1L, loader);
+        long version = standingsEngine.getVersion(1L);
+
+        standingsEngine.evictEvent(1L);
+        standingsEngine.getGeneral(1L, loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(standingsEngine.getVersion(1L)).isNotZero();
+        assertThat(version).isNotZero();
+    }
+
+    @Test
+    @DisplayName("getVersion y getGeneral - Deben recargar el evento tras una escritura en otro nodo")
+    void writeOnOtherNode_shouldInvalidateAndReload() {
+        // Given: dos nodos que comparten la versión de la clasificación
+        StandingsVersionStore sharedStore = new InMemoryStandingsVersionStore();
+        StandingsEngine nodeA = new StandingsEngine(300, sharedStore);
+        StandingsEngine nodeB = new StandingsEngine(300, sharedStore);
+        nodeA.getGeneral(1L, loader);
+        nodeB.getGeneral(1L, loader);
+        long versionOnB = nodeB.getVersion(1L);
+
+        // When: el nodo A penaliza a un vehículo
+        StageResult penalized = storedResults.get(0);
+        penalized.setPenaltySpeed(Duration.ofSeconds(60));
+        nodeA.onResultSaved(penalized);
+
+        // Then: A aplica el cambio sin recargar; B detecta que quedó desactualizado y recarga
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(nodeA.getVersion(1L)).isNotZero();
+        assertThat(nodeB.getVersion(1L)).isZero();
+        assertThat(nodeB.getGeneral(1L, loader))
+                .extracting(ClasificacionCompletaDTO::getVehicleId).containsExactly(20L, 10L);
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(nodeB.getVersion(1L)).isNotZero().isNotEqualTo(versionOnB);
+        assertThat(nodeA.getGeneral(1L, loader)).extracting(ClasificacionCompletaDTO::getTotalTime)
+                .containsExactly(240, 260);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("addListener - Debe publicar un DELTA con los cambios de posición")
+    void addListener_shouldPublishDeltaWithPositionChanges() {
+        List<ClasificacionUpdateDTO> updates = new ArrayList<>();
+        standingsEngine.addListener(updates::add);
+        long version = standingsEngine.getGeneralSnapshot(1L, loader).getVersion();
+
+        StageResult penalized = storedResults.get(0);
+        penalized.setPenaltySpeed(Duration.ofSeconds(60));
+        standingsEngine.onResultSaved(penalized);
+
+        assertThat(updates).hasSize(1);
+        ClasificacionUpdateDTO delta = updates.get(0);
+        assertThat(delta.getType()).isEqualTo(ClasificacionUpdateDTO.TYPE_DELTA);
+        assertThat(delta.getPreviousVersion()).isEqualTo(version);
+        assertThat(delta.getVersion()).isGreaterThan(version);
+        assertThat(delta.getPositionChanges())
+                .extracting(ClasificacionUpdateDTO.PositionChangeDTO::getVehicleId)
+                .containsExactlyInAnyOrder(10L, 20L);
+        assertThat(delta.getUpdatedCells()).hasSize(1);
+    }
+}
@@ -3,14 +3,15 @@ package com.udea.gpx.service;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import com.udea.gpx.JwtUtil;
 import com.udea.gpx.config.JwtProperties;
 import com.udea.gpx.service.TokenService.SessionInfo;
 import com.udea.gpx.service.TokenService.TokenPair;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -23,7 +24,6 @@ class TokenServiceTest {
     @Mock
     private JwtProperties jwtProperties;
 
-    @InjectMocks
     private TokenService tokenService;
 
     private final Long testUserId = 1L;
@@ -35,12 +35,14 @@ class TokenServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        tokenService = new TokenService(jwtUtil, jwtProperties, new InMemoryTokenStore());
 
         // Setup default mocks
         when(jwtProperties.getRefreshExpirationSeconds()).thenReturn(86400L); // 24 hours
         when(jwtProperties.getSessionTimeoutSeconds()).thenReturn(3600L); // 1 hour
         when(jwtProperties.getMaxSessionDurationSeconds()).thenReturn(86400L); // 24 hours
         when(jwtProperties.getMaxConcurrentSessions()).thenReturn(5);
+        when(jwtProperties.getExpirationSeconds()).thenReturn(3600L); // 1 hour
     }
 
     // ========== GENERATE TOKEN PAIR TESTS ==========
@@ -226,6 +228,24 @@ class TokenServiceTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    @DisplayName("isTokenBlacklisted - Debe mantener el token revocado hasta su expiración")
+    void isTokenBlacklisted_shouldKeepTokenUntilItsExpiration() {
+        // Given
+        when(jwtUtil.extractExpiration("live.token")).thenReturn(Optional.of(Instant.now().plusSeconds(600)));
+        when(jwtUtil.extractExpiration("expired.token")).thenReturn(Optional.of(Instant.now().minusSeconds(1)));
+
+        // When
+        tokenService.invalidateToken("live.token");
+        tokenService.invalidateToken("expired.token");
+
+        // Then
+        assertThat(tokenService.isTokenBlacklisted("live.token")).isTrue();
+        assertThat(tokenService.isTokenBlacklisted("expired.token")).isFalse();
+        assertThat(tokenService.getBlacklistSize()).isEqualTo(1);
+        assertThat(tokenService.getBlacklistMemoryBytes()).isPositive();
+    }
+
     // ========== GET ACTIVE SESSIONS TESTS ==========
 
     @Test
@@ -326,6 +346,54 @@ class TokenServiceTest {
         assertThat(sessions).isEmpty();
     }
 
+    @Test
+    @DisplayName("sweepExpired - Debe eliminar solo refresh tokens y sesiones expirados")
+    void sweepExpired_shouldRemoveOnlyExpiredEntries() {
+        // Given: una sesión y un refresh token que expiran de inmediato
+        when(jwtProperties.getRefreshExpirationSeconds()).thenReturn(0L);
+        when(jwtProperties.getSessionTimeoutSeconds()).thenReturn(0L);
+        when(jwtUtil.generateToken(testUserId, isAdmin)).thenReturn(testAccessToken);
+        TokenPair expiredPair = tokenService.generateTokenPairWithSession(testUserId, isAdmin, userAgent, ipAddress);
+
+        // y una sesión vigente de otro usuario
+        when(jwtProperties.getRefreshExpirationSeconds()).thenReturn(86400L);
+        when(jwtProperties.getSessionTimeoutSeconds()).thenReturn(3600L);
+        when(jwtUtil.generateToken(2L, isAdmin)).thenReturn("live.access.token");
+        TokenPair livePair = tokenService.generateTokenPairWithSession(2L, isAdmin, userAgent, ipAddress);
+
+        // When
+        TokenService.SweepResult result = tokenService.sweepExpired(100);
+
+        // Then
+        assertThat(result.refreshTokens()).isEqualTo(1);
+        assertThat(result.sessions()).isEqualTo(1);
+        assertThat(result.complete()).isTrue();
+        assertThatThrownBy(() -> tokenService.refreshAccessToken(expiredPair.getRefreshToken()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(tokenService.isTokenBlacklisted(livePair.getAccessToken())).isFalse();
+    }
+
+    @Test
+    @DisplayName("sweepExpired - Debe respetar el tamaño máximo de la tanda")
+    void sweepExpired_shouldRespectBatchSize() {
+        // Given
+        when(jwtProperties.getRefreshExpirationSeconds()).thenReturn(0L);
+        when(jwtUtil.generateToken(testUserId, isAdmin)).thenReturn(testAccessToken);
+        for (int i = 0; i < 5; i++) {
+            tokenService.generateTokenPair(testUserId, isAdmin);
+        }
+
+        // When
+        TokenService.SweepResult first = tokenService.sweepExpired(3);
+        TokenService.SweepResult second = tokenService.sweepExpired(3);
+
+        // Then
+        assertThat(first.refreshTokens()).isEqualTo(3);
+        assertThat(first.complete()).isFalse();
+        assertThat(second.refreshTokens()).isEqualTo(2);
+        assertThat(second.complete()).isTrue();
+    }
+
     // ========== EDGE CASES ==========
 
     @Test
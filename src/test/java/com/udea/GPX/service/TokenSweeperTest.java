@@ -0,0 +1,95 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.config.JwtProperties;
+import com.udea.gpx.service.TokenService.SweepResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TokenSweeper Tests")
+class TokenSweeperTest {
+
+    private TokenService tokenService;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenSweeper tokenSweeper;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = mock(TokenService.class);
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSweepBatchSize(10);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenSweeper = new TokenSweeper(tokenService, jwtProperties, meterRegistry);
+    }
+
+    private double swept(String type) {
+        return meterRegistry.get("gpx.tokens.sweep.swept").tag("type", type).counter().count();
+    }
+
+    @Test
+    @DisplayName("sweep - Debe procesar tandas hasta vaciar lo expirado y publicar métricas")
+    void sweep_shouldProcessBatchesUntilComplete() {
+        // Given
+        when(tokenService.sweepExpired(10))
+                .thenReturn(new SweepResult(10, 2, 0, false))
+                .thenReturn(new SweepResult(4, 0, 1, true));
+
+        // When
+        tokenSweeper.sweep();
+
+        // Then
+        verify(tokenService, times(2)).sweepExpired(10);
+        verify(tokenService).rebuildBlacklistFilterIfStale();
+        assertThat(swept("refresh_token")).isEqualTo(14.0);
+        assertThat(swept("session")).isEqualTo(2.0);
+        assertThat(swept("access_token")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("gpx.tokens.sweep.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("sweep - Debe acotar el número de tandas por ejecución")
+    void sweep_shouldLimitBatchesPerRun() {
+        // Given
+        when(tokenService.sweepExpired(10)).thenReturn(new SweepResult(10, 0, 0, false));
+
+        // When
+        tokenSweeper.sweep();
+
+        // Then
+        verify(tokenService, times(TokenSweeper.MAX_BATCHES_PER_RUN)).sweepExpired(10);
+    }
+
+    @Test
+    @DisplayName("sweepBatchSize - Debe rechazar tamaños de tanda no positivos")
+    void sweepBatchSize_shouldRejectNonPositiveValues() {
+        JwtProperties jwtProperties = new JwtProperties();
+
+        assertThatThrownBy(() -> jwtProperties.setSweepBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jwtProperties.setSweepBatchSize(-5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(jwtProperties.getSweepBatchSize()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("sweep - Debe usar al menos un elemento por tanda")
+    void sweep_shouldClampBatchSizeToOne() {
+        // Given
+        JwtProperties jwtProperties = spy(new JwtProperties());
+        when(jwtProperties.getSweepBatchSize()).thenReturn(0);
+        when(tokenService.sweepExpired(1)).thenReturn(new SweepResult(1, 0, 0, true));
+        TokenSweeper sweeper = new TokenSweeper(tokenService, jwtProperties, meterRegistry);
+
+        // When
+        sweeper.sweep();
+
+        // Then
+        verify(tokenService).sweepExpired(1);
+        verify(tokenService, never()).sweepExpired(0);
+        assertThat(swept("refresh_token")).isEqualTo(1.0);
+    }
+}
@@ -1,6 +1,8 @@
 package com.udea.gpx.service;
 
 import com.udea.gpx.constants.AppConstants;
+import com.udea.gpx.dto.KeysetPageDTO;
+import com.udea.gpx.dto.UserSummaryDTO;
 import com.udea.gpx.model.User;
 import com.udea.gpx.repository.IUserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +35,9 @@ class UserServiceTest {
   @Mock
   private PasswordService passwordService;
 
+  @Mock
+  private UserSnapshotCacheService userSnapshotCacheService;
+
   @InjectMocks
   private UserService userService;
 
@@ -101,6 +106,74 @@ class UserServiceTest {
     verify(userRepository).findAll(pageable);
   }
 
+  // ==================== TESTS PARA getUserSummaries ====================
+
+  private static UserSummaryDTO summary(long id) {
+    return new UserSummaryDTO(id, "User" + id, "Last", "user" + id + "@example.com", null, null, false);
+  }
+
+  @Test
+  @DisplayName("getUserSummaries - Debe pedir una fila extra y devolver el cursor de la siguiente página")
+  void getUserSummaries_shouldReturnNextCursor() {
+    // Given
+    when(userRepository.findSummariesAfter(10L, PageRequest.ofSize(3)))
+        .thenReturn(Arrays.asList(summary(11), summary(12), summary(15)));
+
+    // When
+    KeysetPageDTO<UserSummaryDTO> result = userService.getUserSummaries(10L, 2);
+
+    // Then
+    assertThat(result.getContent()).extracting(UserSummaryDTO::getId).containsExactly(11L, 12L);
+    assertThat(result.getNextCursor()).isEqualTo(12L);
+    assertThat(result.isHasNext()).isTrue();
+  }
+
+  @Test
+  @DisplayName("getUserSummaries - La última página no debe tener cursor")
+  void getUserSummaries_lastPageShouldHaveNoCursor() {
+    // Given
+    when(userRepository.findSummariesAfter(0L, PageRequest.ofSize(3)))
+        .thenReturn(Arrays.asList(summary(1), summary(2)));
+
+    // When
+    KeysetPageDTO<UserSummaryDTO> result = userService.getUserSummaries(null, 2);
+
+    // Then
+    assertThat(result.getContent()).hasSize(2);
+    assertThat(result.getNextCursor()).isNull();
+    assertThat(result.isHasNext()).isFalse();
+    verify(userRepository, never()).findAll();
+  }
+
+  @Test
+  @DisplayName("getAdminUsers - Debe usar la consulta indexada de administradores")
+  void getAdminUsers_shouldQueryAdminsOnly() {
+    // Given
+    when(userRepository.findByAdminTrueOrderByIdAsc()).thenReturn(List.of(adminUser));
+
+    // When
+    List<User> result = userService.getAdminUsers();
+
+    // Then
+    assertThat(result).containsExactly(adminUser);
+    verify(userRepository, never()).findAll();
+  }
+
+  @Test
+  @DisplayName("getAdminSummaries - Debe usar la consulta de administradores")
+  void getAdminSummaries_shouldQueryAdminsOnly() {
+    // Given
+    UserSummaryDTO admin = new UserSummaryDTO(2L, "Admin", "User", "admin@example.com", null, null, true);
+    when(userRepository.findAdminSummaries()).thenReturn(List.of(admin));
+
+    // When
+    List<UserSummaryDTO> result = userService.getAdminSummaries();
+
+    // Then
+    assertThat(result).containsExactly(admin);
+    verify(userRepository, never()).findAll();
+  }
+
   // ==================== TESTS PARA getUserById ====================
 
   @Test
@@ -422,6 +495,7 @@ class UserServiceTest {
     // Verificar que picture e insurance no se actualizaron
     assertThat(savedUser.getPicture()).isEqualTo(testUser.getPicture());
     assertThat(savedUser.getInsurance()).isEqualTo(testUser.getInsurance());
+    verify(userSnapshotCacheService).evict(testUser.getId());
   }
 
   @Test
@@ -532,6 +606,48 @@ class UserServiceTest {
 
   // ==================== TESTS PARA checkPassword ====================
 
+  @Test
+  @DisplayName("checkPassword - Debe rehashear contraseñas BCrypt con costo menor al configurado")
+  void checkPassword_shouldRehashLowerCostBCryptPassword() {
+    // Given
+    User user = new User();
+    user.setId(1L);
+    user.setPassword("$2a$10$hashedBCryptPassword");
+
+    when(passwordService.isBCryptHash("$2a$10$hashedBCryptPassword")).thenReturn(true);
+    when(passwordService.verifyPassword("correctPassword", "$2a$10$hashedBCryptPassword")).thenReturn(true);
+    when(passwordService.needsRehash("$2a$10$hashedBCryptPassword")).thenReturn(true);
+    when(passwordService.hashPassword("correctPassword")).thenReturn("$2a$12$rehashedPassword");
+
+    // When
+    boolean result = userService.checkPassword(user, "correctPassword");
+
+    // Then
+    assertThat(result).isTrue();
+    assertThat(user.getPassword()).isEqualTo("$2a$12$rehashedPassword");
+    verify(userRepository).save(user);
+  }
+
+  @Test
+  @DisplayName("checkPassword - No debe rehashear si la contraseña es incorrecta")
+  void checkPassword_shouldNotRehashWrongPassword() {
+    // Given
+    User user = new User();
+    user.setId(1L);
+    user.setPassword("$2a$10$hashedBCryptPassword");
+
+    when(passwordService.isBCryptHash("$2a$10$hashedBCryptPassword")).thenReturn(true);
+    when(passwordService.verifyPassword("wrongPassword", "$2a$10$hashedBCryptPassword")).thenReturn(false);
+
+    // When
+    boolean result = userService.checkPassword(user, "wrongPassword");
+
+    // Then
+    assertThat(result).isFalse();
+    verify(passwordService, never()).needsRehash(any());
+    verify(passwordService, never()).hashPassword(any());
+  }
+
   @Test
   @DisplayName("checkPassword - Debe verificar contraseña BCrypt")
   void checkPassword_shouldVerifyBCryptPassword() {
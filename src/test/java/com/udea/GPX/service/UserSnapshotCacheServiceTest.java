@@ -0,0 +1,164 @@
+package com.udea.gpx.service;
+
+import com.udea.gpx.model.User;
+import com.udea.gpx.repository.IUserRepository;
+import com.udea.gpx.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UserSnapshotCacheService Tests")
+class UserSnapshotCacheServiceTest {
+
+    private IUserRepository userRepository;
+    private TokenStore tokenStore;
+    private UserSnapshotCacheService userSnapshotCacheService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(IUserRepository.class);
+        tokenStore = mock(TokenStore.class);
+        userSnapshotCacheService = new UserSnapshotCacheService(
+                new ConcurrentMapCacheManager(UserSnapshotCacheService.CACHE_NAME,
+                        UserSnapshotCacheService.EMAIL_CACHE_NAME),
+                userRepository, tokenStore);
+        testUser = TestDataBuilder.buildUser(1L, "Ana", true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    }
+
+    @Test
+    @DisplayName("getUser - Debe consultar la base de datos solo en el primer acceso")
+    void getUser_shouldLoadOnlyOnce() {
+        // When
+        Optional<User> first = userSnapshotCacheService.getUser(1L);
+        Optional<User> second = userSnapshotCacheService.getUser(1L);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("getUser - Debe devolver copias independientes y sin contraseña")
+    void getUser_shouldReturnIndependentCopiesWithoutPassword() {
+        // When
+        User first = userSnapshotCacheService.getUser(1L).orElseThrow();
+        first.setRole("HACKED");
+        User second = userSnapshotCacheService.getUser(1L).orElseThrow();
+
+        // Then
+        assertThat(first).isNotSameAs(testUser).isNotSameAs(second);
+        assertThat(second.getRole()).isEqualTo("USER");
+        assertThat(second.isAdmin()).isTrue();
+        assertThat(second.getEmail()).isEqualTo(testUser.getEmail());
+        assertThat(second.getPicture()).isEqualTo(testUser.getPicture());
+        assertThat(second.getPassword()).isNull();
+    }
+
+    @Test
+    @DisplayName("evict - Debe forzar la recarga del usuario")
+    void evict_shouldForceReload() {
+        // Given
+        userSnapshotCacheService.getUser(1L);
+        testUser.setAdmin(false);
+
+        // When
+        userSnapshotCacheService.evict(1L);
+        User reloaded = userSnapshotCacheService.getUser(1L).orElseThrow();
+
+        // Then
+        assertThat(reloaded.isAdmin()).isFalse();
+        verify(userRepository, times(2)).findById(1L);
+        verify(tokenStore).publishUserInvalidation(1L);
+    }
+
+    @Test
+    @DisplayName("evictLocal - Una invalidación de otro nodo debe forzar la recarga sin volver a difundirse")
+    void remoteInvalidation_shouldForceReloadWithoutPublishing() {
+        // Given
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<Long>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(tokenStore).setUserInvalidationListener(listener.capture());
+        userSnapshotCacheService.getUser(1L);
+        testUser.setAdmin(false);
+
+        // When
+        listener.getValue().accept(1L);
+        User reloaded = userSnapshotCacheService.getUser(1L).orElseThrow();
+
+        // Then
+        assertThat(reloaded.isAdmin()).isFalse();
+        verify(userRepository, times(2)).findById(1L);
+        verify(tokenStore, never()).publishUserInvalidation(any());
+    }
+
+    @Test
+    @DisplayName("getUser - Usuarios inexistentes no deben quedar en cache")
+    void getUser_unknownUser_shouldReturnEmpty() {
+        // Given
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Then
+        assertThat(userSnapshotCacheService.getUser(99L)).isEmpty();
+        assertThat(userSnapshotCacheService.getUser(null)).isEmpty();
+        assertThat(userSnapshotCacheService.getUser(99L)).isEmpty();
+        verify(userRepository, times(2)).findById(99L);
+    }
+
+    @Test
+    @DisplayName("getUserByEmail - Debe consultar la base de datos solo en el primer acceso y sin escribir")
+    void getUserByEmail_shouldLoadOnceWithoutWriting() {
+        // Given
+        testUser.setAuthProvider(null);
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+
+        // When
+        Optional<User> first = userSnapshotCacheService.getUserByEmail(testUser.getEmail());
+        Optional<User> second = userSnapshotCacheService.getUserByEmail(testUser.getEmail());
+        Optional<User> byId = userSnapshotCacheService.getUser(1L);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second.orElseThrow().getId()).isEqualTo(1L);
+        assertThat(byId).isPresent();
+        verify(userRepository, times(1)).findByEmail(testUser.getEmail());
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getUserByEmail - Debe recargar si el usuario cambió de email")
+    void getUserByEmail_shouldReloadWhenEmailChanged() {
+        // Given
+        String oldEmail = testUser.getEmail();
+        when(userRepository.findByEmail(oldEmail)).thenReturn(Optional.of(testUser));
+        userSnapshotCacheService.getUserByEmail(oldEmail);
+
+        // When: el usuario cambia de email y su copia se invalida
+        testUser.setEmail("nuevo@test.com");
+        userSnapshotCacheService.evict(1L);
+        when(userRepository.findByEmail(oldEmail)).thenReturn(Optional.empty());
+        Optional<User> result = userSnapshotCacheService.getUserByEmail(oldEmail);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(userRepository, times(2)).findByEmail(oldEmail);
+    }
+
+    @Test
+    @DisplayName("getUserByEmail - Debe devolver vacío para email nulo o desconocido")
+    void getUserByEmail_shouldReturnEmptyForUnknownEmail() {
+        assertThat(userSnapshotCacheService.getUserByEmail(null)).isEmpty();
+        assertThat(userSnapshotCacheService.getUserByEmail("nadie@test.com")).isEmpty();
+    }
+}
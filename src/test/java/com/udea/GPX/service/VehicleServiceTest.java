@@ -11,6 +11,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
 import java.util.List;
@@ -75,6 +79,67 @@ class VehicleServiceTest {
         verify(vehicleRepository).findAll();
     }
 
+    // ========== GET VEHICLES BY USER / CATEGORY TESTS ==========
+
+    @Test
+    @DisplayName("getVehiclesByUserId - Debe consultar solo los vehículos del usuario")
+    void getVehiclesByUserId_shouldQueryByUser() {
+        // Given
+        when(vehicleRepository.findByUserIdOrderByIdAsc(1L)).thenReturn(List.of(testVehicle));
+
+        // When
+        List<Vehicle> result = vehicleService.getVehiclesByUserId(1L);
+
+        // Then
+        assertThat(result).containsExactly(testVehicle);
+        verify(vehicleRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("getVehiclesByCategoryId - Debe consultar solo los vehículos de la categoría")
+    void getVehiclesByCategoryId_shouldQueryByCategory() {
+        // Given
+        when(vehicleRepository.findByCategoryIdOrderByIdAsc(1L)).thenReturn(List.of(testVehicle));
+
+        // When
+        List<Vehicle> result = vehicleService.getVehiclesByCategoryId(1L);
+
+        // Then
+        assertThat(result).containsExactly(testVehicle);
+        verify(vehicleRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("getVehiclesByUserId - Debe delegar la paginación al repositorio")
+    void getVehiclesByUserId_shouldReturnPage() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Vehicle> page = new PageImpl<>(List.of(testVehicle), pageable, 1);
+        when(vehicleRepository.findByUserId(1L, pageable)).thenReturn(page);
+
+        // When
+        Page<Vehicle> result = vehicleService.getVehiclesByUserId(1L, pageable);
+
+        // Then
+        assertThat(result).isSameAs(page);
+    }
+
+    @Test
+    @DisplayName("getVehiclesByCategoryId - Debe delegar la paginación al repositorio")
+    void getVehiclesByCategoryId_shouldReturnPage() {
+        // Given
+        Pageable pageable = PageRequest.of(1, 5);
+        Page<Vehicle> page = new PageImpl<>(List.of(testVehicle), pageable, 6);
+        when(vehicleRepository.findByCategoryId(1L, pageable)).thenReturn(page);
+
+        // When
+        Page<Vehicle> result = vehicleService.getVehiclesByCategoryId(1L, pageable);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(6);
+        assertThat(result.getContent()).containsExactly(testVehicle);
+    }
+
     // ========== GET VEHICLE BY ID TESTS ==========
 
     @Test
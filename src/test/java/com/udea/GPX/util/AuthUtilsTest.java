@@ -7,17 +7,21 @@ import org.junit.jupiter.api.AfterEach;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.udea.gpx.model.User;
-import com.udea.gpx.service.UserService;
+import com.udea.gpx.service.UserSnapshotCacheService;
 import org.springframework.security.oauth2.core.oidc.OidcIdToken;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -26,7 +30,7 @@ import static org.mockito.Mockito.*;
 class AuthUtilsTest {
 
   @Mock
-  private UserService userService;
+  private UserSnapshotCacheService userSnapshotCacheService;
 
   @Mock
   private SecurityContext securityContext;
@@ -52,6 +56,7 @@ class AuthUtilsTest {
   @AfterEach
   void tearDown() {
     SecurityContextHolder.clearContext();
+    RequestContextHolder.resetRequestAttributes();
   }
 
   // ========== GET CURRENT USER TESTS ==========
@@ -116,14 +121,62 @@ class AuthUtilsTest {
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.isAuthenticated()).thenReturn(true);
     when(authentication.getPrincipal()).thenReturn(oidcUser);
-    when(userService.findByEmail(email)).thenReturn(oauthUser);
+    when(userSnapshotCacheService.getUserByEmail(email)).thenReturn(Optional.of(oauthUser));
 
     // When
     User result = authUtils.getCurrentUser();
 
     // Then
     assertThat(result).isEqualTo(oauthUser);
-    verify(userService).findByEmail(email);
+    verify(userSnapshotCacheService).getUserByEmail(email);
+  }
+
+  @Test
+  @DisplayName("getCurrentUser - Debe resolver el usuario OAuth2 una sola vez por petición")
+  void getCurrentUser_shouldResolveOAuth2UserOncePerRequest() {
+    // Given
+    String email = "oauth.user@test.com";
+    User oauthUser = TestDataBuilder.buildUser(3L, "OAuthUser", true);
+    DefaultOidcUser oidcUser = new DefaultOidcUser(List.of(() -> "USER"), createMockOidcIdToken(email));
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    when(authentication.isAuthenticated()).thenReturn(true);
+    when(authentication.getPrincipal()).thenReturn(oidcUser);
+    when(userSnapshotCacheService.getUserByEmail(email)).thenReturn(Optional.of(oauthUser));
+
+    // When
+    User currentUser = authUtils.getCurrentUser();
+    boolean isAdmin = authUtils.isCurrentUserAdmin();
+    boolean canAccessOther = authUtils.isCurrentUserOrAdmin(999L);
+
+    // Then
+    assertThat(currentUser).isEqualTo(oauthUser);
+    assertThat(isAdmin).isTrue();
+    assertThat(canAccessOther).isTrue();
+    verify(userSnapshotCacheService, times(1)).getUserByEmail(email);
+  }
+
+  @Test
+  @DisplayName("getCurrentUser - Debe volver a resolver si cambia la autenticación en la petición")
+  void getCurrentUser_shouldResolveAgainWhenAuthenticationChanges() {
+    // Given
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    Authentication otherAuthentication = mock(Authentication.class);
+    when(authentication.isAuthenticated()).thenReturn(true);
+    when(authentication.getPrincipal()).thenReturn(testUser);
+    when(otherAuthentication.isAuthenticated()).thenReturn(true);
+    when(otherAuthentication.getPrincipal()).thenReturn(adminUser);
+
+    // When
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    User first = authUtils.getCurrentUser();
+    when(securityContext.getAuthentication()).thenReturn(otherAuthentication);
+    User second = authUtils.getCurrentUser();
+
+    // Then
+    assertThat(first).isEqualTo(testUser);
+    assertThat(second).isEqualTo(adminUser);
   }
 
   @Test
@@ -144,7 +197,7 @@ class AuthUtilsTest {
 
     // Then
     assertThat(result).isNull();
-    verify(userService, never()).findByEmail(any());
+    verify(userSnapshotCacheService, never()).getUserByEmail(any());
   }
 
   @Test
@@ -327,14 +380,14 @@ class AuthUtilsTest {
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.isAuthenticated()).thenReturn(true);
     when(authentication.getPrincipal()).thenReturn(oidcUser);
-    when(userService.findByEmail(email)).thenReturn(null);
+    when(userSnapshotCacheService.getUserByEmail(email)).thenReturn(Optional.empty());
 
     // When
     User result = authUtils.getCurrentUser();
 
     // Then
     assertThat(result).isNull();
-    verify(userService).findByEmail(email);
+    verify(userSnapshotCacheService).getUserByEmail(email);
   }
 
   @Test
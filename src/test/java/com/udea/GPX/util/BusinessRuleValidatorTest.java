@@ -211,6 +211,16 @@ class BusinessRuleValidatorTest {
         .hasMessageContaining("El evento ha alcanzado su capacidad máxima de 100 vehículos");
   }
 
+  @Test
+  @DisplayName("validateEventCapacity - Debe validar la capacidad a partir del conteo de registros")
+  void validateEventCapacity_shouldValidateCount() {
+    assertThatCode(() -> validator.validateEventCapacity(validEvent, 99L))
+        .doesNotThrowAnyException();
+    assertThatThrownBy(() -> validator.validateEventCapacity(validEvent, 100L))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("El evento ha alcanzado su capacidad máxima de 100 vehículos");
+  }
+
   // ========== STAGE RESULT TIMESTAMP VALIDATION ==========
 
   @Test
@@ -0,0 +1,92 @@
+package com.udea.gpx.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("tryAcquire - Debe permitir una ráfaga de la capacidad y luego rechazar")
+    void tryAcquire_shouldAllowBurstUpToCapacity() {
+        // Given: 5 peticiones recuperadas en 10 segundos
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, 0);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Debe recuperar tokens con el tiempo sin superar la capacidad")
+    void tryAcquire_shouldRefillOverTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        // When & Then: un token cada 2 segundos
+        assertThat(bucket.tryAcquire(2 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(2 * SECOND)).isPositive();
+
+        // Tras mucho tiempo solo hay una ráfaga de la capacidad
+        long later = 1_000 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Debe entregar exactamente la capacidad entre hilos concurrentes")
+    void tryAcquire_shouldBeExactUnderConcurrency() throws InterruptedException {
+        // Given
+        TokenBucket bucket = new TokenBucket(1_000, 1_000_000 * SECOND, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(allowed.get()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("constructor - Debe rechazar capacidad o periodo no positivos")
+    void constructor_shouldRejectInvalidLimits() {
+        assertThatThrownBy(() -> new TokenBucket(0, SECOND, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}